@@ -0,0 +1,60 @@
+package app.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * Accepts the usual JMH command line options, but writes the results as JSON to {@link #DEFAULT_RESULT_FILE}
+ * unless another format or file is given with {@code -rf} or {@code -rff}, so every run leaves a result file
+ * that can be compared against a baseline run.
+ */
+public final class BenchmarkMain {
+
+    /**
+     * File receiving the results when no result file is given.
+     */
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private BenchmarkMain() {}
+
+    /**
+     * Runs the benchmarks selected by the command line.
+     *
+     * @param args JMH command line options, e.g. a benchmark name pattern
+     * @throws CommandLineOptionException if the command line is invalid
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if the help cannot be printed
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList()) {
+            new Runner(cli).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package app.benchmarks;
+
+import app.dao.ProductDAO;
+import app.dao.utils.EntityMetadata;
+import app.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the client side of inserting lists of entities: grouping the rows into multi-row statements,
+ * binding every parameter and applying the generated keys.
+ * <p>
+ * Rows are sent to a {@link StubConnection}, so the time spent in the driver and the database is left out.
+ * The sizes cover a single row, remainders sent as single-row statements, exactly one multi-row statement,
+ * and lists mixing both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBenchmark {
+
+    /**
+     * Number of inserted products.
+     */
+    @Param({"1", "10", "64", "100", "1000"})
+    private int size;
+
+    /**
+     * The DAO under measurement.
+     */
+    private final ProductDAO productDAO = new ProductDAO();
+
+    /**
+     * Connection receiving the statements.
+     */
+    private Connection connection;
+
+    /**
+     * The inserted products.
+     */
+    private List<Product> products;
+
+    /**
+     * Default constructor.
+     */
+    public InsertBenchmark() {}
+
+    /**
+     * Creates the products and the connection.
+     */
+    @Setup
+    public void setUp() {
+        connection = new StubConnection(EntityMetadata.of(Product.class).getInsertColumns().size()).connection();
+        products = IntStream.range(0, size)
+                .mapToObj(i -> new Product("product-" + i, i * 1.25, i))
+                .toList();
+    }
+
+    /**
+     * Inserts the products.
+     *
+     * @return the inserted products, with their keys set
+     * @throws SQLException never, the connection accepts every statement
+     */
+    @Benchmark
+    public List<Product> insertList() throws SQLException {
+        return productDAO.insertList(connection, products);
+    }
+}
@@ -0,0 +1,97 @@
+package app.benchmarks;
+
+import app.dao.ProductDAO;
+import app.dao.utils.DAOUtils;
+import app.dao.utils.EntityMetadata;
+import app.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity metadata lookups every DAO operation starts with, and the construction of a DAO,
+ * which prepares its statements from that metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataBenchmark {
+
+    /**
+     * Default constructor.
+     */
+    public MetadataBenchmark() {}
+
+    /**
+     * Looks up the cached metadata of an entity.
+     *
+     * @return the metadata
+     */
+    @Benchmark
+    public EntityMetadata<Product> metadata() {
+        return EntityMetadata.of(Product.class);
+    }
+
+    /**
+     * Looks up the table name of an entity.
+     *
+     * @return the table name
+     */
+    @Benchmark
+    public String tableName() {
+        return DAOUtils.getTableName(Product.class);
+    }
+
+    /**
+     * Looks up the column fields of an entity.
+     *
+     * @return the fields
+     */
+    @Benchmark
+    public List<Field> fields() {
+        return DAOUtils.getFields(Product.class);
+    }
+
+    /**
+     * Looks up the primary key field of an entity.
+     *
+     * @return the primary key field
+     */
+    @Benchmark
+    public Field primaryKeyField() {
+        return DAOUtils.getPrimaryKeyField(Product.class);
+    }
+
+    /**
+     * Looks up the primary key column name of an entity.
+     *
+     * @return the primary key column name
+     */
+    @Benchmark
+    public String primaryKeyName() {
+        return DAOUtils.getPrimaryKeyName(Product.class);
+    }
+
+    /**
+     * Creates a DAO, building its multi-row INSERT statement.
+     *
+     * @return the DAO
+     */
+    @Benchmark
+    public ProductDAO createDao() {
+        return new ProductDAO();
+    }
+}
@@ -0,0 +1,110 @@
+package app.benchmarks;
+
+import app.dao.mapping.EntityBinders;
+import app.dao.mapping.RowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures row hydration as done by {@code AbstractDAO.findAll} and {@code AbstractDAO.findById}: reading
+ * every row of a result set into new entities with the entity's binder.
+ * <p>
+ * Rows come from a {@link SyntheticResultSet}. The binders are the reflective ones unless the application
+ * was installed with the {@code codegen} profile, so running the benchmark against both builds compares them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    /**
+     * The hydrated entity class: mutable classes, a record and the detailed orders view.
+     */
+    @Param({"app.model.Product", "app.model.Client", "app.model.Order", "app.model.Bill", "app.model.OrderDetails"})
+    private String entity;
+
+    /**
+     * Number of rows read by {@link #findAll()}.
+     */
+    @Param({"1000"})
+    private int rows;
+
+    /**
+     * The binder of the entity.
+     */
+    private RowMapper<?> mapper;
+
+    /**
+     * Result set over every row.
+     */
+    private SyntheticResultSet allRows;
+
+    /**
+     * Result set over a single row.
+     */
+    private SyntheticResultSet oneRow;
+
+    /**
+     * Default constructor.
+     */
+    public RowMappingBenchmark() {}
+
+    /**
+     * Binds the entity and generates its rows.
+     *
+     * @throws ClassNotFoundException if the entity class does not exist
+     */
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        Class<?> type = Class.forName(entity);
+        mapper = EntityBinders.of(type);
+        allRows = new SyntheticResultSet(SyntheticRows.of(type, rows));
+        oneRow = new SyntheticResultSet(SyntheticRows.of(type, 1));
+    }
+
+    /**
+     * Hydrates every row, like {@code findAll}.
+     *
+     * @return the entities
+     * @throws SQLException if a row cannot be mapped
+     */
+    @Benchmark
+    public List<Object> findAll() throws SQLException {
+        ResultSet rs = allRows.rewind();
+        List<Object> list = new ArrayList<>();
+        while (rs.next()) {
+            list.add(mapper.mapRow(rs));
+        }
+        return list;
+    }
+
+    /**
+     * Hydrates a single row, like {@code findById}.
+     *
+     * @return the entity
+     * @throws SQLException if the row cannot be mapped
+     */
+    @Benchmark
+    public Object findById() throws SQLException {
+        ResultSet rs = oneRow.rewind();
+        return rs.next() ? mapper.mapRow(rs) : null;
+    }
+}
@@ -0,0 +1,150 @@
+package app.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * In-memory {@link Connection} whose prepared statements accept and discard every parameter, so statement
+ * building and parameter binding can be measured without a database.
+ * <p>
+ * Executing a batch returns one generated key per inserted row, counting rows from the number of bound
+ * parameters. Like {@link SyntheticResultSet}, the connection and its statements are dynamic proxies.
+ */
+final class StubConnection implements InvocationHandler {
+
+    /**
+     * Number of parameters bound per inserted row.
+     */
+    private final int paramsPerRow;
+
+    /**
+     * The proxy handed to the code under measurement.
+     */
+    private final Connection connection;
+
+    /**
+     * Creates a connection for inserts of rows with the given number of parameters.
+     *
+     * @param paramsPerRow the number of parameters bound per inserted row
+     */
+    StubConnection(int paramsPerRow) {
+        this.paramsPerRow = paramsPerRow;
+        this.connection = (Connection) Proxy.newProxyInstance(StubConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this);
+    }
+
+    /**
+     * Gets the connection.
+     *
+     * @return the stub connection
+     */
+    Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Dispatches a call on the connection.
+     *
+     * @param proxy the connection proxy
+     * @param method the called method
+     * @param args the arguments
+     * @return the result of the call
+     * @throws SQLException if the method is not supported
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        return switch (method.getName()) {
+            case "prepareStatement" -> new Statement().statement;
+            case "getAutoCommit" -> true;
+            case "isClosed" -> false;
+            case "close", "commit", "rollback", "setAutoCommit" -> null;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "StubConnection";
+            default -> throw new SQLException("Not supported by the stub connection: " + method.getName());
+        };
+    }
+
+    /**
+     * Prepared statement counting the parameters bound since it was executed last.
+     */
+    private final class Statement implements InvocationHandler {
+
+        /**
+         * The proxy returned by {@code prepareStatement}.
+         */
+        private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                StubConnection.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+
+        /**
+         * Number of parameters bound since the last execution.
+         */
+        private int bound;
+
+        /**
+         * Number of rows inserted by the last execution.
+         */
+        private int inserted;
+
+        /**
+         * Dispatches a call on the statement.
+         *
+         * @param proxy the statement proxy
+         * @param method the called method
+         * @param args the arguments
+         * @return the result of the call
+         * @throws SQLException if the method is not supported
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bound++;
+                return null;
+            }
+            return switch (name) {
+                case "addBatch", "clearParameters", "close", "clearBatch" -> null;
+                case "executeBatch", "executeUpdate", "execute" -> execute(name);
+                case "getGeneratedKeys" -> new SyntheticResultSet(keys()).resultSet();
+                case "isClosed" -> false;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "StubStatement";
+                default -> throw new SQLException("Not supported by the stub statement: " + name);
+            };
+        }
+
+        /**
+         * Completes an execution, turning the bound parameters into inserted rows.
+         *
+         * @param name the name of the execute method
+         * @return the result of the execute method
+         */
+        private Object execute(String name) {
+            inserted = bound / paramsPerRow;
+            bound = 0;
+            return switch (name) {
+                case "executeBatch" -> new int[]{inserted};
+                case "executeUpdate" -> inserted;
+                default -> false;
+            };
+        }
+
+        /**
+         * Generates one key per row inserted by the last execution.
+         *
+         * @return the key rows
+         */
+        private Object[][] keys() {
+            Object[][] keys = new Object[inserted][1];
+            for (int i = 0; i < inserted; i++) {
+                keys[i][0] = i + 1;
+            }
+            return keys;
+        }
+    }
+}
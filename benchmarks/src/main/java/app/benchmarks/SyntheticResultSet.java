@@ -0,0 +1,118 @@
+package app.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * In-memory {@link ResultSet} over precomputed rows, so row hydration can be measured without a database.
+ * <p>
+ * Only the forward-only cursor and the by-index getters used by the row mappers are supported. The result
+ * set is a dynamic proxy, which adds the same small cost to every getter call in every run; results remain
+ * comparable with each other, not with the time a real driver takes.
+ */
+final class SyntheticResultSet implements InvocationHandler {
+
+    /**
+     * The rows, one array of column values per row.
+     */
+    private final Object[][] rows;
+
+    /**
+     * The proxy handed to the code under measurement.
+     */
+    private final ResultSet resultSet;
+
+    /**
+     * Index of the current row, {@code -1} before the first row.
+     */
+    private int current = -1;
+
+    /**
+     * Whether the last value read was SQL {@code NULL}.
+     */
+    private boolean wasNull;
+
+    /**
+     * Creates a result set positioned before the first of the given rows.
+     *
+     * @param rows the rows, one array of column values per row
+     */
+    SyntheticResultSet(Object[][] rows) {
+        this.rows = rows;
+        this.resultSet = (ResultSet) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, this);
+    }
+
+    /**
+     * Gets the result set.
+     *
+     * @return the result set over the rows
+     */
+    ResultSet resultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Moves the cursor back before the first row, so the same result set can be read again.
+     *
+     * @return the result set
+     */
+    ResultSet rewind() {
+        current = -1;
+        return resultSet;
+    }
+
+    /**
+     * Dispatches a call on the result set.
+     *
+     * @param proxy the result set proxy
+     * @param method the called method
+     * @param args the arguments
+     * @return the result of the call
+     * @throws SQLException if the cursor is not on a row or the method is not supported
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        return switch (method.getName()) {
+            case "next" -> ++current < rows.length;
+            case "wasNull" -> wasNull;
+            case "close" -> null;
+            case "isClosed" -> false;
+            case "getRow" -> current + 1;
+            case "getObject", "getString", "getTimestamp", "getDate" -> read(args);
+            case "getInt" -> read(args) instanceof Number n ? n.intValue() : 0;
+            case "getLong" -> read(args) instanceof Number n ? n.longValue() : 0L;
+            case "getDouble" -> read(args) instanceof Number n ? n.doubleValue() : 0.0;
+            case "getFloat" -> read(args) instanceof Number n ? n.floatValue() : 0.0f;
+            case "getShort" -> read(args) instanceof Number n ? n.shortValue() : (short) 0;
+            case "getByte" -> read(args) instanceof Number n ? n.byteValue() : (byte) 0;
+            case "getBoolean" -> read(args) instanceof Boolean b && b;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "SyntheticResultSet[" + rows.length + " rows]";
+            default -> throw new SQLException("Not supported by the synthetic result set: " + method.getName());
+        };
+    }
+
+    /**
+     * Reads a column of the current row by its 1-based index.
+     *
+     * @param args the getter arguments, starting with the column index
+     * @return the column value, {@code null} for SQL {@code NULL}
+     * @throws SQLException if the cursor is not on a row or the column is not indexed by number
+     */
+    private Object read(Object[] args) throws SQLException {
+        if (current < 0 || current >= rows.length) {
+            throw new SQLException("The cursor is not on a row");
+        }
+        if (!(args[0] instanceof Integer index)) {
+            throw new SQLException("Columns are only read by index by the synthetic result set");
+        }
+        Object value = rows[current][index - 1];
+        wasNull = value == null;
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package app.benchmarks;
+
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Generates rows of column values for an entity, shaped like the rows the database returns for it.
+ * <p>
+ * Values are derived from the row number and the Java type of each {@code @Column} field, so every row
+ * is different but every run generates the same data.
+ */
+final class SyntheticRows {
+
+    /**
+     * Timestamp of the first generated row; each following row is one minute later.
+     */
+    private static final long EPOCH_MILLIS = Timestamp.valueOf("2025-01-01 00:00:00").getTime();
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private SyntheticRows() {}
+
+    /**
+     * Generates the rows of an entity, with every column of the entity in column order.
+     *
+     * @param type the entity class
+     * @param count the number of rows
+     * @return the rows, one array of column values per row
+     * @throws IllegalArgumentException if a column has a Java type no value can be generated for
+     */
+    static Object[][] of(Class<?> type, int count) {
+        List<ColumnMetadata> columns = EntityMetadata.of(type).getColumns();
+        Object[][] rows = new Object[count][columns.size()];
+        for (int row = 0; row < count; row++) {
+            for (int col = 0; col < columns.size(); col++) {
+                rows[row][col] = value(columns.get(col), row + 1);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Generates the value of one column.
+     *
+     * @param column the column
+     * @param row the 1-based row number
+     * @return the value
+     * @throws IllegalArgumentException if no value can be generated for the column's Java type
+     */
+    private static Object value(ColumnMetadata column, int row) {
+        Class<?> javaType = column.field().getType();
+        if (javaType == int.class || javaType == Integer.class) {
+            return row;
+        }
+        if (javaType == long.class || javaType == Long.class) {
+            return (long) row;
+        }
+        if (javaType == double.class || javaType == Double.class) {
+            return row * 1.25;
+        }
+        if (javaType == String.class) {
+            return column.name() + "-" + row;
+        }
+        if (javaType == Timestamp.class) {
+            return new Timestamp(EPOCH_MILLIS + row * 60_000L);
+        }
+        throw new IllegalArgumentException("Cannot generate values of column " + column.name() + " of type " + javaType);
+    }
+}
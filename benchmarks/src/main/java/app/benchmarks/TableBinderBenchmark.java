@@ -0,0 +1,90 @@
+package app.benchmarks;
+
+import app.gui.displayUtils.TableBinder;
+import app.gui.displayUtils.TableViewBuilder;
+import app.model.Product;
+import javafx.application.Platform;
+import javafx.scene.control.TableView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the creation of table columns from a model class, with {@link TableBinder} directly and
+ * through {@link TableViewBuilder}.
+ * <p>
+ * The tables are never shown, but JavaFX controls need a started toolkit, and therefore a display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBinderBenchmark {
+
+    /**
+     * Number of items of the tables built by {@link #buildTableView()}.
+     */
+    @Param({"100"})
+    private int items;
+
+    /**
+     * The table items.
+     */
+    private List<Product> products;
+
+    /**
+     * Default constructor.
+     */
+    public TableBinderBenchmark() {}
+
+    /**
+     * Starts the JavaFX toolkit and creates the table items.
+     */
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // already started by a previous trial of this fork
+        }
+        products = IntStream.range(0, items)
+                .mapToObj(i -> new Product(i + 1, "product-" + i, i * 1.25, i))
+                .toList();
+    }
+
+    /**
+     * Binds the columns of a new table.
+     *
+     * @return the table
+     */
+    @Benchmark
+    public TableView<Product> bind() {
+        TableView<Product> table = new TableView<>();
+        TableBinder.of(Product.class).bind(table);
+        return table;
+    }
+
+    /**
+     * Builds a new table with its columns and items.
+     *
+     * @return the table
+     */
+    @Benchmark
+    public TableView<Product> buildTableView() {
+        return TableViewBuilder.buildTableView(products, Product.class);
+    }
+}
@@ -0,0 +1,76 @@
+package app.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of latencies, in nanoseconds, recorded by one terminal.
+ * Not thread-safe: every terminal records into its own instance, and the instances are merged once the run is over.
+ */
+final class LatencySamples {
+
+    /**
+     * The recorded latencies; only the first {@link #size} are used.
+     */
+    private long[] values = new long[1024];
+
+    /**
+     * Number of recorded latencies.
+     */
+    private int size;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency, in nanoseconds
+     */
+    void add(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    /**
+     * Adds all latencies of another list to this one.
+     *
+     * @param other the other list
+     */
+    void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of latencies
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the recorded latencies, so {@link #percentile(double)} can be called.
+     */
+    void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * Returns a percentile of the recorded latencies, using the nearest-rank method.
+     * The latencies must have been sorted first.
+     *
+     * @param p the percentile, between {@code 0} (exclusive) and {@code 1}, e.g. {@code 0.99}
+     * @return the latency, in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    long percentile(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * size);
+        return values[Math.clamp(rank - 1, 0, size - 1)];
+    }
+}
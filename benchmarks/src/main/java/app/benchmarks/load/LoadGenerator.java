@@ -0,0 +1,277 @@
+package app.benchmarks.load;
+
+import app.benchmarks.load.Terminal.Outcome;
+import app.bll.BillBLL;
+import app.bll.ProductBLL;
+import app.bll.SchemaBLL;
+import app.dao.ClientDAO;
+import app.dao.ProductDAO;
+import app.metrics.MetricsServer;
+import app.metrics.QueryMetrics;
+import app.model.Client;
+import app.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Headless load generator placing orders end to end, through {@link app.bll.OrderPlacementService},
+ * from concurrent simulated terminals.
+ * <p>
+ * It seeds its own clients and products into the database configured for the application (see the
+ * {@code app.db.url}, {@code app.db.user} and {@code app.db.password} system properties), so it can run
+ * against a throwaway database created from {@code database/database_script.sql}. Clients and products are
+ * picked with Zipf distributions, so a few hot products receive most of the orders and contend on their stock.
+ * <p>
+ * Once the run is over it reports the throughput, the latency percentiles of the placed orders and the
+ * number of deadlocks, serialization failures and other errors, then checks that no product was oversold
+ * and that sampled orders were billed, and prints the {@link QueryMetrics} of every database operation.
+ * The process exits with status {@code 1} if a check fails.
+ * With the {@code app.metrics.port} system property set, the {@link MetricsServer} can be scraped during the run.
+ * <p>
+ * Every setting is read from a system property, e.g.
+ * {@code java -Dapp.load.terminals=32 -Dapp.db.pool.maxSize=32 -cp benchmarks.jar app.benchmarks.load.LoadGenerator}.
+ * The connection pool size bounds the number of orders in flight, so it is usually raised with the terminals.
+ */
+public final class LoadGenerator {
+
+    /**
+     * Number of concurrent terminals placing orders.
+     * Can be overridden with the {@code app.load.terminals} system property.
+     */
+    private static final int TERMINALS = Integer.getInteger("app.load.terminals", 8);
+
+    /**
+     * Duration, in seconds, of the warm-up, during which orders are placed but not measured.
+     * Can be overridden with the {@code app.load.warmupSeconds} system property.
+     */
+    private static final int WARMUP_SECONDS = Integer.getInteger("app.load.warmupSeconds", 5);
+
+    /**
+     * Duration, in seconds, of the measurement window.
+     * Can be overridden with the {@code app.load.durationSeconds} system property.
+     */
+    private static final int DURATION_SECONDS = Integer.getInteger("app.load.durationSeconds", 30);
+
+    /**
+     * Number of seeded clients.
+     * Can be overridden with the {@code app.load.clients} system property.
+     */
+    private static final int CLIENTS = Integer.getInteger("app.load.clients", 1_000);
+
+    /**
+     * Number of seeded products.
+     * Can be overridden with the {@code app.load.products} system property.
+     */
+    private static final int PRODUCTS = Integer.getInteger("app.load.products", 100);
+
+    /**
+     * Initial stock of every seeded product.
+     * Can be overridden with the {@code app.load.initialStock} system property.
+     */
+    private static final int INITIAL_STOCK = Integer.getInteger("app.load.initialStock", 100_000);
+
+    /**
+     * Largest quantity of one order.
+     * Can be overridden with the {@code app.load.maxQuantity} system property.
+     */
+    private static final int MAX_QUANTITY = Integer.getInteger("app.load.maxQuantity", 3);
+
+    /**
+     * Zipf exponent of the client distribution, {@code 0} for uniform.
+     * Can be overridden with the {@code app.load.clientSkew} system property.
+     */
+    private static final double CLIENT_SKEW = Double.parseDouble(System.getProperty("app.load.clientSkew", "0"));
+
+    /**
+     * Zipf exponent of the product distribution, {@code 0} for uniform.
+     * Can be overridden with the {@code app.load.productSkew} system property.
+     */
+    private static final double PRODUCT_SKEW = Double.parseDouble(System.getProperty("app.load.productSkew", "1.1"));
+
+    /**
+     * Pause, in milliseconds, of every terminal between two orders.
+     * Can be overridden with the {@code app.load.thinkTimeMs} system property.
+     */
+    private static final long THINK_TIME_MS = Long.getLong("app.load.thinkTimeMs", 0L);
+
+    /**
+     * Maximum number of placed orders whose bill is checked after the run.
+     * Can be overridden with the {@code app.load.billChecks} system property.
+     */
+    private static final int BILL_CHECKS = Integer.getInteger("app.load.billChecks", 1_000);
+
+    /**
+     * Logger instance for reporting progress.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private LoadGenerator() {}
+
+    /**
+     * Seeds the database, runs the terminals and prints the report.
+     *
+     * @param args ignored, the settings are read from system properties
+     * @throws Exception if the database cannot be seeded
+     */
+    public static void main(String[] args) throws Exception {
+        MetricsServer.startIfConfigured();
+        SchemaBLL.createTables();
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Client> clients = new ClientDAO().insertList(IntStream.range(0, CLIENTS)
+                .mapToObj(i -> new Client("Load", "Client " + i, "load-" + runId + "-" + i + "@example.com", "Load street " + i))
+                .toList());
+        List<Product> products = new ProductDAO().insertList(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> new Product("load-" + runId + "-" + i, 1 + i % 50, INITIAL_STOCK))
+                .toList());
+        LOGGER.info(String.format("Seeded %d clients and %d products, running %d terminals for %ds after a %ds warm-up",
+                clients.size(), products.size(), TERMINALS, DURATION_SECONDS, WARMUP_SECONDS));
+
+        ZipfSampler clientSampler = new ZipfSampler(clients.size(), CLIENT_SKEW);
+        ZipfSampler productSampler = new ZipfSampler(products.size(), PRODUCT_SKEW);
+        AtomicLongArray sold = new AtomicLongArray(products.size());
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        List<Terminal> terminals = new ArrayList<>();
+        for (int i = 0; i < TERMINALS; i++) {
+            terminals.add(new Terminal(clients, products, clientSampler, productSampler, sold,
+                    MAX_QUANTITY, THINK_TIME_MS, measureStart, end));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(TERMINALS);
+        terminals.forEach(executor::execute);
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        boolean passed = report(terminals);
+        passed &= checkStock(products, sold);
+        passed &= checkBills(terminals);
+        System.out.println();
+        System.out.print(QueryMetrics.format());
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Prints the throughput, latencies and failures measured by the terminals.
+     *
+     * @param terminals the terminals, once finished
+     * @return {@code false} if any attempt failed with an unexpected error
+     */
+    private static boolean report(List<Terminal> terminals) {
+        LatencySamples latencies = new LatencySamples();
+        long[] counts = new long[Outcome.values().length];
+        for (Terminal terminal : terminals) {
+            latencies.addAll(terminal.latencies());
+            for (Outcome outcome : Outcome.values()) {
+                counts[outcome.ordinal()] += terminal.count(outcome);
+            }
+        }
+        latencies.sort();
+        long attempts = 0;
+        for (long count : counts) {
+            attempts += count;
+        }
+
+        print("terminals", TERMINALS);
+        print("measured", DURATION_SECONDS + "s");
+        print("attempts", String.format("%d (%.1f/s)", attempts, (double) attempts / DURATION_SECONDS));
+        print("placed orders", String.format("%d (%.1f/s)", counts[Outcome.PLACED.ordinal()],
+                (double) counts[Outcome.PLACED.ordinal()] / DURATION_SECONDS));
+        print("latency p50", millis(latencies.percentile(0.50)));
+        print("latency p99", millis(latencies.percentile(0.99)));
+        print("latency p999", millis(latencies.percentile(0.999)));
+        print("latency max", millis(latencies.percentile(1)));
+        print("out of stock", counts[Outcome.OUT_OF_STOCK.ordinal()]);
+        print("deadlocks (" + Terminal.DEADLOCK_DETECTED + ")", counts[Outcome.DEADLOCK.ordinal()]);
+        print("serialization (" + Terminal.SERIALIZATION_FAILURE + ")", counts[Outcome.SERIALIZATION_FAILURE.ordinal()]);
+        print("other errors", counts[Outcome.ERROR.ordinal()]);
+        return counts[Outcome.ERROR.ordinal()] == 0;
+    }
+
+    /**
+     * Checks the final stock of every product against the quantities the terminals sold.
+     * A product is oversold if its stock went negative or more than its initial stock was sold; its stock
+     * is inconsistent if it does not equal the initial stock minus the quantities sold.
+     *
+     * @param products the seeded products
+     * @param sold quantity sold of each product
+     * @return {@code true} if no product was oversold or inconsistent
+     */
+    private static boolean checkStock(List<Product> products, AtomicLongArray sold) {
+        ProductBLL productBLL = new ProductBLL();
+        int oversold = 0;
+        int inconsistent = 0;
+        for (int i = 0; i < products.size(); i++) {
+            Product product = productBLL.findProductById(products.get(i).getId());
+            if (product == null) {
+                inconsistent++;
+                continue;
+            }
+            long stock = product.getStock();
+            if (stock < 0 || sold.get(i) > INITIAL_STOCK) {
+                oversold++;
+            }
+            if (stock != INITIAL_STOCK - sold.get(i)) {
+                inconsistent++;
+            }
+        }
+        print("oversold products", oversold);
+        print("inconsistent stock", inconsistent);
+        return oversold == 0 && inconsistent == 0;
+    }
+
+    /**
+     * Checks that placed orders, evenly sampled over the run, have their bill.
+     *
+     * @param terminals the terminals, once finished
+     * @return {@code true} if every sampled order has its bill
+     */
+    private static boolean checkBills(List<Terminal> terminals) {
+        int[] orderIds = terminals.stream().map(Terminal::placedOrderIds).flatMapToInt(IntStream::of).toArray();
+        if (orderIds.length == 0) {
+            return true;
+        }
+        BillBLL billBLL = new BillBLL();
+        int step = Math.max(1, (orderIds.length + BILL_CHECKS - 1) / BILL_CHECKS);
+        int checked = 0;
+        int missing = 0;
+        for (int i = 0; i < orderIds.length; i += step) {
+            checked++;
+            if (billBLL.getBillByOrderId(orderIds[i]) == null) {
+                missing++;
+            }
+        }
+        print("unbilled orders", missing + " of " + checked + " checked");
+        return missing == 0;
+    }
+
+    /**
+     * Prints one line of the report.
+     *
+     * @param label what is reported
+     * @param value the reported value
+     */
+    private static void print(String label, Object value) {
+        System.out.printf("%-22s %s%n", label, value);
+    }
+
+    /**
+     * Formats a latency in milliseconds.
+     *
+     * @param nanos the latency, in nanoseconds
+     * @return the formatted latency
+     */
+    private static String millis(long nanos) {
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+}
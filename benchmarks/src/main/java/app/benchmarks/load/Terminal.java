@@ -0,0 +1,253 @@
+package app.benchmarks.load;
+
+import app.bll.OrderPlacementService;
+import app.bll.PlacedOrder;
+import app.bll.exceptions.InsufficientStockException;
+import app.model.Client;
+import app.model.Product;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A simulated order terminal: places orders back to back, like a clerk entering orders, until the run ends.
+ * <p>
+ * Outcomes and latencies are only counted during the measurement window, but the quantities sold are
+ * counted for every placed order, so the final stock of each product can be checked against them.
+ */
+final class Terminal implements Runnable {
+
+    /**
+     * SQLState reported by PostgreSQL when a transaction is aborted to resolve a deadlock.
+     */
+    static final String DEADLOCK_DETECTED = "40P01";
+
+    /**
+     * SQLState reported by PostgreSQL when a transaction cannot be serialized with concurrent ones.
+     */
+    static final String SERIALIZATION_FAILURE = "40001";
+
+    /**
+     * Logger instance for capturing unexpected failures.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Terminal.class.getName());
+
+    /**
+     * Service placing the orders, one per terminal like one per controller in the application.
+     */
+    private final OrderPlacementService orderPlacementService = new OrderPlacementService();
+
+    /**
+     * The clients placing orders, hottest first.
+     */
+    private final List<Client> clients;
+
+    /**
+     * The ordered products, hottest first.
+     */
+    private final List<Product> products;
+
+    /**
+     * Picks the client of each order.
+     */
+    private final ZipfSampler clientSampler;
+
+    /**
+     * Picks the product of each order.
+     */
+    private final ZipfSampler productSampler;
+
+    /**
+     * Quantity sold of each product, by position in {@link #products}, shared by all terminals.
+     */
+    private final AtomicLongArray sold;
+
+    /**
+     * Largest quantity of one order; quantities are uniform between 1 and this value.
+     */
+    private final int maxQuantity;
+
+    /**
+     * Pause between two orders, in milliseconds.
+     */
+    private final long thinkTimeMs;
+
+    /**
+     * {@link System#nanoTime()} at which the measurement window starts.
+     */
+    private final long measureStart;
+
+    /**
+     * {@link System#nanoTime()} at which the run ends.
+     */
+    private final long end;
+
+    /**
+     * Latencies of the orders placed during the measurement window.
+     */
+    private final LatencySamples latencies = new LatencySamples();
+
+    /**
+     * Number of attempts of each {@link Outcome} during the measurement window.
+     */
+    private final long[] outcomes = new long[Outcome.values().length];
+
+    /**
+     * IDs of the orders placed during the whole run; only the first {@link #placedCount} are used.
+     */
+    private int[] placedOrderIds = new int[1024];
+
+    /**
+     * Number of orders placed during the whole run.
+     */
+    private int placedCount;
+
+    /**
+     * Creates a terminal.
+     *
+     * @param clients the clients placing orders, hottest first
+     * @param products the ordered products, hottest first
+     * @param clientSampler picks the client of each order
+     * @param productSampler picks the product of each order
+     * @param sold quantity sold of each product, shared by all terminals
+     * @param maxQuantity largest quantity of one order
+     * @param thinkTimeMs pause between two orders, in milliseconds
+     * @param measureStart {@link System#nanoTime()} at which the measurement window starts
+     * @param end {@link System#nanoTime()} at which the run ends
+     */
+    Terminal(List<Client> clients, List<Product> products, ZipfSampler clientSampler, ZipfSampler productSampler,
+             AtomicLongArray sold, int maxQuantity, long thinkTimeMs, long measureStart, long end) {
+        this.clients = clients;
+        this.products = products;
+        this.clientSampler = clientSampler;
+        this.productSampler = productSampler;
+        this.sold = sold;
+        this.maxQuantity = maxQuantity;
+        this.thinkTimeMs = thinkTimeMs;
+        this.measureStart = measureStart;
+        this.end = end;
+    }
+
+    /**
+     * Places orders until the run ends.
+     */
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Client client = clients.get(clientSampler.next());
+            int productIndex = productSampler.next();
+            int quantity = random.nextInt(1, maxQuantity + 1);
+
+            long start = System.nanoTime();
+            Outcome outcome = place(client, productIndex, quantity);
+            long elapsed = System.nanoTime() - start;
+
+            if (start >= measureStart && start < end) {
+                outcomes[outcome.ordinal()]++;
+                if (outcome == Outcome.PLACED) {
+                    latencies.add(elapsed);
+                }
+            }
+            if (thinkTimeMs > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(thinkTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Places one order and classifies its outcome.
+     *
+     * @param client the client placing the order
+     * @param productIndex position of the ordered product in {@link #products}
+     * @param quantity the ordered quantity
+     * @return the outcome of the order
+     */
+    private Outcome place(Client client, int productIndex, int quantity) {
+        try {
+            PlacedOrder placed = orderPlacementService.placeOrder(client, products.get(productIndex), quantity);
+            sold.addAndGet(productIndex, quantity);
+            if (placedCount == placedOrderIds.length) {
+                placedOrderIds = Arrays.copyOf(placedOrderIds, placedCount * 2);
+            }
+            placedOrderIds[placedCount++] = placed.order().getId();
+            return Outcome.PLACED;
+        } catch (InsufficientStockException e) {
+            return Outcome.OUT_OF_STOCK;
+        } catch (SQLException e) {
+            return switch (String.valueOf(e.getSQLState())) {
+                case DEADLOCK_DETECTED -> Outcome.DEADLOCK;
+                case SERIALIZATION_FAILURE -> Outcome.SERIALIZATION_FAILURE;
+                default -> Outcome.ERROR;
+            };
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error placing order", e);
+            return Outcome.ERROR;
+        }
+    }
+
+    /**
+     * Returns the latencies of the orders placed during the measurement window.
+     *
+     * @return the latencies, in nanoseconds
+     */
+    LatencySamples latencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the number of attempts with an outcome during the measurement window.
+     *
+     * @param outcome the outcome
+     * @return the number of attempts
+     */
+    long count(Outcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Returns the IDs of the orders placed during the whole run.
+     *
+     * @return the order IDs
+     */
+    int[] placedOrderIds() {
+        return Arrays.copyOf(placedOrderIds, placedCount);
+    }
+
+    /**
+     * Outcome of one order attempt.
+     */
+    enum Outcome {
+        /**
+         * The order and its bill were stored.
+         */
+        PLACED,
+        /**
+         * The product did not have enough stock left.
+         */
+        OUT_OF_STOCK,
+        /**
+         * The transaction was aborted to resolve a deadlock ({@value Terminal#DEADLOCK_DETECTED}).
+         */
+        DEADLOCK,
+        /**
+         * The transaction could not be serialized ({@value Terminal#SERIALIZATION_FAILURE}).
+         */
+        SERIALIZATION_FAILURE,
+        /**
+         * Any other failure.
+         */
+        ERROR
+    }
+}
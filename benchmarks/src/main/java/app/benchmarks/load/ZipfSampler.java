@@ -0,0 +1,53 @@
+package app.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws ranks following a Zipf distribution: rank {@code k} (0-based) is drawn with a probability
+ * proportional to {@code 1 / (k + 1)^skew}.
+ * <p>
+ * A skew of {@code 0} draws every rank with the same probability; around {@code 1} a few hot ranks
+ * receive most of the draws, like best-selling products.
+ */
+final class ZipfSampler {
+
+    /**
+     * Cumulative probability of each rank, the last one being {@code 1}.
+     */
+    private final double[] cdf;
+
+    /**
+     * Creates a sampler over {@code n} ranks.
+     *
+     * @param n the number of ranks
+     * @param skew the Zipf exponent, {@code 0} for a uniform distribution
+     * @throws IllegalArgumentException if {@code n} is not positive or the skew is negative
+     */
+    ZipfSampler(int n, double skew) {
+        if (n <= 0 || skew < 0) {
+            throw new IllegalArgumentException(String.format("Invalid Zipf distribution: n=%d, skew=%s", n, skew));
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        cdf[n - 1] = 1;
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @return a rank between {@code 0} and {@code n - 1}, the lower ranks being the more likely
+     */
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cdf, u);
+        return index >= 0 ? index : -index - 1;
+    }
+}
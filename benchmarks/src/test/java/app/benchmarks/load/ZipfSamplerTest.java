@@ -0,0 +1,94 @@
+package app.benchmarks.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link ZipfSampler} draws ranks with the probabilities of its Zipf distribution.
+ */
+class ZipfSamplerTest {
+
+    /**
+     * Number of draws of the frequency checks; the tolerance is more than ten standard deviations.
+     */
+    private static final int DRAWS = 200_000;
+
+    /**
+     * Largest accepted difference between a drawn frequency and its probability.
+     */
+    private static final double TOLERANCE = 0.01;
+
+    /**
+     * Checks that a skew of 1 draws each rank in proportion to {@code 1 / (k + 1)}.
+     */
+    @Test
+    void drawsRanksWithZipfProbabilities() {
+        int n = 10;
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+
+        double[] frequencies = frequencies(new ZipfSampler(n, 1), n);
+
+        for (int k = 0; k < n; k++) {
+            assertEquals(1 / ((k + 1) * harmonic), frequencies[k], TOLERANCE, "rank " + k);
+        }
+        assertTrue(frequencies[0] > frequencies[1] && frequencies[1] > frequencies[n - 1]);
+    }
+
+    /**
+     * Checks that a skew of 0 draws every rank with the same probability.
+     */
+    @Test
+    void drawsUniformlyWithoutSkew() {
+        int n = 8;
+
+        double[] frequencies = frequencies(new ZipfSampler(n, 0), n);
+
+        for (int k = 0; k < n; k++) {
+            assertEquals(1.0 / n, frequencies[k], TOLERANCE, "rank " + k);
+        }
+    }
+
+    /**
+     * Checks that a single rank is always drawn.
+     */
+    @Test
+    void drawsOnlyRankOfSingleRankDistribution() {
+        ZipfSampler sampler = new ZipfSampler(1, 1.2);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, sampler.next());
+        }
+    }
+
+    /**
+     * Checks that invalid distributions are rejected.
+     */
+    @Test
+    void rejectsInvalidDistributions() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, -0.5));
+    }
+
+    /**
+     * Draws ranks and counts how often each one is drawn.
+     *
+     * @param sampler the sampler
+     * @param n the number of ranks of the sampler
+     * @return the fraction of the draws of each rank
+     */
+    private static double[] frequencies(ZipfSampler sampler, int n) {
+        double[] frequencies = new double[n];
+        for (int i = 0; i < DRAWS; i++) {
+            int rank = sampler.next();
+            assertTrue(rank >= 0 && rank < n, "rank " + rank);
+            frequencies[rank] += 1.0 / DRAWS;
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,301 @@
+package app.processor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the Java source of a generated entity binder.
+ * <p>
+ * Methods the entity's public API cannot support, such as binding a column that has no getter, are
+ * delegated to the runtime reflective binder instead of being generated, so every generated binder
+ * behaves exactly like the reflective one.
+ */
+final class BinderSource {
+
+    /**
+     * How mapped rows are turned into entity instances.
+     */
+    enum Construction {
+        /** A single constructor call taking every column in order. */
+        CONSTRUCTOR,
+        /** A no-argument constructor followed by one setter call per column. */
+        SETTERS
+    }
+
+    /**
+     * Typed {@code ResultSet} / {@code PreparedStatement} accessor suffixes by Java type.
+     */
+    private static final Map<String, String> JDBC_TYPES = Map.ofEntries(
+            Map.entry("int", "Int"),
+            Map.entry("long", "Long"),
+            Map.entry("double", "Double"),
+            Map.entry("float", "Float"),
+            Map.entry("short", "Short"),
+            Map.entry("byte", "Byte"),
+            Map.entry("boolean", "Boolean"),
+            Map.entry("java.lang.String", "String"),
+            Map.entry("java.sql.Timestamp", "Timestamp"),
+            Map.entry("java.sql.Date", "Date"),
+            Map.entry("java.math.BigDecimal", "BigDecimal")
+    );
+
+    /**
+     * Package of the entity and of the generated binder.
+     */
+    private final String packageName;
+
+    /**
+     * Simple name of the entity class.
+     */
+    private final String entityName;
+
+    /**
+     * Simple name of the generated binder class.
+     */
+    private final String binderName;
+
+    /**
+     * Name of the mapped table.
+     */
+    private final String tableName;
+
+    /**
+     * All mapped columns, in declaration order.
+     */
+    private final List<ColumnModel> columns;
+
+    /**
+     * How rows are turned into entity instances.
+     */
+    private final Construction construction;
+
+    /**
+     * Whether the entity is a record.
+     */
+    private final boolean record;
+
+    /**
+     * Creates the renderer of one binder.
+     *
+     * @param packageName the package of the entity
+     * @param entityName the simple name of the entity
+     * @param binderName the simple name of the binder
+     * @param tableName the name of the mapped table
+     * @param columns the mapped columns, in declaration order
+     * @param construction how rows are turned into entity instances
+     * @param record whether the entity is a record
+     */
+    BinderSource(String packageName, String entityName, String binderName, String tableName,
+                 List<ColumnModel> columns, Construction construction, boolean record) {
+        this.packageName = packageName;
+        this.entityName = entityName;
+        this.binderName = binderName;
+        this.tableName = tableName;
+        this.columns = columns;
+        this.construction = construction;
+        this.record = record;
+    }
+
+    /**
+     * Renders the complete source file.
+     *
+     * @return the Java source of the binder
+     */
+    String render() {
+        ColumnModel primaryKey = columns.stream().filter(ColumnModel::primaryKey).findFirst().orElse(null);
+        List<ColumnModel> insertColumns = columns.stream().filter(col -> !col.primaryKey()).toList();
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import app.dao.mapping.EntityBinder;\n\n")
+                .append("import java.sql.PreparedStatement;\n")
+                .append("import java.sql.ResultSet;\n")
+                .append("import java.sql.SQLException;\n\n")
+                .append("/**\n")
+                .append(" * Binder for {@link ").append(entityName).append("}, mapped to table {@code ").append(tableName).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by {@code ").append(EntityBinderProcessor.class.getName()).append("}, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(binderName).append(" implements EntityBinder<").append(entityName).append("> {\n\n");
+
+        out.append("    /**\n     * Creates the binder.\n     */\n")
+                .append("    public ").append(binderName).append("() {}\n\n");
+
+        renderMapRow(out);
+        renderBindInsert(out, insertColumns);
+        renderGetPrimaryKey(out, primaryKey);
+        renderWithPrimaryKey(out, primaryKey);
+        renderCopy(out);
+
+        return out.append("}\n").toString();
+    }
+
+    /**
+     * Renders {@code mapRow}, reading each column by index with its typed getter.
+     *
+     * @param out the source being built
+     */
+    private void renderMapRow(StringBuilder out) {
+        out.append("    @Override\n")
+                .append("    public ").append(entityName).append(" mapRow(ResultSet rs) throws SQLException {\n");
+        if (construction == Construction.CONSTRUCTOR) {
+            out.append("        return new ").append(entityName).append("(\n");
+            for (int i = 0; i < columns.size(); i++) {
+                out.append("                ").append(read(columns.get(i), i + 1))
+                        .append(i < columns.size() - 1 ? ",\n" : ");\n");
+            }
+        } else {
+            out.append("        ").append(entityName).append(" entity = new ").append(entityName).append("();\n");
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnModel col = columns.get(i);
+                out.append("        entity.set").append(EntityBinderProcessor.capitalize(col.fieldName()))
+                        .append("(").append(read(col, i + 1)).append(");\n");
+            }
+            out.append("        return entity;\n");
+        }
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Renders {@code bindInsert}, setting each insert column with its typed setter, or delegating to the
+     * reflective binder if a column has no getter.
+     *
+     * @param out the source being built
+     * @param insertColumns the non primary key columns
+     */
+    private void renderBindInsert(StringBuilder out, List<ColumnModel> insertColumns) {
+        out.append("    @Override\n")
+                .append("    public int bindInsert(PreparedStatement ps, int index, ").append(entityName)
+                .append(" entity) throws SQLException {\n");
+        if (insertColumns.stream().anyMatch(col -> col.accessor() == null)) {
+            delegate(out, "bindInsert(ps, index, entity)");
+        } else {
+            for (int i = 0; i < insertColumns.size(); i++) {
+                ColumnModel col = insertColumns.get(i);
+                String jdbcType = JDBC_TYPES.get(col.javaType());
+                out.append("        ps.set").append(jdbcType != null ? jdbcType : "Object")
+                        .append("(index + ").append(i).append(", entity.").append(col.accessor()).append("());\n");
+            }
+            out.append("        return index + ").append(insertColumns.size()).append(";\n");
+        }
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Renders {@code getPrimaryKey}, delegating to the reflective binder if the key has no getter.
+     *
+     * @param out the source being built
+     * @param primaryKey the primary key column, or {@code null} if there is none
+     */
+    private void renderGetPrimaryKey(StringBuilder out, ColumnModel primaryKey) {
+        out.append("    @Override\n")
+                .append("    public Object getPrimaryKey(").append(entityName).append(" entity) {\n");
+        if (primaryKey == null || primaryKey.accessor() == null) {
+            delegate(out, "getPrimaryKey(entity)");
+        } else {
+            out.append("        return entity.").append(primaryKey.accessor()).append("();\n");
+        }
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Renders {@code withPrimaryKey}: through the key's setter when there is one, otherwise by calling
+     * the all-columns constructor with the entity's other values, as for records, otherwise by delegating
+     * to the reflective binder.
+     *
+     * @param out the source being built
+     * @param primaryKey the primary key column, or {@code null} if there is none
+     */
+    private void renderWithPrimaryKey(StringBuilder out, ColumnModel primaryKey) {
+        out.append("    @Override\n")
+                .append("    public ").append(entityName).append(" withPrimaryKey(").append(entityName)
+                .append(" entity, Object key) {\n");
+        if (primaryKey != null && primaryKey.setter() != null) {
+            out.append("        entity.").append(primaryKey.setter()).append("(").append(convertKey(primaryKey)).append(");\n")
+                    .append("        return entity;\n");
+        } else if (primaryKey != null && construction == Construction.CONSTRUCTOR
+                && columns.stream().allMatch(col -> col.primaryKey() || col.accessor() != null)) {
+            out.append("        return new ").append(entityName).append("(\n");
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnModel col = columns.get(i);
+                out.append("                ").append(col.primaryKey() ? convertKey(col) : "entity." + col.accessor() + "()")
+                        .append(i < columns.size() - 1 ? ",\n" : ");\n");
+            }
+        } else {
+            delegate(out, "withPrimaryKey(entity, key)");
+        }
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Renders {@code copy}: records are immutable and returned as is, other entities are rebuilt the way rows
+     * are mapped from the values of their getters, or copied by the reflective binder if a column has no getter.
+     *
+     * @param out the source being built
+     */
+    private void renderCopy(StringBuilder out) {
+        out.append("    @Override\n")
+                .append("    public ").append(entityName).append(" copy(").append(entityName).append(" entity) {\n");
+        if (record) {
+            out.append("        return entity;\n");
+        } else if (columns.stream().anyMatch(col -> col.accessor() == null)) {
+            delegate(out, "copy(entity)");
+        } else if (construction == Construction.CONSTRUCTOR) {
+            out.append("        return new ").append(entityName).append("(\n");
+            for (int i = 0; i < columns.size(); i++) {
+                out.append("                entity.").append(columns.get(i).accessor()).append("()")
+                        .append(i < columns.size() - 1 ? ",\n" : ");\n");
+            }
+        } else {
+            out.append("        ").append(entityName).append(" copy = new ").append(entityName).append("();\n");
+            for (ColumnModel col : columns) {
+                out.append("        copy.").append(col.setter()).append("(entity.").append(col.accessor()).append("());\n");
+            }
+            out.append("        return copy;\n");
+        }
+        out.append("    }\n");
+    }
+
+    /**
+     * Builds the expression converting the generated key to the type of the primary key field.
+     *
+     * @param primaryKey the primary key column
+     * @return the Java expression
+     */
+    private static String convertKey(ColumnModel primaryKey) {
+        return switch (primaryKey.javaType()) {
+            case "int", "java.lang.Integer" -> "((Number) key).intValue()";
+            case "long", "java.lang.Long" -> "((Number) key).longValue()";
+            default -> "(" + primaryKey.javaType() + ") key";
+        };
+    }
+
+    /**
+     * Builds the expression reading one column from the result set.
+     *
+     * @param col the column
+     * @param index the 1-based column index
+     * @return the Java expression
+     */
+    private static String read(ColumnModel col, int index) {
+        String jdbcType = JDBC_TYPES.get(col.javaType());
+        if (jdbcType != null) {
+            return "rs.get" + jdbcType + "(" + index + ")";
+        }
+        return "rs.getObject(" + index + ", " + col.javaType() + ".class)";
+    }
+
+    /**
+     * Renders a method body delegating to the entity's reflective binder, for methods that cannot be
+     * generated from the entity's public API.
+     *
+     * @param out the source being built
+     * @param call the method call to delegate, e.g. {@code getPrimaryKey(entity)}
+     */
+    private void delegate(StringBuilder out, String call) {
+        out.append("        return app.dao.mapping.EntityBinders.reflective(").append(entityName).append(".class).")
+                .append(call).append(";\n");
+    }
+}
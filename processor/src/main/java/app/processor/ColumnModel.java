@@ -0,0 +1,19 @@
+package app.processor;
+
+/**
+ * Compile-time view of a field annotated with {@code @Column}, limited to what the generated binder needs
+ * to map and bind the field.
+ *
+ * @param fieldName the name of the entity field
+ * @param javaType the fully qualified (erased) Java type of the field, or the primitive type name
+ * @param primaryKey whether the column is the primary key
+ * @param accessor the name of the no-argument method returning the field value, or {@code null} if there is none
+ * @param setter the name of the one-argument method assigning the field value, or {@code null} if there is none
+ */
+record ColumnModel(
+        String fieldName,
+        String javaType,
+        boolean primaryKey,
+        String accessor,
+        String setter
+) {}
@@ -0,0 +1,272 @@
+package app.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating an {@code EntityBinder} for every class annotated with {@code @Table}.
+ * <p>
+ * For an entity {@code app.model.Client} it writes {@code app.model.Client_Binder}, which maps rows with
+ * typed, index-based {@code ResultSet} getters and binds insert parameters with typed
+ * {@code PreparedStatement} setters, all without reflection. Methods needing a value the entity does not
+ * expose through a getter or setter delegate to the runtime binder.
+ * <p>
+ * Rows are mapped through the record's canonical constructor, through a constructor whose parameter names
+ * are the column fields in declaration order, or through a no-argument constructor followed by
+ * {@code setX} calls. Values are read through record accessors or {@code getX}/{@code isX} getters.
+ * Entities supporting none of these are skipped with a note and keep using the runtime binder.
+ * <p>
+ * The processor reads the annotations by name, so it does not depend on the application classes.
+ */
+@SupportedAnnotationTypes(EntityBinderProcessor.TABLE_ANNOTATION)
+public class EntityBinderProcessor extends AbstractProcessor {
+
+    /**
+     * Fully qualified name of the table annotation.
+     */
+    static final String TABLE_ANNOTATION = "app.annotations.Table";
+
+    /**
+     * Fully qualified name of the column annotation.
+     */
+    static final String COLUMN_ANNOTATION = "app.annotations.Column";
+
+    /**
+     * Suffix of the generated binder classes, matching the one looked up at runtime.
+     */
+    static final String BINDER_SUFFIX = "_Binder";
+
+    /**
+     * Default constructor, used by the compiler's service loader.
+     */
+    public EntityBinderProcessor() {}
+
+    /**
+     * Supports the latest source version of the running compiler.
+     *
+     * @return the latest supported source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Generates a binder for each {@code @Table} entity of the round.
+     *
+     * @param annotations the annotation types requested to be processed
+     * @param roundEnv environment for information about the current round
+     * @return {@code false}, the annotations are left for other processors
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Analyses an entity and writes its binder source file.
+     *
+     * @param entity the entity type
+     */
+    private void generate(TypeElement entity) {
+        Map<String, Object> table = annotationValues(entity, TABLE_ANNOTATION);
+        List<ColumnModel> columns = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            Map<String, Object> column = annotationValues(field, COLUMN_ANNOTATION);
+            if (column != null) {
+                String fieldName = field.getSimpleName().toString();
+                String javaType = typeName(field.asType());
+                columns.add(new ColumnModel(
+                        fieldName,
+                        javaType,
+                        (Boolean) column.get("primaryKey"),
+                        findAccessor(entity, field),
+                        hasSetter(entity, fieldName, javaType) ? "set" + capitalize(fieldName) : null));
+            }
+        }
+
+        BinderSource.Construction construction = construction(entity, columns);
+        if (construction == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No constructor or setters usable to map " + entity.getSimpleName()
+                            + "; the runtime binder will be used", entity);
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String binderName = entity.getSimpleName() + BINDER_SUFFIX;
+        BinderSource source = new BinderSource(packageName, entity.getSimpleName().toString(), binderName,
+                (String) table.get("name"), columns, construction,
+                entity.getKind() == ElementKind.RECORD);
+
+        String qualifiedName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.render());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + qualifiedName + ": " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * Chooses how rows are turned into entity instances.
+     *
+     * @param entity the entity type
+     * @param columns the entity's columns
+     * @return the construction strategy, or {@code null} if the entity cannot be built without reflection
+     */
+    private BinderSource.Construction construction(TypeElement entity, List<ColumnModel> columns) {
+        List<String> fieldNames = columns.stream().map(ColumnModel::fieldName).toList();
+
+        if (entity.getKind() == ElementKind.RECORD) {
+            List<String> components = entity.getRecordComponents().stream()
+                    .map(RecordComponentElement::getSimpleName)
+                    .map(Object::toString)
+                    .toList();
+            return components.equals(fieldNames) ? BinderSource.Construction.CONSTRUCTOR : null;
+        }
+
+        boolean hasNoArgConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            List<String> parameters = constructor.getParameters().stream()
+                    .map(parameter -> parameter.getSimpleName().toString())
+                    .toList();
+            List<String> parameterTypes = constructor.getParameters().stream()
+                    .map(parameter -> typeName(parameter.asType()))
+                    .toList();
+            if (parameters.equals(fieldNames)
+                    && parameterTypes.equals(columns.stream().map(ColumnModel::javaType).toList())) {
+                return BinderSource.Construction.CONSTRUCTOR;
+            }
+            hasNoArgConstructor |= parameters.isEmpty();
+        }
+
+        if (hasNoArgConstructor && columns.stream().allMatch(col -> col.setter() != null)) {
+            return BinderSource.Construction.SETTERS;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the entity declares a non-private {@code setX} method for a field.
+     *
+     * @param entity the entity type
+     * @param fieldName the name of the field
+     * @param javaType the type name of the field
+     * @return true if the setter exists
+     */
+    private boolean hasSetter(TypeElement entity, String fieldName, String javaType) {
+        String setter = "set" + capitalize(fieldName);
+        return ElementFilter.methodsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(method -> method.getSimpleName().contentEquals(setter)
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && method.getParameters().size() == 1
+                        && typeName(method.getParameters().get(0).asType()).equals(javaType));
+    }
+
+    /**
+     * Finds the method returning the value of a field: the record accessor, {@code getX} or {@code isX}.
+     *
+     * @param entity the entity type
+     * @param field the field
+     * @return the accessor name, or {@code null} if there is none
+     */
+    private String findAccessor(TypeElement entity, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        List<String> candidates = entity.getKind() == ElementKind.RECORD
+                ? List.of(name)
+                : List.of("get" + capitalize(name), "is" + capitalize(name));
+
+        for (ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+            if (candidates.contains(method.getSimpleName().toString())
+                    && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                return method.getSimpleName().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the values, including defaults, of an annotation present on an element.
+     *
+     * @param element the annotated element
+     * @param annotationName the fully qualified annotation name
+     * @return the values by element name, or {@code null} if the annotation is absent
+     */
+    private Map<String, Object> annotationValues(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                Map<String, Object> values = new HashMap<>();
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                    values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+                }
+                return values;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name used for a type in generated code: primitive names as is, reference types fully qualified and erased.
+     *
+     * @param type the type
+     * @return the type name
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Upper-cases the first character of a name.
+     *
+     * @param name the name
+     * @return the capitalized name
+     */
+    static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,71 @@
+package app.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a database index of an entity's table.
+ * <p>
+ * Placed on a {@link Column} field, it indexes that single column and {@link #columns()} is left empty.
+ * Indexes over several columns are listed in {@link Table#indexes()} with their columns in index order.
+ * An index can also cover an SQL {@link #expression()} instead of columns, and use another access
+ * {@link #method()} than B-tree, e.g. a trigram GIN index serving {@code ILIKE '%...%'} searches.
+ * The index is created with {@code CREATE INDEX IF NOT EXISTS} together with the table.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Index {
+
+    /**
+     * The name of the index.
+     * Defaults to an empty string, in which case the name is derived from the table and column names.
+     *
+     * @return the index name
+     */
+    String name() default "";
+
+    /**
+     * The names of the indexed columns, in index order.
+     * Defaults to an empty array, which is only allowed on a field and then indexes the field's column.
+     *
+     * @return the indexed column names
+     */
+    String[] columns() default {};
+
+    /**
+     * Whether the index enforces unique values.
+     * Defaults to {@code false}.
+     *
+     * @return true for a unique index
+     */
+    boolean unique() default false;
+
+    /**
+     * The SQL predicate of a partial index, restricting the index to the rows it matches.
+     * Defaults to an empty string, indexing every row.
+     *
+     * @return the predicate of the {@code WHERE} clause
+     */
+    String where() default "";
+
+    /**
+     * The index access method, e.g. {@code gin}.
+     * Defaults to an empty string, using the database's default method, B-tree.
+     *
+     * @return the access method
+     */
+    String method() default "";
+
+    /**
+     * The SQL indexed instead of columns, e.g. {@code (first_name || ' ' || last_name) gin_trgm_ops}: a column or
+     * a parenthesized expression, optionally followed by an operator class. Queries only use the index if they
+     * repeat the expression exactly.
+     * Defaults to an empty string, indexing the {@link #columns()}. If set, {@link #columns()} must be empty
+     * and {@link #name()} must be given.
+     *
+     * @return the indexed expression
+     */
+    String expression() default "";
+}
@@ -21,5 +21,23 @@ public @interface Table {
      * @return the table name
      */
     String name();
+
+    /**
+     * The indexes of the table that span several columns or cover an expression; single-column indexes
+     * can also be declared with {@link Index} on the column's field.
+     * Defaults to an empty array.
+     *
+     * @return the table's indexes
+     */
+    Index[] indexes() default {};
+
+    /**
+     * The PostgreSQL extensions the table's indexes depend on, e.g. {@code pg_trgm} for trigram indexes.
+     * They are created with {@code CREATE EXTENSION IF NOT EXISTS} before the indexes.
+     * Defaults to an empty array.
+     *
+     * @return the extension names
+     */
+    String[] extensions() default {};
 }
 
@@ -5,10 +5,14 @@ import app.bll.exceptions.InvalidEmailException;
 import app.bll.validators.AddressValidator;
 import app.bll.validators.EmailValidator;
 import app.bll.validators.Validator;
+import app.cache.EntityCaches;
 import app.dao.ClientDAO;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
 import app.model.Client;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -27,6 +31,24 @@ public class ClientBLL {
      */
     private static final Logger LOGGER = Logger.getLogger(ClientBLL.class.getName());
 
+    /**
+     * Maximum number of clients kept in the entity cache.
+     * Can be overridden with the {@code app.cache.client.maxSize} system property; {@code 0} disables the cache.
+     */
+    private static final int CACHE_MAX_SIZE = Integer.getInteger("app.cache.client.maxSize", 10_000);
+
+    /**
+     * Time, in milliseconds, after which a cached client is reloaded from the database.
+     * Can be overridden with the {@code app.cache.client.ttlMs} system property.
+     */
+    private static final long CACHE_TTL_MS = Long.getLong("app.cache.client.ttlMs", 300_000L);
+
+    static {
+        if (CACHE_MAX_SIZE > 0) {
+            EntityCaches.enable(Client.class, CACHE_MAX_SIZE, Duration.ofMillis(CACHE_TTL_MS));
+        }
+    }
+
     /**
      * Data Access Object used to perform database operations related to clients.
      */
@@ -104,6 +126,22 @@ public class ClientBLL {
         }
     }
 
+    /**
+     * Retrieves one page of clients ordered by ID.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of clients of the page
+     * @return the page of clients, or an empty page if an error occurs
+     */
+    public Page<Client> findClientsPage(PageCursor after, int limit) {
+        try {
+            return clientDAO.findPage(after, limit);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving clients page", e);
+            return Page.empty();
+        }
+    }
+
     /**
      * Updates an existing client after validation.
      *
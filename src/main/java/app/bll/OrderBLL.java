@@ -1,6 +1,9 @@
 package app.bll;
 
 import app.dao.OrderDAO;
+import app.dao.OrderQuery;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
 import app.model.Order;
 import app.model.OrderDetails;
 
@@ -100,16 +103,35 @@ public class OrderBLL {
     }
 
     /**
-     * Retrieves the ID of the last inserted order.
+     * Retrieves one page of detailed orders ordered by order ID.
      *
-     * @return the ID of the last inserted order, or 0 if an error occurs
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @return the page of detailed orders, or an empty page if an error occurs
      */
-    public int getLastId() {
-        try{
-            return orderDAO.getLastId();
+    public Page<OrderDetails> getDetailedOrdersPage(PageCursor after, int limit) {
+        try {
+            return orderDAO.getDetailedOrdersPage(after, limit, null);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving order details page", e);
+            return Page.empty();
+        }
+    }
+
+    /**
+     * Retrieves one page of the detailed orders matching a query.
+     *
+     * @param query the filter and sort specification
+     * @param after the cursor returned with the previous page of the same query, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @return the page of detailed orders, or an empty page if an error occurs
+     */
+    public Page<OrderDetails> getDetailedOrdersPage(OrderQuery query, PageCursor after, int limit) {
+        try {
+            return orderDAO.getDetailedOrdersPage(query, after, limit);
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error receiving order details", e);
-            return 0;
+            LOGGER.log(Level.SEVERE, "Error retrieving order details page", e);
+            return Page.empty();
         }
     }
 }
\ No newline at end of file
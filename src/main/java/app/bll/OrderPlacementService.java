@@ -0,0 +1,171 @@
+package app.bll;
+
+import app.bll.exceptions.InsufficientStockException;
+import app.bll.exceptions.ProductNotFoundException;
+import app.cache.ChangeBus;
+import app.cache.EntityCaches;
+import app.cache.TableChange;
+import app.connection.DbConnection;
+import app.dao.BillDAO;
+import app.dao.OrderDAO;
+import app.dao.ProductDAO;
+import app.dao.StockUpdateResult;
+import app.metrics.OrderCounters;
+import app.metrics.OrderPhaseEvent;
+import app.metrics.OrderPlacementEvent;
+import app.model.Bill;
+import app.model.Client;
+import app.model.Order;
+import app.model.Product;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Business Logic Layer service placing orders.
+ * <p>
+ * Decreasing the product stock, inserting the order and inserting its bill happen on one connection
+ * in one transaction: either all three are stored or none is. The order's ID is taken from its own
+ * INSERT, so the bill always refers to the order just placed, even while other orders are inserted.
+ * The total price is computed from the price returned by the stock update, not from the caller's possibly
+ * stale or cached {@link Product}, so the order and bill always use the price in effect when the stock is taken.
+ * <p>
+ * Once committed, the stock update and the new order and bill are published on the {@link ChangeBus}.
+ * <p>
+ * The outcome of every placement is counted in {@link OrderCounters}. Each placement is also recorded as an
+ * {@link OrderPlacementEvent}, and each of its phases as an {@link OrderPhaseEvent}, while a Flight Recorder
+ * recording is running. A phase that throws is still recorded, marked as failed, so slow failures show up too.
+ */
+public class OrderPlacementService {
+
+    /**
+     * Logger instance for capturing runtime events or errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OrderPlacementService.class.getName());
+
+    /**
+     * Data Access Object used to decrease the product stock.
+     */
+    private final ProductDAO productDAO;
+
+    /**
+     * Data Access Object used to insert orders.
+     */
+    private final OrderDAO orderDAO;
+
+    /**
+     * Data Access Object used to insert bills.
+     */
+    private final BillDAO billDAO;
+
+    /**
+     * Constructs a new {@code OrderPlacementService} instance and initializes its DAOs.
+     */
+    public OrderPlacementService() {
+        this.productDAO = new ProductDAO();
+        this.orderDAO = new OrderDAO();
+        this.billDAO = new BillDAO();
+    }
+
+    /**
+     * Places an order of a product for a client and bills it.
+     * The total price is the product's current price, read while decreasing its stock, multiplied by the quantity.
+     *
+     * @param client the client placing the order
+     * @param product the ordered product
+     * @param quantity the ordered quantity
+     * @return the stored order and bill
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @throws InsufficientStockException if the product does not have enough stock; nothing is stored
+     * @throws ProductNotFoundException if the product no longer exists; nothing is stored
+     * @throws SQLException if a database access error occurs, including a {@link java.sql.SQLTimeoutException} when
+     *                      no pooled connection becomes free in time; nothing is stored
+     */
+    public PlacedOrder placeOrder(Client client, Product product, int quantity) throws SQLException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero.");
+        }
+        Timestamp orderDate = Timestamp.valueOf(LocalDateTime.now());
+        PlacedOrder placed;
+        OrderPlacementEvent event = OrderPlacementEvent.start(client.getId(), product.getId(), quantity);
+
+        try (Connection con = DbConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                StockUpdateResult stock;
+                OrderPhaseEvent phase = OrderPhaseEvent.start(OrderPhaseEvent.STOCK_CHECK, product.getId());
+                try {
+                    stock = productDAO.decreaseStock(con, product.getId(), quantity);
+                    phase.succeeded = true;
+                } finally {
+                    phase.commit();
+                }
+                event.stockStatus = stock.status().name();
+                switch (stock.status()) {
+                    case INSUFFICIENT_STOCK -> {
+                        OrderCounters.insufficientStock();
+                        throw new InsufficientStockException(
+                                "Not enough stock. Available stock: " + stock.stock(), stock.stock());
+                    }
+                    case NOT_FOUND -> {
+                        OrderCounters.productNotFound();
+                        throw new ProductNotFoundException(
+                                "Product with ID " + product.getId() + " does not exist.");
+                    }
+                    default -> { }
+                }
+                double totalPrice = stock.price() * quantity;
+
+                Order order;
+                phase = OrderPhaseEvent.start(OrderPhaseEvent.INSERT_ORDER, product.getId());
+                try {
+                    order = orderDAO.insert(con,
+                            new Order(client.getId(), product.getId(), quantity, totalPrice, orderDate));
+                    phase.succeeded = true;
+                } finally {
+                    phase.commit();
+                }
+
+                Bill bill;
+                phase = OrderPhaseEvent.start(OrderPhaseEvent.INSERT_BILL, product.getId());
+                try {
+                    bill = billDAO.insert(con, new Bill(null, order.getId(), totalPrice, orderDate));
+                    phase.succeeded = true;
+                } finally {
+                    phase.commit();
+                }
+
+                phase = OrderPhaseEvent.start(OrderPhaseEvent.COMMIT, product.getId());
+                try {
+                    con.commit();
+                    phase.succeeded = true;
+                } finally {
+                    phase.commit();
+                }
+                placed = new PlacedOrder(order, bill);
+                event.placed = true;
+                OrderCounters.placed();
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            OrderCounters.failed(e);
+            LOGGER.log(Level.SEVERE, "Error placing order of product " + product.getId() + " for client " + client.getId(), e);
+            throw e;
+        } finally {
+            // evict again once the transaction is over, so a reader that loaded the row before the commit
+            // cannot leave the old stock in the cache
+            EntityCaches.regionOf(Product.class).invalidate(product.getId());
+            event.commit();
+        }
+        ChangeBus.publish(TableChange.of(Product.class, TableChange.Operation.UPDATE, product.getId(), null));
+        ChangeBus.publish(TableChange.of(Order.class, TableChange.Operation.INSERT, placed.order().getId(), placed.order()));
+        ChangeBus.publish(TableChange.of(Bill.class, TableChange.Operation.INSERT, placed.bill().id(), placed.bill()));
+        return placed;
+    }
+}
@@ -0,0 +1,15 @@
+package app.bll;
+
+import app.model.Bill;
+import app.model.Order;
+
+/**
+ * An order placed by {@link OrderPlacementService} together with its bill.
+ *
+ * @param order the stored order, with its generated ID
+ * @param bill the stored bill of the order, with its generated ID
+ */
+public record PlacedOrder(
+        Order order,
+        Bill bill
+) {}
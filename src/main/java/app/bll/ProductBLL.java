@@ -1,10 +1,16 @@
 package app.bll;
 
+import app.cache.EntityCaches;
 import app.dao.ProductDAO;
+import app.dao.StockUpdateResult;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
 import app.model.Product;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,6 +26,24 @@ public class ProductBLL {
      */
     private static final Logger LOGGER = Logger.getLogger(ProductBLL.class.getName());
 
+    /**
+     * Maximum number of products kept in the entity cache.
+     * Can be overridden with the {@code app.cache.product.maxSize} system property; {@code 0} disables the cache.
+     */
+    private static final int CACHE_MAX_SIZE = Integer.getInteger("app.cache.product.maxSize", 10_000);
+
+    /**
+     * Time, in milliseconds, after which a cached product is reloaded from the database.
+     * Can be overridden with the {@code app.cache.product.ttlMs} system property.
+     */
+    private static final long CACHE_TTL_MS = Long.getLong("app.cache.product.ttlMs", 300_000L);
+
+    static {
+        if (CACHE_MAX_SIZE > 0) {
+            EntityCaches.enable(Product.class, CACHE_MAX_SIZE, Duration.ofMillis(CACHE_TTL_MS));
+        }
+    }
+
     /**
      * Data Access Object used to perform database operations related to products.
      */
@@ -85,6 +109,22 @@ public class ProductBLL {
         }
     }
 
+    /**
+     * Retrieves one page of products ordered by ID.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of products of the page
+     * @return the page of products, or an empty page if an error occurs
+     */
+    public Page<Product> findProductsPage(PageCursor after, int limit) {
+        try {
+            return productDAO.findPage(after, limit);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving products page", e);
+            return Page.empty();
+        }
+    }
+
     /**
      * Updates an existing product.
      *
@@ -114,18 +154,37 @@ public class ProductBLL {
     }
 
     /**
-     * Decreases the stock value of a product given by ID.
+     * Decreases the stock value of a product given by ID, if enough stock is available.
      *
      * @param productId the id of the product
      * @param quantity the quantity by which the stock will be decreased
+     * @return the outcome of the decrement, or {@code null} if a database error occurs
      */
-    public void decreaseStock(int productId, int quantity) {
+    public StockUpdateResult decreaseStock(int productId, int quantity) {
         try {
-            productDAO.decreaseStock(productId, quantity);
+            StockUpdateResult result = productDAO.decreaseStock(productId, quantity);
+            if (!result.isSuccess()) {
+                LOGGER.warning(String.format("Stock of product %d not decreased: %s", productId, result.status()));
+            }
+            return result;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error decreasing product stock for product with ID: " + productId, e);
-        } catch (IllegalStateException e) {
-            LOGGER.log(Level.SEVERE, "Not enough stock available!");
+            return null;
+        }
+    }
+
+    /**
+     * Decreases the stock of all products of a basket, only if every product has enough stock.
+     *
+     * @param quantities the quantity to remove by product ID
+     * @return the outcome of every product of the basket, or an empty list if a database error occurs
+     */
+    public List<StockUpdateResult> decreaseStock(Map<Integer, Integer> quantities) {
+        try {
+            return productDAO.decreaseStock(quantities);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error decreasing product stock for basket: " + quantities, e);
+            return List.of();
         }
     }
 }
\ No newline at end of file
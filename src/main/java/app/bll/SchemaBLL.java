@@ -0,0 +1,35 @@
+package app.bll;
+
+import app.dao.BillDAO;
+import app.dao.ClientDAO;
+import app.dao.OrderDAO;
+import app.dao.ProductDAO;
+
+import java.sql.SQLException;
+
+/**
+ * Business Logic Layer for creating the database schema.
+ * <p>
+ * The tables are created one after the other, in dependency order: clients and products before the
+ * orders referencing them, and orders before the bills logged for them. Creating them from a single
+ * thread also keeps the shared trigger functions from being replaced concurrently.
+ */
+public final class SchemaBLL {
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private SchemaBLL() {}
+
+    /**
+     * Creates every table that does not already exist, together with its indexes and triggers.
+     *
+     * @throws SQLException if a table cannot be created
+     */
+    public static void createTables() throws SQLException {
+        new ClientDAO().createTableIfNotExists();
+        new ProductDAO().createTableIfNotExists();
+        new OrderDAO().createTableIfNotExists();
+        new BillDAO().createTableIfNotExists();
+    }
+}
@@ -0,0 +1,71 @@
+package app.bll.async;
+
+import app.bll.BillBLL;
+import app.model.Bill;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over {@link BillBLL}.
+ * <p>
+ * Each method runs the corresponding {@link BillBLL} method on the {@link DbTaskExecutor} and returns a
+ * future of its result; errors that {@link BillBLL} reports by throwing complete the future exceptionally.
+ */
+public class AsyncBillBLL {
+
+    /**
+     * The wrapped blocking business logic.
+     */
+    private final BillBLL billBLL;
+
+    /**
+     * Constructs a facade over a new {@link BillBLL}.
+     */
+    public AsyncBillBLL() {
+        this(new BillBLL());
+    }
+
+    /**
+     * Constructs a facade over the given {@link BillBLL}.
+     *
+     * @param billBLL the blocking business logic
+     */
+    public AsyncBillBLL(BillBLL billBLL) {
+        this.billBLL = billBLL;
+    }
+
+    /**
+     * Creates the bills table in the database if it does not exist.
+     *
+     * @return a future completed once the table exists
+     */
+    public CompletableFuture<Void> createTable() {
+        return DbTaskExecutor.supply(() -> {
+            billBLL.createTable();
+            return null;
+        });
+    }
+
+    /**
+     * Stores a bill.
+     *
+     * @param bill the bill to store
+     * @return a future completed once the bill is stored, or exceptionally if storing it fails
+     */
+    public CompletableFuture<Void> generateBill(Bill bill) {
+        return DbTaskExecutor.supply(() -> {
+            billBLL.generateBill(bill);
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves the bill of an order.
+     *
+     * @param id the order's ID
+     * @return a future of the bill, or of {@code null} if not found or an error occurs
+     */
+    public CompletableFuture<Bill> getBillByOrderId(int id) {
+        return DbTaskExecutor.supply(() -> billBLL.getBillByOrderId(id));
+    }
+}
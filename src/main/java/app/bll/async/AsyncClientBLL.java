@@ -0,0 +1,122 @@
+package app.bll.async;
+
+import app.bll.ClientBLL;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.model.Client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over {@link ClientBLL}.
+ * <p>
+ * Each method runs the corresponding {@link ClientBLL} method on the {@link DbTaskExecutor} and returns a
+ * future of its result; errors that {@link ClientBLL} reports by throwing complete the future exceptionally.
+ */
+public class AsyncClientBLL {
+
+    /**
+     * The wrapped blocking business logic.
+     */
+    private final ClientBLL clientBLL;
+
+    /**
+     * Constructs a facade over a new {@link ClientBLL}.
+     */
+    public AsyncClientBLL() {
+        this(new ClientBLL());
+    }
+
+    /**
+     * Constructs a facade over the given {@link ClientBLL}.
+     *
+     * @param clientBLL the blocking business logic
+     */
+    public AsyncClientBLL(ClientBLL clientBLL) {
+        this.clientBLL = clientBLL;
+    }
+
+    /**
+     * Creates the clients table in the database if it does not exist.
+     *
+     * @return a future completed once the table exists
+     */
+    public CompletableFuture<Void> createTable() {
+        return DbTaskExecutor.supply(() -> {
+            clientBLL.createTable();
+            return null;
+        });
+    }
+
+    /**
+     * Validates and inserts a client.
+     *
+     * @param client the client to insert
+     * @return a future completed once the client is inserted, or exceptionally with an
+     *         {@link IllegalArgumentException} if validation fails
+     */
+    public CompletableFuture<Void> insertClient(Client client) {
+        return DbTaskExecutor.supply(() -> {
+            clientBLL.insertClient(client);
+            return null;
+        });
+    }
+
+    /**
+     * Finds a client by their ID.
+     *
+     * @param id the client's ID
+     * @return a future of the found client, or of {@code null} if not found or an error occurs
+     */
+    public CompletableFuture<Client> findClientById(int id) {
+        return DbTaskExecutor.supply(() -> clientBLL.findClientById(id));
+    }
+
+    /**
+     * Retrieves all clients.
+     *
+     * @return a future of the list of all clients
+     */
+    public CompletableFuture<List<Client>> findAllClients() {
+        return DbTaskExecutor.supply(clientBLL::findAllClients);
+    }
+
+    /**
+     * Retrieves one page of clients ordered by ID.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of clients of the page
+     * @return a future of the page of clients
+     */
+    public CompletableFuture<Page<Client>> findClientsPage(PageCursor after, int limit) {
+        return DbTaskExecutor.supply(() -> clientBLL.findClientsPage(after, limit));
+    }
+
+    /**
+     * Validates and updates a client.
+     *
+     * @param client the client with updated values
+     * @return a future completed once the client is updated, or exceptionally with an
+     *         {@link IllegalArgumentException} if validation fails
+     */
+    public CompletableFuture<Void> updateClient(Client client) {
+        return DbTaskExecutor.supply(() -> {
+            clientBLL.updateClient(client);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes a client by ID.
+     *
+     * @param id the ID of the client to delete
+     * @return a future completed once the client is deleted, or exceptionally if the deletion fails
+     */
+    public CompletableFuture<Void> deleteClient(int id) {
+        return DbTaskExecutor.supply(() -> {
+            clientBLL.deleteClient(id);
+            return null;
+        });
+    }
+}
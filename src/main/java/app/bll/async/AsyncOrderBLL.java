@@ -0,0 +1,121 @@
+package app.bll.async;
+
+import app.bll.OrderBLL;
+import app.dao.OrderQuery;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.model.Order;
+import app.model.OrderDetails;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over {@link OrderBLL}.
+ * <p>
+ * Each method runs the corresponding {@link OrderBLL} method on the {@link DbTaskExecutor} and returns a
+ * future of its result.
+ */
+public class AsyncOrderBLL {
+
+    /**
+     * The wrapped blocking business logic.
+     */
+    private final OrderBLL orderBLL;
+
+    /**
+     * Constructs a facade over a new {@link OrderBLL}.
+     */
+    public AsyncOrderBLL() {
+        this(new OrderBLL());
+    }
+
+    /**
+     * Constructs a facade over the given {@link OrderBLL}.
+     *
+     * @param orderBLL the blocking business logic
+     */
+    public AsyncOrderBLL(OrderBLL orderBLL) {
+        this.orderBLL = orderBLL;
+    }
+
+    /**
+     * Creates the orders table in the database if it does not exist.
+     *
+     * @return a future completed once the table exists
+     */
+    public CompletableFuture<Void> createTable() {
+        return DbTaskExecutor.supply(() -> {
+            orderBLL.createTable();
+            return null;
+        });
+    }
+
+    /**
+     * Inserts an order.
+     *
+     * @param order the order to insert
+     * @return a future completed once the order is inserted
+     */
+    public CompletableFuture<Void> insertOrder(Order order) {
+        return DbTaskExecutor.supply(() -> {
+            orderBLL.insertOrder(order);
+            return null;
+        });
+    }
+
+    /**
+     * Finds an order by its ID.
+     *
+     * @param id the order's ID
+     * @return a future of the found order, or of {@code null} if not found or an error occurs
+     */
+    public CompletableFuture<Order> findOrderById(int id) {
+        return DbTaskExecutor.supply(() -> orderBLL.findOrderById(id));
+    }
+
+    /**
+     * Deletes an order by ID.
+     *
+     * @param id the ID of the order to delete
+     * @return a future completed once the order is deleted
+     */
+    public CompletableFuture<Void> deleteOrder(int id) {
+        return DbTaskExecutor.supply(() -> {
+            orderBLL.deleteOrder(id);
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves all detailed orders.
+     *
+     * @return a future of the list of all detailed orders
+     */
+    public CompletableFuture<List<OrderDetails>> getDetailedOrders() {
+        return DbTaskExecutor.supply(orderBLL::getDetailedOrders);
+    }
+
+    /**
+     * Retrieves one page of detailed orders ordered by order ID.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @return a future of the page of detailed orders
+     */
+    public CompletableFuture<Page<OrderDetails>> getDetailedOrdersPage(PageCursor after, int limit) {
+        return DbTaskExecutor.supply(() -> orderBLL.getDetailedOrdersPage(after, limit));
+    }
+
+    /**
+     * Retrieves one page of the detailed orders matching a query.
+     *
+     * @param query the filter and sort specification
+     * @param after the cursor returned with the previous page of the same query, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @return a future of the page of detailed orders
+     */
+    public CompletableFuture<Page<OrderDetails>> getDetailedOrdersPage(OrderQuery query, PageCursor after, int limit) {
+        return DbTaskExecutor.supply(() -> orderBLL.getDetailedOrdersPage(query, after, limit));
+    }
+}
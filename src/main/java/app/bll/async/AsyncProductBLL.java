@@ -0,0 +1,143 @@
+package app.bll.async;
+
+import app.bll.ProductBLL;
+import app.dao.StockUpdateResult;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.model.Product;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over {@link ProductBLL}.
+ * <p>
+ * Each method runs the corresponding {@link ProductBLL} method on the {@link DbTaskExecutor} and returns a
+ * future of its result; errors that {@link ProductBLL} reports by throwing complete the future exceptionally.
+ */
+public class AsyncProductBLL {
+
+    /**
+     * The wrapped blocking business logic.
+     */
+    private final ProductBLL productBLL;
+
+    /**
+     * Constructs a facade over a new {@link ProductBLL}.
+     */
+    public AsyncProductBLL() {
+        this(new ProductBLL());
+    }
+
+    /**
+     * Constructs a facade over the given {@link ProductBLL}.
+     *
+     * @param productBLL the blocking business logic
+     */
+    public AsyncProductBLL(ProductBLL productBLL) {
+        this.productBLL = productBLL;
+    }
+
+    /**
+     * Creates the products table in the database if it does not exist.
+     *
+     * @return a future completed once the table exists
+     */
+    public CompletableFuture<Void> createTable() {
+        return DbTaskExecutor.supply(() -> {
+            productBLL.createTable();
+            return null;
+        });
+    }
+
+    /**
+     * Inserts a product.
+     *
+     * @param product the product to insert
+     * @return a future completed once the product is inserted
+     */
+    public CompletableFuture<Void> insertProduct(Product product) {
+        return DbTaskExecutor.supply(() -> {
+            productBLL.insertProduct(product);
+            return null;
+        });
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param id the product's ID
+     * @return a future of the found product, or of {@code null} if not found or an error occurs
+     */
+    public CompletableFuture<Product> findProductById(int id) {
+        return DbTaskExecutor.supply(() -> productBLL.findProductById(id));
+    }
+
+    /**
+     * Retrieves all products.
+     *
+     * @return a future of the list of all products
+     */
+    public CompletableFuture<List<Product>> findAllProducts() {
+        return DbTaskExecutor.supply(productBLL::findAllProducts);
+    }
+
+    /**
+     * Retrieves one page of products ordered by ID.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of products of the page
+     * @return a future of the page of products
+     */
+    public CompletableFuture<Page<Product>> findProductsPage(PageCursor after, int limit) {
+        return DbTaskExecutor.supply(() -> productBLL.findProductsPage(after, limit));
+    }
+
+    /**
+     * Updates a product.
+     *
+     * @param product the product with updated values
+     * @return a future completed once the product is updated
+     */
+    public CompletableFuture<Void> updateProduct(Product product) {
+        return DbTaskExecutor.supply(() -> {
+            productBLL.updateProduct(product);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes a product by ID.
+     *
+     * @param id the ID of the product to delete
+     * @return a future completed once the product is deleted, or exceptionally if the deletion fails
+     */
+    public CompletableFuture<Void> deleteProduct(int id) {
+        return DbTaskExecutor.supply(() -> {
+            productBLL.deleteProduct(id);
+            return null;
+        });
+    }
+
+    /**
+     * Atomically decreases the stock of a product if enough stock is available.
+     *
+     * @param productId the product's ID
+     * @param quantity the quantity to take from the stock
+     * @return a future of the outcome, or of {@code null} if an error occurs
+     */
+    public CompletableFuture<StockUpdateResult> decreaseStock(int productId, int quantity) {
+        return DbTaskExecutor.supply(() -> productBLL.decreaseStock(productId, quantity));
+    }
+
+    /**
+     * Atomically decreases the stock of several products, all or nothing.
+     *
+     * @param quantities the quantity to take from the stock of each product, by product ID
+     * @return a future of the outcome of every line
+     */
+    public CompletableFuture<List<StockUpdateResult>> decreaseStock(Map<Integer, Integer> quantities) {
+        return DbTaskExecutor.supply(() -> productBLL.decreaseStock(quantities));
+    }
+}
@@ -0,0 +1,94 @@
+package app.bll.async;
+
+import app.connection.DbConnection;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs blocking database calls on virtual threads for the asynchronous BLL facades.
+ * <p>
+ * Every call gets its own virtual thread, so callers can start any number of calls without tying up
+ * platform threads. The number of calls running at the same time is limited by a fair semaphore sized
+ * after the connection pool: a call waits on a cheap virtual thread for a permit instead of queuing
+ * for a connection, where it could hit the pool's borrow timeout.
+ */
+public final class DbTaskExecutor {
+
+    /**
+     * Maximum number of calls running at the same time.
+     * Defaults to the maximum size of the connection pool and can be overridden with the
+     * {@code app.async.maxConcurrency} system property.
+     */
+    private static final int MAX_CONCURRENCY = Integer.getInteger("app.async.maxConcurrency",
+            DbConnection.getPoolStats().maxSize());
+
+    /**
+     * Executor starting one virtual thread per call.
+     */
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-task-", 0).factory());
+
+    /**
+     * Permits of the calls currently running.
+     */
+    private static final Semaphore PERMITS = new Semaphore(MAX_CONCURRENCY, true);
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private DbTaskExecutor() {}
+
+    /**
+     * Runs a blocking call in the background.
+     *
+     * @param call the call
+     * @param <T> the type of the call's result
+     * @return a future completed with the call's result, or exceptionally with the exception it threw
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                PERMITS.acquire();
+            } catch (InterruptedException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            try {
+                future.complete(call.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                PERMITS.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns an {@link Executor} running each submitted task like {@link #supply(Callable)} does, for APIs
+     * such as {@code javafx.concurrent.Service} that take an executor.
+     *
+     * @return an executor sharing this executor's threads and concurrency limit
+     */
+    public static Executor executor() {
+        return task -> supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the maximum number of calls running at the same time.
+     *
+     * @return the concurrency limit
+     */
+    public static int getMaxConcurrency() {
+        return MAX_CONCURRENCY;
+    }
+}
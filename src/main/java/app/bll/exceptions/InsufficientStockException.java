@@ -0,0 +1,32 @@
+package app.bll.exceptions;
+
+/**
+ * Exception thrown to indicate that a product does not have enough stock for an order.
+ */
+public class InsufficientStockException extends IllegalStateException {
+
+    /**
+     * The stock available when the order was attempted.
+     */
+    private final int availableStock;
+
+    /**
+     * Constructs a new {@code InsufficientStockException} with the specified message.
+     *
+     * @param message the message explaining which product lacks stock
+     * @param availableStock the stock available when the order was attempted
+     */
+    public InsufficientStockException(String message, int availableStock) {
+        super(message);
+        this.availableStock = availableStock;
+    }
+
+    /**
+     * Gets the stock available when the order was attempted.
+     *
+     * @return the available stock
+     */
+    public int getAvailableStock() {
+        return availableStock;
+    }
+}
@@ -0,0 +1,16 @@
+package app.bll.exceptions;
+
+/**
+ * Exception thrown to indicate that an order refers to a product that does not exist.
+ */
+public class ProductNotFoundException extends IllegalArgumentException {
+
+    /**
+     * Constructs a new {@code ProductNotFoundException} with the specified message.
+     *
+     * @param message the message identifying the missing product
+     */
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,176 @@
+package app.cache;
+
+import java.util.List;
+
+/**
+ * The caches of one entity type: entities by primary key and results of queries returning lists.
+ * <p>
+ * Reads go through the region in a read-through fashion: a DAO takes a {@link #stamp()}, loads the
+ * value from the database on a miss and offers it back with that stamp. A value is only cached if no
+ * invalidation happened in between, so a load racing with a write can never cache the old row.
+ * <p>
+ * Writes invalidate the entity's entry and every cached query result, since any row change may
+ * change a listing. A region created by {@link #disabled()} caches nothing.
+ *
+ * @param <T> the entity type
+ */
+public final class CacheRegion<T> {
+
+    /**
+     * Region used for entities without a cache.
+     */
+    private static final CacheRegion<?> DISABLED = new CacheRegion<>(null, null);
+
+    /**
+     * Entities by primary key, or {@code null} if the region is disabled.
+     */
+    private final EntityCache<Object, T> entities;
+
+    /**
+     * Query results by query key, or {@code null} if the region is disabled.
+     */
+    private final EntityCache<String, List<T>> queries;
+
+    /**
+     * Number of invalidations so far, compared against the stamps of loads.
+     */
+    private long invalidations;
+
+    /**
+     * Creates a region over the given stores.
+     *
+     * @param entities the store of entities by primary key
+     * @param queries the store of query results
+     */
+    public CacheRegion(EntityCache<Object, T> entities, EntityCache<String, List<T>> queries) {
+        this.entities = entities;
+        this.queries = queries;
+    }
+
+    /**
+     * Returns the shared region caching nothing.
+     *
+     * @param <T> the entity type
+     * @return the disabled region
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CacheRegion<T> disabled() {
+        return (CacheRegion<T>) DISABLED;
+    }
+
+    /**
+     * Whether this region caches anything.
+     *
+     * @return false for the disabled region
+     */
+    public boolean isEnabled() {
+        return entities != null;
+    }
+
+    /**
+     * Takes the stamp to pass back when caching a value loaded from the database.
+     *
+     * @return the current stamp
+     */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Returns the cached entity with the given primary key.
+     *
+     * @param id the primary key
+     * @return the entity, or {@code null} if it is not cached
+     */
+    public T get(Object id) {
+        return entities == null ? null : entities.getIfPresent(id);
+    }
+
+    /**
+     * Caches an entity loaded from the database, unless an invalidation happened since the stamp was taken.
+     *
+     * @param id the primary key
+     * @param entity the loaded entity
+     * @param stamp the stamp taken before loading
+     */
+    public synchronized void put(Object id, T entity, long stamp) {
+        if (entities != null && stamp == invalidations) {
+            entities.put(id, entity);
+        }
+    }
+
+    /**
+     * Returns the cached result of a query.
+     *
+     * @param key the query key
+     * @return the rows, or {@code null} if the result is not cached
+     */
+    public List<T> getQuery(String key) {
+        return queries == null ? null : queries.getIfPresent(key);
+    }
+
+    /**
+     * Caches the result of a query loaded from the database, unless an invalidation happened since the stamp was taken.
+     *
+     * @param key the query key
+     * @param rows the loaded rows
+     * @param stamp the stamp taken before loading
+     */
+    public synchronized void putQuery(String key, List<T> rows, long stamp) {
+        if (queries != null && stamp == invalidations) {
+            queries.put(key, List.copyOf(rows));
+        }
+    }
+
+    /**
+     * Invalidates an entity that was changed or deleted, together with every cached query result.
+     *
+     * @param id the primary key of the entity
+     */
+    public synchronized void invalidate(Object id) {
+        invalidations++;
+        if (entities != null) {
+            entities.invalidate(id);
+            queries.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates every cached query result, e.g. after rows were inserted.
+     */
+    public synchronized void invalidateQueries() {
+        invalidations++;
+        if (queries != null) {
+            queries.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates everything cached in the region.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        if (entities != null) {
+            entities.invalidateAll();
+            queries.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets the statistics of the entities cached by primary key.
+     *
+     * @return the statistics, or {@code null} if the region is disabled
+     */
+    public CacheStats getEntityStats() {
+        return entities == null ? null : entities.getStats();
+    }
+
+    /**
+     * Gets the statistics of the cached query results.
+     *
+     * @return the statistics, or {@code null} if the region is disabled
+     */
+    public CacheStats getQueryStats() {
+        return queries == null ? null : queries.getStats();
+    }
+}
@@ -0,0 +1,31 @@
+package app.cache;
+
+/**
+ * Snapshot of the counters of an {@link EntityCache}.
+ *
+ * @param hitCount the number of lookups that found a value
+ * @param missCount the number of lookups that found no value, including expired ones
+ * @param evictionCount the number of entries removed to respect the size bound
+ * @param expirationCount the number of entries removed because their time to live elapsed
+ * @param size the number of cached entries
+ * @param maxSize the maximum number of cached entries
+ */
+public record CacheStats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long expirationCount,
+        int size,
+        int maxSize
+) {
+
+    /**
+     * Gets the fraction of lookups that found a value.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there was no lookup
+     */
+    public double hitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+}
@@ -0,0 +1,68 @@
+package app.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers row-level table changes to the views showing the changed tables.
+ * <p>
+ * Two sources publish here: the DAOs, right after a write of this process has been committed, with the
+ * new state of the row when they know it; and the {@link ChangeNotificationListener}, for the changes
+ * reported by the database triggers, which include those of other processes. Views apply every change
+ * to the rows they have loaded, so the same change arriving from both sources must be idempotent.
+ * <p>
+ * Changes are delivered synchronously on the publishing thread.
+ */
+public final class ChangeBus {
+
+    /**
+     * Logger instance for logging failing listeners.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ChangeBus.class.getName());
+
+    /**
+     * Listeners notified of every change.
+     */
+    private static final List<TableChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private ChangeBus() {}
+
+    /**
+     * Registers a listener notified of every table change.
+     *
+     * @param listener the listener
+     */
+    public static void subscribe(TableChangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener
+     */
+    public static void unsubscribe(TableChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Notifies every listener of a change. A failing listener is logged and does not prevent the others
+     * from being notified.
+     *
+     * @param change the change
+     */
+    public static void publish(TableChange change) {
+        for (TableChangeListener listener : LISTENERS) {
+            try {
+                listener.onTableChange(change);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error handling table change " + change, e);
+            }
+        }
+    }
+}
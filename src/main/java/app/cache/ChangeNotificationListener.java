@@ -0,0 +1,195 @@
+package app.cache;
+
+import app.connection.DbConnection;
+import app.dao.utils.DAOUtils;
+import app.dao.utils.EntityMetadata;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the entity caches of this process consistent with writes made by other processes.
+ * <p>
+ * A background thread holds a dedicated, non-pooled connection that {@code LISTEN}s on
+ * {@link DAOUtils#CHANGE_CHANNEL}. Every notification published by the change triggers evicts the
+ * affected row (updates and deletes) or the cached query results (inserts) of the table's
+ * {@link CacheRegion}, then is published on the {@link ChangeBus} so open views can refresh the affected
+ * rows instead of reloading everything.
+ * <p>
+ * If the connection drops, the listener reconnects after {@link #RETRY_DELAY_MS}. Notifications sent in
+ * the meantime are lost, so every cache is cleared and a {@link TableChange.Operation#RESYNC} change is
+ * reported once listening again.
+ */
+public final class ChangeNotificationListener {
+
+    /**
+     * Logger instance for logging listener events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ChangeNotificationListener.class.getName());
+
+    /**
+     * Maximum time, in milliseconds, to block waiting for notifications before checking for shutdown.
+     */
+    private static final int POLL_TIMEOUT_MS = 1_000;
+
+    /**
+     * Delay, in milliseconds, before reconnecting after the connection was lost.
+     */
+    private static final long RETRY_DELAY_MS = 5_000L;
+
+    /**
+     * The listening thread, or {@code null} if not started.
+     */
+    private static Thread thread;
+
+    /**
+     * Whether the listening thread should keep running.
+     */
+    private static volatile boolean running;
+
+    /**
+     * Whether the dedicated connection is currently listening.
+     */
+    private static volatile boolean connected;
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private ChangeNotificationListener() {}
+
+    /**
+     * Starts the listening thread, unless it is already running.
+     */
+    public static synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(ChangeNotificationListener::listen, "db-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the listening thread and closes its connection.
+     */
+    public static synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        thread = null;
+    }
+
+    /**
+     * Whether changes made by other processes are currently being received.
+     *
+     * @return true if the dedicated connection is listening
+     */
+    public static boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Body of the listening thread: listens, dispatches notifications and reconnects until stopped.
+     */
+    private static void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection con = DbConnection.openDedicatedConnection()) {
+                try (Statement stmt = con.createStatement()) {
+                    stmt.execute("LISTEN " + DAOUtils.CHANGE_CHANNEL);
+                }
+                connected = true;
+                // anything cached before listening may already be stale
+                EntityCaches.getRegions().values().forEach(CacheRegion::invalidateAll);
+                if (reconnecting) {
+                    dispatch(TableChange.resync());
+                }
+
+                PGConnection pgConnection = con.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        try {
+                            dispatch(TableChange.parse(notification.getParameter()));
+                        } catch (IllegalArgumentException e) {
+                            LOGGER.warning(String.format("Ignoring change notification: %s", e.getMessage()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    LOGGER.log(Level.WARNING, "Change notification connection lost, retrying", e);
+                }
+            } finally {
+                connected = false;
+            }
+
+            reconnecting = true;
+            try {
+                Thread.sleep(RETRY_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts the cache entries affected by a change and publishes it on the {@link ChangeBus}.
+     *
+     * @param change the change
+     */
+    private static void dispatch(TableChange change) {
+        for (Map.Entry<Class<?>, CacheRegion<?>> entry : EntityCaches.getRegions().entrySet()) {
+            EntityMetadata<?> metadata = EntityMetadata.of(entry.getKey());
+            if (change.affects(metadata.getTableName())) {
+                evict(entry.getValue(), metadata, change);
+            }
+        }
+        ChangeBus.publish(change);
+    }
+
+    /**
+     * Evicts the entries of one region affected by a change.
+     *
+     * @param region the region of the changed table
+     * @param metadata the metadata of the region's entity
+     * @param change the change
+     */
+    private static void evict(CacheRegion<?> region, EntityMetadata<?> metadata, TableChange change) {
+        switch (change.operation()) {
+            case UPDATE, DELETE -> region.invalidate(toKey(metadata, change.id()));
+            case INSERT -> region.invalidateQueries();
+            default -> region.invalidateAll();
+        }
+    }
+
+    /**
+     * Converts the textual primary key of a notification to the type the entity's cache is keyed by.
+     *
+     * @param metadata the metadata of the entity
+     * @param id the primary key as text
+     * @return the primary key
+     */
+    private static Object toKey(EntityMetadata<?> metadata, String id) {
+        Class<?> keyType = metadata.getPrimaryKey().field().getType();
+        if (keyType == int.class || keyType == Integer.class) {
+            return Integer.valueOf(id);
+        }
+        if (keyType == long.class || keyType == Long.class) {
+            return Long.valueOf(id);
+        }
+        return id;
+    }
+}
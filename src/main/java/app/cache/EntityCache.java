@@ -0,0 +1,55 @@
+package app.cache;
+
+/**
+ * In-process cache store used by the DAO layer.
+ * <p>
+ * Implementations bound their size and expire entries on their own; they must be safe for use by
+ * several threads. Cached values are shared between callers and must not be modified.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Returns the value cached for a key, counting a hit or a miss.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} if it is absent or expired
+     */
+    V getIfPresent(K key);
+
+    /**
+     * Caches a value, evicting other entries if the cache is full.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    void put(K key, V value);
+
+    /**
+     * Removes the value cached for a key.
+     *
+     * @param key the key
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes every cached value.
+     */
+    void invalidateAll();
+
+    /**
+     * Gets the number of cached entries, including expired ones not yet removed.
+     *
+     * @return the number of entries
+     */
+    int size();
+
+    /**
+     * Gets a snapshot of the cache counters.
+     *
+     * @return the statistics
+     */
+    CacheStats getStats();
+}
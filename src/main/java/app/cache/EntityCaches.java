@@ -0,0 +1,89 @@
+package app.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link CacheRegion} of each cached entity type.
+ * <p>
+ * Regions are shared by every DAO instance of an entity type, so each BLL or controller creating its
+ * own DAO still reads from and invalidates the same cache. Entity types without a registered region
+ * use the {@linkplain CacheRegion#disabled() disabled} one and always hit the database.
+ */
+public final class EntityCaches {
+
+    /**
+     * Maximum number of query results cached per entity type by {@link #enable(Class, int, Duration)}.
+     */
+    private static final int QUERY_CACHE_SIZE = 16;
+
+    /**
+     * Registered regions by entity type.
+     */
+    private static final Map<Class<?>, CacheRegion<?>> REGIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private EntityCaches() {}
+
+    /**
+     * Enables LRU caching for an entity type, unless a region is already registered for it.
+     *
+     * @param type the entity class
+     * @param maxSize the maximum number of cached entities
+     * @param ttl the time an entity or query result stays cached
+     * @param <T> the entity type
+     * @return the region of the entity type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CacheRegion<T> enable(Class<T> type, int maxSize, Duration ttl) {
+        return (CacheRegion<T>) REGIONS.computeIfAbsent(type, key -> new CacheRegion<T>(
+                new LruEntityCache<>(maxSize, ttl),
+                new LruEntityCache<>(QUERY_CACHE_SIZE, ttl)));
+    }
+
+    /**
+     * Registers a region for an entity type, replacing the previous one; used to plug in other cache implementations.
+     *
+     * @param type the entity class
+     * @param region the region
+     * @param <T> the entity type
+     */
+    public static <T> void register(Class<T> type, CacheRegion<T> region) {
+        REGIONS.put(type, region);
+    }
+
+    /**
+     * Removes the region of an entity type, which is no longer cached afterwards.
+     *
+     * @param type the entity class
+     */
+    public static void disable(Class<?> type) {
+        REGIONS.remove(type);
+    }
+
+    /**
+     * Returns the region of an entity type.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the registered region, or the disabled region if the type is not cached
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CacheRegion<T> regionOf(Class<T> type) {
+        CacheRegion<T> region = (CacheRegion<T>) REGIONS.get(type);
+        return region != null ? region : CacheRegion.disabled();
+    }
+
+    /**
+     * Returns every registered region.
+     *
+     * @return an unmodifiable view of the regions by entity type
+     */
+    public static Map<Class<?>, CacheRegion<?>> getRegions() {
+        return Collections.unmodifiableMap(REGIONS);
+    }
+}
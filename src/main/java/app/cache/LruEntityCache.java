@@ -0,0 +1,146 @@
+package app.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link EntityCache} evicting the least recently used entry once its size bound is reached.
+ * <p>
+ * Entries also expire a fixed time after they were cached, so values changed outside of this
+ * application are picked up again eventually. All operations are synchronized on the cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class LruEntityCache<K, V> implements EntityCache<K, V> {
+
+    /**
+     * A cached value with its expiry time.
+     *
+     * @param value the cached value
+     * @param expiresAt the {@link System#nanoTime()} after which the value is stale
+     * @param <V> the type of the value
+     */
+    private record Entry<V>(V value, long expiresAt) {}
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int maxSize;
+
+    /**
+     * Time to live of an entry, in nanoseconds.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Entries in access order, least recently used first.
+     */
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * Number of lookups that found a value.
+     */
+    private long hitCount;
+
+    /**
+     * Number of lookups that found no value.
+     */
+    private long missCount;
+
+    /**
+     * Number of entries evicted by the size bound.
+     */
+    private long evictionCount;
+
+    /**
+     * Number of entries removed after expiring.
+     */
+    private long expirationCount;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxSize the maximum number of entries
+     * @param ttl the time an entry stays valid after it was cached
+     * @throws IllegalArgumentException if the size is not positive or the time to live is not positive
+     */
+    public LruEntityCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache size and time to live must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruEntityCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            entries.remove(key);
+            expirationCount++;
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, expirationCount, entries.size(), maxSize);
+    }
+}
@@ -0,0 +1,126 @@
+package app.cache;
+
+import app.dao.utils.EntityMetadata;
+
+/**
+ * A change of a database table, as published by the change notification triggers or by the DAOs of
+ * this process through the {@link ChangeBus}.
+ *
+ * @param table the name of the changed table, or {@code null} if the change may concern every table
+ * @param operation the kind of change
+ * @param id the primary key of the changed row for {@link Operation#UPDATE} and {@link Operation#DELETE},
+ *           and of the inserted row for an {@link Operation#INSERT} of a single row; {@code null} otherwise
+ * @param row the new state of the inserted or updated row when it is known, that is for changes made by
+ *            this process; {@code null} otherwise
+ */
+public record TableChange(
+        String table,
+        Operation operation,
+        String id,
+        Object row
+) {
+
+    /**
+     * Kind of change.
+     */
+    public enum Operation {
+        /** Rows were inserted, by one statement unless the change has a row {@link #id()}. */
+        INSERT,
+        /** One row was updated. */
+        UPDATE,
+        /** One row was deleted. */
+        DELETE,
+        /** The table was truncated. */
+        TRUNCATE,
+        /** Changes may have been missed, for example while the listener was reconnecting. */
+        RESYNC
+    }
+
+    /**
+     * Parses a notification payload of the form {@code table:OPERATION[:id]}.
+     *
+     * @param payload the payload
+     * @return the change
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static TableChange parse(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Malformed change notification: " + payload);
+        }
+        return new TableChange(parts[0], Operation.valueOf(parts[1]), parts.length == 3 ? parts[2] : null, null);
+    }
+
+    /**
+     * Creates a change made by this process to the table of the given entity.
+     *
+     * @param type the entity class
+     * @param operation the kind of change
+     * @param id the primary key of the changed row, or {@code null} for a change of several rows
+     * @param row the new state of the row, or {@code null} if unknown or deleted
+     * @return the change
+     */
+    public static TableChange of(Class<?> type, Operation operation, Object id, Object row) {
+        return new TableChange(EntityMetadata.of(type).getTableName(), operation,
+                id == null ? null : String.valueOf(id), row);
+    }
+
+    /**
+     * Creates the change telling that every table may have changed.
+     *
+     * @return the resync change
+     */
+    public static TableChange resync() {
+        return new TableChange(null, Operation.RESYNC, null, null);
+    }
+
+    /**
+     * Whether the change concerns the given table.
+     *
+     * @param tableName the table name, compared case-insensitively as PostgreSQL folds unquoted names
+     * @return true if the change is about that table or about every table
+     */
+    public boolean affects(String tableName) {
+        return table == null || table.equalsIgnoreCase(tableName);
+    }
+
+    /**
+     * Whether the change concerns the table of the given entity.
+     *
+     * @param type the entity class
+     * @return true if the change is about the entity's table or about every table
+     */
+    public boolean affects(Class<?> type) {
+        return affects(EntityMetadata.of(type).getTableName());
+    }
+
+    /**
+     * Whether the change concerns a single row identified by {@link #id()}.
+     *
+     * @return true for updates, deletes and single-row inserts
+     */
+    public boolean isRowChange() {
+        return id != null;
+    }
+
+    /**
+     * Returns the primary key of the changed row as an integer.
+     *
+     * @return the row's primary key
+     * @throws NumberFormatException if the change has no integer row key
+     */
+    public int intId() {
+        return Integer.parseInt(id);
+    }
+
+    /**
+     * Returns the new state of the changed row if it is an instance of the given type.
+     *
+     * @param type the expected row type
+     * @param <T> the row type
+     * @return the row, or {@code null} if the change carries no row of that type
+     */
+    public <T> T rowAs(Class<T> type) {
+        return type.isInstance(row) ? type.cast(row) : null;
+    }
+}
@@ -0,0 +1,19 @@
+package app.cache;
+
+/**
+ * Receives the table changes published on the {@link ChangeBus}.
+ * <p>
+ * Listeners are called on the publishing thread, that is the notification thread or the thread of the
+ * DAO call that made the change, after the affected cache entries have been evicted; GUI code must hand
+ * the change over to the JavaFX application thread.
+ */
+@FunctionalInterface
+public interface TableChangeListener {
+
+    /**
+     * Called for every change of a database table.
+     *
+     * @param change the change
+     */
+    void onTableChange(TableChange change);
+}
@@ -0,0 +1,22 @@
+package app.connection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens new physical connections to the database.
+ * <p>
+ * Used by {@link ConnectionPool} whenever it needs to grow, so the pool itself stays
+ * independent of how connections are actually created.
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    /**
+     * Opens a new physical connection.
+     *
+     * @return a freshly opened connection
+     * @throws SQLException if the connection cannot be established
+     */
+    Connection create() throws SQLException;
+}
@@ -0,0 +1,663 @@
+package app.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded, in-process pool of database connections.
+ * <p>
+ * Borrowers wait on a fair {@link Semaphore}, so connections are handed out in arrival order
+ * and never more than {@code maxSize} are leased at once. Idle connections are kept in LIFO
+ * order to keep the most recently used (and therefore warm) connections in circulation, are
+ * validated before being handed out again, and are closed by a background housekeeper once
+ * they have been idle for longer than the configured timeout. The pool never shrinks below
+ * {@code minSize} connections.
+ * <p>
+ * Connections returned by {@link #getConnection()} are lightweight handles: calling
+ * {@link Connection#close()} on them returns the underlying physical connection to the pool
+ * instead of closing it.
+ * <p>
+ * Each physical connection also keeps its prepared statements in a {@link StatementCache}: closing a
+ * statement obtained from a handle resets it and keeps it for the next {@code prepareStatement} call with
+ * the same SQL and options. Since the DAOs use a fixed SQL text per entity and operation, a long-lived
+ * pooled connection ends up reusing one statement per DAO operation, which lets the driver switch it to
+ * a named server-side statement once it reaches its {@code prepareThreshold}.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Logger instance for logging pool events and errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    /**
+     * Connections returned to the pool more recently than this are handed out again without
+     * a validation round trip.
+     */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * Factory used to open new physical connections.
+     */
+    private final ConnectionFactory factory;
+
+    /**
+     * Minimum number of physical connections kept open.
+     */
+    private final int minSize;
+
+    /**
+     * Maximum number of connections that can be leased at the same time.
+     */
+    private final int maxSize;
+
+    /**
+     * Time after which an idle connection above the minimum size is closed.
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * Maximum time a borrower waits for a free connection.
+     */
+    private final long borrowTimeoutMillis;
+
+    /**
+     * Timeout, in seconds, for validating a connection before it is handed out.
+     */
+    private final int validationTimeoutSeconds;
+
+    /**
+     * Maximum number of idle prepared statements cached per connection, {@code 0} if statements are not cached.
+     */
+    private final int statementCacheSize;
+
+    /**
+     * Fair semaphore limiting the number of leased connections.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently returned first.
+     */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    /**
+     * Number of open physical connections, both idle and leased.
+     */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    /**
+     * Number of physical connections opened since the pool was created.
+     */
+    private final AtomicLong createdCount = new AtomicLong();
+
+    /**
+     * Number of physical connections closed since the pool was created.
+     */
+    private final AtomicLong destroyedCount = new AtomicLong();
+
+    /**
+     * Number of borrow attempts that timed out.
+     */
+    private final AtomicLong borrowTimeoutCount = new AtomicLong();
+
+    /**
+     * Number of prepared statements served from a statement cache.
+     */
+    private final LongAdder statementCacheHits = new LongAdder();
+
+    /**
+     * Number of prepared statements that were not cached and had to be prepared.
+     */
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    /**
+     * Number of cached statements closed to make room for others.
+     */
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    /**
+     * Background executor evicting idle connections and keeping the minimum size.
+     */
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Whether the pool has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new connection pool and schedules its housekeeping.
+     * The pool is filled up to its minimum size in the background.
+     *
+     * @param factory the factory used to open physical connections
+     * @param minSize the minimum number of connections kept open
+     * @param maxSize the maximum number of connections leased at the same time
+     * @param idleTimeoutMillis time after which idle connections above the minimum are closed
+     * @param borrowTimeoutMillis maximum time to wait for a free connection
+     * @param validationTimeoutSeconds timeout for validating a connection on borrow
+     * @param statementCacheSize maximum number of idle prepared statements cached per connection, {@code 0} to disable
+     * @throws IllegalArgumentException if the sizing or timeouts are invalid
+     */
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeoutMillis,
+                          long borrowTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Invalid statement cache size: " + statementCacheSize);
+        }
+        if (idleTimeoutMillis <= 0 || borrowTimeoutMillis < 0 || validationTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("Pool timeouts must not be negative");
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if all connections are in use.
+     * The returned connection must be closed to give it back to the pool.
+     *
+     * @return a validated connection
+     * @throws SQLTimeoutException if no connection became available in time
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        if (!acquired) {
+            borrowTimeoutCount.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return lease(pooled);
+                }
+                destroy(pooled);
+            }
+            return lease(open());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's current state and counters.
+     *
+     * @return the pool statistics
+     */
+    public PoolStats getStats() {
+        int total = totalConnections.get();
+        int idleCount = idle.size();
+        return new PoolStats(total, idleCount, Math.max(0, total - idleCount), permits.getQueueLength(),
+                maxSize, createdCount.get(), destroyedCount.get(), borrowTimeoutCount.get(),
+                statementCacheHits.sum(), statementCacheMisses.sum(), statementCacheEvictions.sum());
+    }
+
+    /**
+     * Closes the pool. Idle connections are closed immediately, leased connections are closed
+     * as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out again.
+     * Connections that were returned very recently are trusted without a round trip.
+     *
+     * @param pooled the idle connection
+     * @return true if the connection is open and valid
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (System.nanoTime() - pooled.lastReturnedNanos < VALIDATION_BYPASS_NANOS) {
+                return true;
+            }
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new physical connection through the factory.
+     *
+     * @return the new pooled connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    private PooledConnection open() throws SQLException {
+        Connection physical = factory.create();
+        if (physical == null) {
+            throw new SQLException("Connection factory returned no connection");
+        }
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        StatementCache statements = statementCacheSize > 0
+                ? new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                : null;
+        return new PooledConnection(physical, statements);
+    }
+
+    /**
+     * Closes a physical connection, together with its cached statements, and removes it from the pool's accounting.
+     *
+     * @param pooled the connection to close
+     */
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        if (pooled.statements != null) {
+            pooled.statements.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Wraps a physical connection in a new handle for the borrower.
+     *
+     * @param pooled the connection being leased
+     * @return a handle whose {@code close()} returns the connection to the pool
+     */
+    private Connection lease(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandle(pooled));
+    }
+
+    /**
+     * Takes back a connection from a borrower. The connection is reset to auto-commit mode,
+     * rolling back any unfinished transaction, before it becomes idle again.
+     *
+     * @param pooled the returned connection
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+
+            if (closed || totalConnections.get() > maxSize) {
+                destroy(pooled);
+            } else {
+                pooled.lastReturnedNanos = System.nanoTime();
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding connection that could not be reset", e);
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Housekeeping task: closes connections idle for too long and tops the pool up to its minimum size.
+     */
+    private void maintain() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && totalConnections.get() > minSize) {
+            PooledConnection pooled = oldestFirst.next();
+            if (now - pooled.lastReturnedNanos > idleTimeoutNanos && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not open connection to fill the pool: " + e.getMessage());
+                break;
+            }
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private static final class PooledConnection {
+
+        /**
+         * The underlying driver connection.
+         */
+        private final Connection physical;
+
+        /**
+         * Idle prepared statements of the connection, or {@code null} if statements are not cached.
+         */
+        private final StatementCache statements;
+
+        /**
+         * {@link System#nanoTime()} at which the connection was last returned to the pool.
+         */
+        private volatile long lastReturnedNanos;
+
+        /**
+         * Wraps a freshly opened physical connection.
+         *
+         * @param physical the driver connection
+         * @param statements the connection's statement cache, or {@code null} if statements are not cached
+         */
+        private PooledConnection(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+            this.lastReturnedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Invocation handler behind the connection handles given to borrowers.
+     * Every call is forwarded to the physical connection, except {@code close()} which returns it to the pool.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+
+        /**
+         * The leased connection.
+         */
+        private final PooledConnection pooled;
+
+        /**
+         * Whether this handle has already been closed.
+         */
+        private boolean released;
+
+        /**
+         * Creates a handle for a leased connection.
+         *
+         * @param pooled the leased connection
+         */
+        private ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        /**
+         * Dispatches a call made on the connection handle.
+         *
+         * @param proxy the handle
+         * @param method the invoked method
+         * @param args the call arguments
+         * @return the result of the call
+         * @throws Throwable the exception thrown by the physical connection
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : pooled.physical.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || pooled.physical.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pooled.statements != null && method.getName().equals("prepareStatement")) {
+                return prepareCached((Connection) proxy, method, args);
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Serves a {@code prepareStatement} call from the connection's statement cache, preparing the
+         * statement on a miss.
+         *
+         * @param connection the connection handle
+         * @param method the invoked {@code prepareStatement} overload
+         * @param args the call arguments, starting with the SQL text
+         * @return a handle whose {@code close()} gives the statement back to the cache
+         * @throws Throwable the exception thrown by the physical connection
+         */
+        private PreparedStatement prepareCached(Connection connection, Method method, Object[] args) throws Throwable {
+            String key = statementKey(args);
+            PreparedStatement statement = pooled.statements.take(key);
+            if (statement == null) {
+                try {
+                    statement = (PreparedStatement) method.invoke(pooled.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandle(connection, pooled.statements, key, statement));
+        }
+    }
+
+    /**
+     * Builds the cache key of a {@code prepareStatement} call from its SQL text and options.
+     *
+     * @param args the call arguments, starting with the SQL text
+     * @return the statement key
+     */
+    private static String statementKey(Object[] args) {
+        if (args.length == 1) {
+            return (String) args[0];
+        }
+        StringBuilder key = new StringBuilder((String) args[0]);
+        for (int i = 1; i < args.length; i++) {
+            key.append('\u0000');
+            if (args[i] instanceof int[] indexes) {
+                key.append(Arrays.toString(indexes));
+            } else if (args[i] instanceof Object[] names) {
+                key.append(Arrays.toString(names));
+            } else {
+                key.append(args[i]);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Invocation handler behind the statement handles given to borrowers when statements are cached.
+     * Every call is forwarded to the cached statement, except {@code close()} which resets it and gives it
+     * back to the connection's {@link StatementCache}.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+
+        /**
+         * The connection handle the statement was prepared on.
+         */
+        private final Connection connection;
+
+        /**
+         * The cache receiving the statement when it is closed.
+         */
+        private final StatementCache cache;
+
+        /**
+         * Key of the statement in the cache.
+         */
+        private final String key;
+
+        /**
+         * The physical statement.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Whether this handle has already been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Creates a handle for a statement taken from, or about to join, a statement cache.
+         *
+         * @param connection the connection handle
+         * @param cache the statement cache
+         * @param key the statement key
+         * @param statement the physical statement
+         */
+        private StatementHandle(Connection connection, StatementCache cache, String key, PreparedStatement statement) {
+            this.connection = connection;
+            this.cache = cache;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        /**
+         * Dispatches a call made on the statement handle.
+         *
+         * @param proxy the handle
+         * @param method the invoked method
+         * @param args the call arguments
+         * @return the result of the call
+         * @throws Throwable the exception thrown by the physical statement
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        recycle();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return connection;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : statement.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || statement.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Resets the statement to its freshly prepared state and gives it back to the cache.
+         * Statements that cannot be reset are closed.
+         */
+        private void recycle() {
+            try {
+                if (statement.isClosed()) {
+                    return;
+                }
+                ResultSet rs = statement.getResultSet();
+                if (rs != null) {
+                    rs.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                statement.setFetchSize(0);
+                statement.setMaxRows(0);
+                statement.setQueryTimeout(0);
+                cache.offer(key, statement);
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Discarding statement that could not be reset", e);
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                    // already failed, nothing more to do
+                }
+            }
+        }
+    }
+}
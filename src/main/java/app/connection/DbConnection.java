@@ -1,21 +1,29 @@
 package app.connection;
 
+import app.metrics.QueryMetrics;
+import app.metrics.QueryTimer;
+
 import java.sql.*;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages the database connection to a PostgreSQL database.
- * It implements the Singleton pattern to ensure that the JDBC driver is loaded only once.
+ * It implements the Singleton pattern to ensure that the JDBC driver is loaded only once
+ * and that all callers share a single {@link ConnectionPool}.
  * <p>
- * Provides utility methods to create a new connection and safely close JDBC resources.
+ * Provides utility methods to borrow a pooled connection and safely close JDBC resources.
+ * Closing a connection obtained from {@link #getConnection()} returns it to the pool.
+ * The time spent borrowing and opening connections is recorded in {@link QueryMetrics}.
  */
 public class DbConnection {
 
     /**
      * The database connection URL for the PostgreSQL database.
+     * Can be overridden with the {@code app.db.url} system property.
      */
-    private static final String URL = "jdbc:postgresql://localhost:5432/ordersdb";
+    private static final String URL = System.getProperty("app.db.url", "jdbc:postgresql://localhost:5432/ordersdb");
 
     /**
      * The fully qualified class name of the PostgreSQL JDBC driver.
@@ -24,15 +32,57 @@ public class DbConnection {
 
     /**
      * The username for the database connection.
-     * Default: root
+     * Default: root. Can be overridden with the {@code app.db.user} system property.
      */
-    private static final String USER = "root";
+    private static final String USER = System.getProperty("app.db.user", "root");
 
     /**
      * The password for the database connection.
-     * Default: root
+     * Default: root. Can be overridden with the {@code app.db.password} system property.
+     */
+    private static final String PASSWORD = System.getProperty("app.db.password", "root");
+
+    /**
+     * Minimum number of connections kept open by the pool.
+     * Can be overridden with the {@code app.db.pool.minSize} system property.
+     */
+    private static final int POOL_MIN_SIZE = Integer.getInteger("app.db.pool.minSize", 2);
+
+    /**
+     * Maximum number of connections leased at the same time.
+     * Can be overridden with the {@code app.db.pool.maxSize} system property.
+     */
+    private static final int POOL_MAX_SIZE = Integer.getInteger("app.db.pool.maxSize", 10);
+
+    /**
+     * Time, in milliseconds, after which idle connections above the minimum size are closed.
+     * Can be overridden with the {@code app.db.pool.idleTimeoutMs} system property.
      */
-    private static final String PASSWORD = "root";
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("app.db.pool.idleTimeoutMs", 300_000L);
+
+    /**
+     * Maximum time, in milliseconds, to wait for a free connection.
+     * Can be overridden with the {@code app.db.pool.borrowTimeoutMs} system property.
+     */
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("app.db.pool.borrowTimeoutMs", 5_000L);
+
+    /**
+     * Timeout, in seconds, for validating a connection before it is handed out.
+     */
+    private static final int POOL_VALIDATION_TIMEOUT_S = 2;
+
+    /**
+     * Maximum number of idle prepared statements kept per pooled connection, {@code 0} to disable statement caching.
+     * Can be overridden with the {@code app.db.pool.statementCacheSize} system property.
+     */
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("app.db.pool.statementCacheSize", 64);
+
+    /**
+     * Number of executions after which the driver turns a prepared statement into a named server-side
+     * statement that is parsed and planned only once per connection.
+     * Can be overridden with the {@code app.db.prepareThreshold} system property.
+     */
+    private static final int PREPARE_THRESHOLD = Integer.getInteger("app.db.prepareThreshold", 2);
 
     /**
      * Logger instance for logging database connection events and errors.
@@ -46,7 +96,12 @@ public class DbConnection {
     private static DbConnection singleConnection = new DbConnection();
 
     /**
-     * Private constructor that loads the PostgreSQL JDBC driver.
+     * Pool of physical connections shared by all DAOs.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * Private constructor that loads the PostgreSQL JDBC driver and creates the connection pool.
      */
     private DbConnection() {
         try {
@@ -54,31 +109,70 @@ public class DbConnection {
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
         }
+        pool = new ConnectionPool(this::createConnection, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                POOL_IDLE_TIMEOUT_MS, POOL_BORROW_TIMEOUT_MS, POOL_VALIDATION_TIMEOUT_S, STATEMENT_CACHE_SIZE);
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
     }
 
     /**
-     * Creates a new {@link java.sql.Connection} to the database.
+     * Opens a new physical {@link java.sql.Connection} to the database.
      *
-     * @return a new database connection, or {@code null} if the connection fails
+     * @return a new database connection
+     * @throws SQLException if the connection fails
      */
-    private Connection createConnection() {
-        Connection conn = null;
-        try {
-            conn = DriverManager.getConnection(URL, USER, PASSWORD);
+    private Connection createConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", USER);
+        properties.setProperty("password", PASSWORD);
+        properties.setProperty("prepareThreshold", String.valueOf(PREPARE_THRESHOLD));
+        return DriverManager.getConnection(URL, properties);
+    }
+
+    /**
+     * Borrows a {@link java.sql.Connection} from the connection pool.
+     * Closing the returned connection gives it back to the pool.
+     * <p>
+     * Running out of connections is expected under load, so failing to borrow one is reported to the caller
+     * like any other database error rather than as a {@code null} connection.
+     *
+     * @return a pooled database connection, never {@code null}
+     * @throws SQLTimeoutException if no connection became free within the borrow timeout
+     * @throws SQLException if a new connection could not be opened
+     */
+    public static Connection getConnection() throws SQLException {
+        try (QueryTimer timer = QueryMetrics.startConnection("acquire")) {
+            Connection con = singleConnection.pool.getConnection();
+            timer.succeeded(0);
+            return con;
         } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error: could not connect to the database");
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Error: could not connect to the database", e);
+            throw e;
         }
-        return conn;
     }
 
     /**
-     * Provides a new {@link java.sql.Connection} instance.
+     * Opens a physical {@link java.sql.Connection} that is not managed by the pool.
+     * Meant for long-lived sessions, such as a {@code LISTEN} connection, that would otherwise hold
+     * a pooled connection forever. The caller is responsible for closing it.
      *
      * @return a new database connection
+     * @throws SQLException if the connection fails
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        try (QueryTimer timer = QueryMetrics.startConnection("openDedicated")) {
+            Connection con = singleConnection.createConnection();
+            timer.succeeded(0);
+            return con;
+        }
+    }
+
+    /**
+     * Returns the current statistics of the connection pool.
+     *
+     * @return the pool statistics
      */
-    public static Connection getConnection() {
-        return singleConnection.createConnection();
+    public static PoolStats getPoolStats() {
+        return singleConnection.pool.getStats();
     }
 
     /**
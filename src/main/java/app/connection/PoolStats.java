@@ -0,0 +1,41 @@
+package app.connection;
+
+/**
+ * Point-in-time statistics of a {@link ConnectionPool}.
+ *
+ * @param totalConnections the number of open physical connections, idle and leased
+ * @param idleConnections the number of connections waiting in the pool
+ * @param activeConnections the number of connections currently leased
+ * @param waitingThreads the number of threads waiting for a connection
+ * @param maxSize the maximum number of connections that can be leased at once
+ * @param createdCount the number of physical connections opened so far
+ * @param destroyedCount the number of physical connections closed so far
+ * @param borrowTimeoutCount the number of borrow attempts that timed out
+ * @param statementCacheHits the number of prepared statements served from a connection's statement cache
+ * @param statementCacheMisses the number of prepared statements that had to be prepared
+ * @param statementCacheEvictions the number of cached statements closed to make room for others
+ */
+public record PoolStats(
+        int totalConnections,
+        int idleConnections,
+        int activeConnections,
+        int waitingThreads,
+        int maxSize,
+        long createdCount,
+        long destroyedCount,
+        long borrowTimeoutCount,
+        long statementCacheHits,
+        long statementCacheMisses,
+        long statementCacheEvictions
+) {
+
+    /**
+     * Fraction of {@code prepareStatement} calls served from a statement cache.
+     *
+     * @return the statement cache hit rate, {@code 0} if no statement was prepared yet
+     */
+    public double statementCacheHitRate() {
+        long requests = statementCacheHits + statementCacheMisses;
+        return requests == 0 ? 0.0 : (double) statementCacheHits / requests;
+    }
+}
@@ -0,0 +1,140 @@
+package app.connection;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Idle prepared statements of one physical connection, keyed by SQL text and statement options.
+ * <p>
+ * A statement is removed from the cache while it is in use and offered back when its borrower closes it,
+ * so the same SQL can be prepared twice on one connection without sharing a statement. When the cache is
+ * full, the least recently used idle statement is closed. Hit, miss and eviction counts are accumulated
+ * in counters shared by all connections of a {@link ConnectionPool}.
+ * <p>
+ * The pool {@linkplain #closeAll() closes} the cache before closing its physical connection; statements
+ * still in use at that point are closed as soon as they are offered back.
+ */
+final class StatementCache {
+
+    /**
+     * Logger instance for logging statement cache errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    /**
+     * Maximum number of idle statements kept.
+     */
+    private final int maxSize;
+
+    /**
+     * Idle statements, least recently used first.
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Pool-wide number of statements taken from a cache.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Pool-wide number of statements that had to be prepared.
+     */
+    private final LongAdder misses;
+
+    /**
+     * Pool-wide number of idle statements closed to make room.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Whether the cache was closed together with its connection.
+     */
+    private boolean closed;
+
+    /**
+     * Creates an empty statement cache.
+     *
+     * @param maxSize the maximum number of idle statements kept
+     * @param hits the pool-wide hit counter
+     * @param misses the pool-wide miss counter
+     * @param evictions the pool-wide eviction counter
+     */
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.maxSize) {
+                    return false;
+                }
+                evictions.increment();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Takes the idle statement cached under a key, counting a hit or a miss.
+     *
+     * @param key the statement key
+     * @return the statement, or {@code null} if none is cached and it must be prepared
+     */
+    synchronized PreparedStatement take(String key) {
+        PreparedStatement statement = statements.remove(key);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Offers a statement back once its borrower is done with it.
+     * The statement is closed instead if another statement with the same key is already cached, or if the
+     * cache was closed.
+     *
+     * @param key the statement key
+     * @param statement the statement, already reset for its next use
+     */
+    synchronized void offer(String key, PreparedStatement statement) {
+        if (closed || statements.putIfAbsent(key, statement) != null) {
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Closes and removes every idle statement; statements offered afterwards are closed right away.
+     */
+    synchronized void closeAll() {
+        closed = true;
+        Iterator<PreparedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring errors.
+     *
+     * @param statement the statement to close
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing cached statement", e);
+        }
+    }
+}
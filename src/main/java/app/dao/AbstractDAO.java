@@ -2,20 +2,53 @@ package app.dao;
 
 import app.annotations.Column;
 import app.annotations.Table;
+import app.cache.CacheRegion;
+import app.cache.ChangeBus;
+import app.cache.EntityCaches;
+import app.cache.TableChange;
 import app.connection.DbConnection;
+import app.dao.mapping.EntityBinder;
+import app.dao.mapping.EntityBinders;
+import app.dao.mapping.RowMapper;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.dao.paging.SortKey;
+import app.dao.utils.ColumnMetadata;
 import app.dao.utils.DAOUtils;
+import app.dao.utils.EntityMetadata;
+import app.metrics.QueryMetrics;
+import app.metrics.QueryTimer;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract generic DAO class providing CRUD operations and schema generation capabilities
  * for objects annotated with custom {@link Column} and {@link Table} annotations.
+ * <p>
+ * All table, column and SQL information is read from the entity's cached {@link EntityMetadata},
+ * so the annotations are only scanned once per entity class. Rows are hydrated and statement
+ * parameters are bound by the entity's {@link EntityBinder}, which is generated at compile time when
+ * the annotation processor is enabled and bound through reflection otherwise (see {@link EntityBinders}).
+ * <p>
+ * {@link #findById(Object)} and {@link #findAll()} read through the entity's {@link CacheRegion} when caching
+ * is enabled for it in {@link EntityCaches}; every write made through the DAO invalidates the affected entries.
+ * The cache holds its own {@linkplain EntityBinder#copy(Object) copies} of the entities and hands out further
+ * copies, so callers editing a returned entity never change the cached one.
+ * <p>
+ * Writes that commit their own transaction also publish the changed rows on the {@link ChangeBus}, so open
+ * views can apply them in place instead of reloading their tables. Writes made on a caller's connection
+ * are not published, since the caller's transaction may still be rolled back.
+ * <p>
+ * Every database operation is timed and recorded in {@link QueryMetrics} under the entity's simple class name.
  *
  * @param <T> the type of the entity this DAO manages
  */
@@ -26,11 +59,42 @@ public class AbstractDAO<T> {
      */
     protected static final Logger LOGGER = Logger.getLogger(AbstractDAO.class.getName());
 
+    /**
+     * Default number of rows per committed chunk of {@link #insertBatch(List)}.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of rows written by one multi-row INSERT statement of a batch.
+     * Keeps the statement text fixed and far below PostgreSQL's limit of 65535 parameters per statement.
+     */
+    private static final int ROWS_PER_STATEMENT = 64;
+
+    /**
+     * Default number of rows fetched per round trip by {@link #streamAll()}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
     /**
      * Type of entity DAO manages.
      */
     private final Class<T> type;
 
+    /**
+     * Precomputed mapping metadata of the managed entity.
+     */
+    protected final EntityMetadata<T> metadata;
+
+    /**
+     * Binder converting result set rows into entities and entities into statement parameters.
+     */
+    protected final EntityBinder<T> binder;
+
+    /**
+     * INSERT statement writing {@link #ROWS_PER_STATEMENT} rows at once.
+     */
+    private final String multiRowInsertSql;
+
     /**
      * Constructor to initialize DAO with the type of entity it manages.
      *
@@ -38,35 +102,37 @@ public class AbstractDAO<T> {
      */
     protected AbstractDAO(Class<T> type) {
         this.type = type;
+        this.metadata = EntityMetadata.of(type);
+        this.binder = EntityBinders.of(type);
+        this.multiRowInsertSql = prepareInsertQuery(metadata.getTableName(), ROWS_PER_STATEMENT);
     }
 
     /**
-     * Creates the database table for the entity if it does not already exist.
-     * Uses {@link Column} annotations to determine the schema.
+     * Creates the database table for the entity if it does not already exist, together with its
+     * declared indexes, the extensions they depend on, and its immutability and change notification triggers.
+     * Uses {@link Column}, {@link Table} and {@link app.annotations.Index} annotations to determine the schema.
      *
      * @throws SQLException if an SQL error occurs during table creation
      */
     public void createTableIfNotExists() throws SQLException {
-        String tableName = DAOUtils.getTableName(type);
-        List<Field> fields = DAOUtils.getFields(type);
-
-        List<String> columns = fields.stream()
-                .map(DAOUtils::buildColumnDefinition)
-                .collect(Collectors.toList());
-
-        String primaryKey = DAOUtils.getPrimaryKeyName(type);
-        columns.add("PRIMARY KEY (" + primaryKey + ")");
-
-        List<String> foreignKeys = DAOUtils.buildForeignKeyConstraints(fields);
-        columns.addAll(foreignKeys);
-
-        String query = "CREATE TABLE IF NOT EXISTS " + tableName + " (" + String.join(",", columns) + ")";
-
-        try (Connection con = DbConnection.getConnection();
-             Statement stmt = con.createStatement()) {
-
-            stmt.executeUpdate(query);
+        String tableName = metadata.getTableName();
+        String query = metadata.getCreateTableSql();
+
+        try (QueryTimer timer = time("createTable", query)) {
+            try (Connection con = DbConnection.getConnection();
+                 Statement stmt = con.createStatement()) {
+                stmt.executeUpdate(query);
+                for (String extension : metadata.getCreateExtensionSql()) {
+                    stmt.executeUpdate(extension);
+                }
+                for (String index : metadata.getCreateIndexSql()) {
+                    stmt.executeUpdate(index);
+                }
+            }
+            // the triggers borrow their own connection, so the table's is given back first
             DAOUtils.setImmutabilityTriggers(type);
+            DAOUtils.setChangeNotificationTriggers(type);
+            timer.succeeded(0);
 
         } catch (SQLException e) {
             LOGGER.severe(String.format("Error creating table %s: %s", tableName, e.getMessage()));
@@ -75,42 +141,26 @@ public class AbstractDAO<T> {
     }
 
     /**
-     * Constructs the SQL INSERT query and fills parameter list based on entity fields.
+     * Constructs the SQL INSERT query for the given number of rows.
      *
      * @param tableName the name of the database table
-     * @param objs list of objects to insert
-     * @param params output list to collect query parameters
+     * @param rowCount the number of rows inserted by the query
      * @return a complete SQL INSERT query string
-     * @throws IllegalAccessException if access to fields is not allowed
-     */
-    private String prepareInsertQueryAndParams(String tableName, List<T> objs, List<Object> params) throws IllegalAccessException {
-        List<Field> fields = DAOUtils.getFields(type);
-        StringBuilder query = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
-
-        String colNames = fields.stream()
-                .filter(field -> !field.getAnnotation(Column.class).primaryKey()) // Exclude the primary key
-                .map(field -> field.getAnnotation(Column.class).name())
-                .collect(Collectors.joining(","));
-        query.append(colNames).append(") VALUES ");
-
-        String placeholders = objs.stream()
-                .map(obj -> {
-                    String values = fields.stream()
-                            .filter(field -> !field.getAnnotation(Column.class).primaryKey()) // Skip the primary key
-                            .map(field -> {
-                                try {
-                                    field.setAccessible(true);
-                                    params.add(field.get(obj));
-                                } catch (IllegalAccessException e) {
-                                    throw new RuntimeException(e);
-                                }
-                                return "?";
-                            }).collect(Collectors.joining(","));
-                    return "(" + values + ")";
-                })
-                .collect(Collectors.joining(","));
-
-        query.append(placeholders);
+     */
+    private String prepareInsertQuery(String tableName, int rowCount) {
+        if (rowCount == 1) {
+            return metadata.getInsertSql();
+        }
+        String rowPlaceholders = metadata.getInsertPlaceholders();
+        StringBuilder query = new StringBuilder("INSERT INTO ").append(tableName)
+                .append(" (").append(metadata.getInsertColumnList()).append(") VALUES ");
+
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                query.append(',');
+            }
+            query.append(rowPlaceholders);
+        }
         return query.toString();
     }
 
@@ -118,158 +168,570 @@ public class AbstractDAO<T> {
      * Inserts a single entity into the database.
      *
      * @param obj the object to insert
+     * @return the inserted entity with its generated primary key set; a new instance for records
      * @throws SQLException if an SQL error occurs
      * @throws IllegalAccessException if field access fails
      */
-    public void insert(T obj) throws SQLException, IllegalAccessException {
-        insertList(List.of(obj));
+    public T insert(T obj) throws SQLException, IllegalAccessException {
+        return insertList(List.of(obj)).get(0);
+    }
+
+    /**
+     * Inserts a single entity on the given connection, as part of the caller's transaction.
+     * <p>
+     * The generated primary key is read back from the INSERT itself, which pgjdbc sends as
+     * {@code INSERT ... RETURNING id}, so no further query is needed to find the new row.
+     * The connection is neither committed nor closed.
+     *
+     * @param con the connection to use
+     * @param obj the object to insert
+     * @return the inserted entity with its generated primary key set; a new instance for records
+     * @throws SQLException if an SQL error occurs
+     */
+    public T insert(Connection con, T obj) throws SQLException {
+        List<Object> keys = new ArrayList<>(1);
+        try (QueryTimer timer = time("insert", metadata.getInsertSql())) {
+            insertRows(con, List.of(obj), keys);
+            timer.succeeded(1);
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error inserting into table %s: %s", metadata.getTableName(), e.getMessage()));
+            throw e;
+        } finally {
+            cache().invalidateQueries();
+        }
+        return withPrimaryKeys(List.of(obj), keys).get(0);
     }
 
     /**
-     * Inserts a list of entities into the database all together.
+     * Inserts a list of entities into the database all together, in a single transaction.
+     * <p>
+     * Rows are sent as JDBC batches of fixed-size statements, so lists of any size can be inserted.
+     * The generated primary keys are returned by the INSERT statements themselves and set on the entities.
      *
      * @param objs the list of objects to insert
+     * @return the inserted entities with their generated primary keys set, in input order;
+     *         records are replaced by new instances
      * @throws SQLException if an SQL error occurs
      * @throws IllegalAccessException if field access fails
      */
-    public void insertList(List<T> objs) throws SQLException, IllegalAccessException {
-        String tableName = DAOUtils.getTableName(type);
-        List<Object> params = new ArrayList<>();
-        String query = prepareInsertQueryAndParams(tableName, objs, params);
-
-        try (Connection con = DbConnection.getConnection();
-             PreparedStatement ps = con.prepareStatement(query)) {
+    public List<T> insertList(List<T> objs) throws SQLException, IllegalAccessException {
+        if (objs.isEmpty()) {
+            return List.of();
+        }
+        String tableName = metadata.getTableName();
+        List<Object> keys = new ArrayList<>(objs.size());
 
+        try (QueryTimer timer = time("insertList", metadata.getInsertSql());
+             Connection con = DbConnection.getConnection()) {
             con.setAutoCommit(false);
-            int index = 1;
-            for (Object param : params) {
-                ps.setObject(index++, param);
-            }
-            ps.executeUpdate();
+            insertRows(con, objs, keys);
             con.commit();
+            timer.succeeded(objs.size());
         } catch (SQLException e) {
             LOGGER.severe(String.format("Error inserting into table %s: %s", tableName, e.getMessage()));
             throw e;
+        } finally {
+            cache().invalidateQueries();
+        }
+        List<T> inserted = withPrimaryKeys(objs, keys);
+        if (inserted.size() == 1) {
+            publish(TableChange.Operation.INSERT, keys.get(0), inserted.get(0));
+        } else {
+            publish(TableChange.Operation.INSERT, null, null);
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts a list of entities on the given connection, as part of the caller's transaction.
+     * <p>
+     * Rows are sent exactly as by {@link #insertList(List)}; the connection is neither committed nor closed.
+     *
+     * @param con the connection to use
+     * @param objs the list of objects to insert
+     * @return the inserted entities with their generated primary keys set, in input order;
+     *         records are replaced by new instances
+     * @throws SQLException if an SQL error occurs
+     */
+    public List<T> insertList(Connection con, List<T> objs) throws SQLException {
+        if (objs.isEmpty()) {
+            return List.of();
+        }
+        List<Object> keys = new ArrayList<>(objs.size());
+        try (QueryTimer timer = time("insertList", metadata.getInsertSql())) {
+            insertRows(con, objs, keys);
+            timer.succeeded(objs.size());
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error inserting into table %s: %s", metadata.getTableName(), e.getMessage()));
+            throw e;
+        } finally {
+            cache().invalidateQueries();
+        }
+        return withPrimaryKeys(objs, keys);
+    }
+
+    /**
+     * Sets generated primary keys on inserted entities.
+     *
+     * @param rows the inserted entities
+     * @param keys the generated keys in row order, {@code null} entries for entities without a primary key
+     * @return the entities with their keys set
+     */
+    private List<T> withPrimaryKeys(List<T> rows, List<Object> keys) {
+        List<T> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object key = keys.get(i);
+            result.add(key == null ? rows.get(i) : binder.withPrimaryKey(rows.get(i), key));
+        }
+        return result;
+    }
+
+    /**
+     * Inserts a list of entities in chunks of {@link #DEFAULT_CHUNK_SIZE} rows.
+     *
+     * @param objs the list of objects to insert
+     * @return the generated IDs and the failed chunks
+     * @throws SQLException if no connection can be used for the import
+     * @see #insertBatch(List, int)
+     */
+    public BatchInsertResult insertBatch(List<T> objs) throws SQLException {
+        return insertBatch(objs, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Inserts a list of entities in independently committed chunks.
+     * <p>
+     * Each chunk is sent with {@code addBatch}/{@code executeBatch} over reusable statements and committed
+     * on its own. A failing chunk is rolled back and reported in the result while the following chunks are
+     * still inserted. The generated primary keys are returned for every inserted row.
+     *
+     * @param objs the list of objects to insert
+     * @param chunkSize the number of rows per committed chunk
+     * @return the generated IDs and the failed chunks
+     * @throws SQLException if no connection can be used for the import
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public BatchInsertResult insertBatch(List<T> objs, int chunkSize) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        String tableName = metadata.getTableName();
+        List<Object> ids = new ArrayList<>(Collections.nCopies(objs.size(), null));
+        List<BatchInsertResult.ChunkFailure> failures = new ArrayList<>();
+        int inserted = 0;
+
+        try (QueryTimer timer = time("insertBatch", metadata.getInsertSql());
+             Connection con = DbConnection.getConnection()) {
+            con.setAutoCommit(false);
+            for (int from = 0; from < objs.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, objs.size());
+                List<Object> keys = new ArrayList<>(to - from);
+                try {
+                    insertRows(con, objs.subList(from, to), keys);
+                    con.commit();
+                } catch (SQLException e) {
+                    con.rollback();
+                    LOGGER.warning(String.format("Error inserting rows %d-%d into table %s: %s", from, to - 1, tableName, e.getMessage()));
+                    failures.add(new BatchInsertResult.ChunkFailure(from, to, e));
+                    continue;
+                }
+                for (int i = 0; i < keys.size(); i++) {
+                    ids.set(from + i, keys.get(i));
+                }
+                inserted += to - from;
+            }
+            timer.succeeded(inserted);
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error batch inserting into table %s: %s", tableName, e.getMessage()));
+            throw e;
+        } finally {
+            cache().invalidateQueries();
+        }
+        if (inserted > 0) {
+            publish(TableChange.Operation.INSERT, null, null);
+        }
+        return new BatchInsertResult(Collections.unmodifiableList(ids), inserted, List.copyOf(failures));
+    }
+
+    /**
+     * Inserts rows on the given connection without committing.
+     * <p>
+     * Rows are grouped into multi-row INSERTs of {@link #ROWS_PER_STATEMENT} rows, the remainder is sent as
+     * single-row INSERTs; both use a fixed SQL text, so statements can be cached by the driver and the server.
+     *
+     * @param con the connection to use
+     * @param rows the rows to insert
+     * @param keysOut list receiving the generated primary keys in row order, or {@code null} if they are not needed
+     * @throws SQLException if an SQL error occurs
+     */
+    private void insertRows(Connection con, List<T> rows, List<Object> keysOut) throws SQLException {
+        int grouped = rows.size() - rows.size() % ROWS_PER_STATEMENT;
+        if (grouped > 0) {
+            executeInsertBatch(con, multiRowInsertSql, rows.subList(0, grouped), ROWS_PER_STATEMENT, keysOut);
+        }
+        if (grouped < rows.size()) {
+            executeInsertBatch(con, metadata.getInsertSql(), rows.subList(grouped, rows.size()), 1, keysOut);
+        }
+    }
+
+    /**
+     * Binds rows into an INSERT statement, adding one batch entry per statement's worth of rows, and executes the batch.
+     *
+     * @param con the connection to use
+     * @param query the INSERT statement
+     * @param rows the rows to insert, a multiple of {@code rowsPerStatement}
+     * @param rowsPerStatement the number of rows written by one execution of the statement
+     * @param keysOut list receiving the generated primary keys in row order, or {@code null} if they are not needed
+     * @throws SQLException if an SQL error occurs
+     */
+    private void executeInsertBatch(Connection con, String query, List<T> rows, int rowsPerStatement,
+                                    List<Object> keysOut) throws SQLException {
+        boolean returnKeys = keysOut != null && metadata.hasPrimaryKey();
+        try (PreparedStatement ps = returnKeys
+                ? con.prepareStatement(query, new String[]{metadata.getPrimaryKey().name()})
+                : con.prepareStatement(query)) {
+
+            int index = 1;
+            for (int i = 0; i < rows.size(); i++) {
+                index = binder.bindInsert(ps, index, rows.get(i));
+                if ((i + 1) % rowsPerStatement == 0) {
+                    ps.addBatch();
+                    index = 1;
+                }
+            }
+            ps.executeBatch();
+
+            if (returnKeys) {
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        keysOut.add(keys.getObject(1));
+                    }
+                }
+            } else if (keysOut != null) {
+                keysOut.addAll(Collections.nCopies(rows.size(), null));
+            }
         }
     }
 
     /**
-     * Finds an entity by its primary key.
+     * Finds an entity by its primary key, from the cache if the entity type is cached.
      *
      * @param id the primary key value
      * @return the found object or null if not found
      * @throws SQLException if a database error occurs
      * @throws IllegalAccessException if field access fails
-     * @throws NoSuchMethodException if the default constructor is missing
+     * @throws NoSuchMethodException if the entity cannot be instantiated
      */
     public T findById(Object id) throws SQLException, IllegalAccessException, NoSuchMethodException {
-        String tableName = DAOUtils.getTableName(type);
-        Field pk = DAOUtils.getPrimaryKeyField(type);
-        Column col = pk.getAnnotation(Column.class);
+        String tableName = metadata.getTableName();
+        String query = metadata.getSelectByIdSql();
 
-        String query = "SELECT * FROM " + tableName + " WHERE " + col.name() + " = ?";
+        CacheRegion<T> cache = cache();
+        T cached = cache.get(id);
+        if (cached != null) {
+            return binder.copy(cached);
+        }
+        long stamp = cache.stamp();
 
-        try (Connection con = DbConnection.getConnection();
+        try (QueryTimer timer = time("findById", query);
+             Connection con = DbConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(query)) {
 
             ps.setObject(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    T obj = type.getDeclaredConstructor().newInstance();
-                    for (Field field : DAOUtils.getFields(type)) {
-                        field.setAccessible(true);
-                        Column c = field.getAnnotation(Column.class);
-                        field.set(obj, rs.getObject(c.name()));
-                    }
-                    return obj;
+                T entity = rs.next() ? binder.mapRow(rs) : null;
+                timer.succeeded(entity == null ? 0 : 1);
+                if (entity != null && cache.isEnabled()) {
+                    cache.put(id, binder.copy(entity), stamp);
                 }
-            } catch (InvocationTargetException e) {
-                throw new RuntimeException(e);
-            } catch (InstantiationException e) {
-                throw new RuntimeException(e);
+                return entity;
             }
-        } catch (SQLException | IllegalAccessException | NoSuchMethodException e) {
+        } catch (SQLException e) {
             LOGGER.severe(String.format("Error finding entity by ID in table %s: %s", tableName, e.getMessage()));
             throw e;
         }
-        return null;
     }
 
     /**
-     * Fetches all records of the entity from the corresponding database table.
+     * Fetches all records of the entity from the corresponding database table, from the cache if the entity type is cached.
      *
-     * @return a list of all entities
+     * @return a new, modifiable list of all entities, which the caller may change without affecting the cache
      * @throws Exception if any error occurs during retrieval
      */
     public List<T> findAll() throws Exception {
-        String tableName = DAOUtils.getTableName(type);
-        String query = "SELECT * FROM " + tableName + " ORDER BY id";
+        String tableName = metadata.getTableName();
+        String query = metadata.getSelectAllSql();
+
+        CacheRegion<T> cache = cache();
+        List<T> cached = cache.getQuery(query);
+        if (cached != null) {
+            return copyAll(cached);
+        }
+        long stamp = cache.stamp();
 
         List<T> list = new ArrayList<>();
-        try (Connection con = DbConnection.getConnection();
+        try (QueryTimer timer = time("findAll", query);
+             Connection con = DbConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(query);
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                T obj = type.getDeclaredConstructor().newInstance();
-                for (Field field : DAOUtils.getFields(type)) {
-                    field.setAccessible(true);
-                    Column col = field.getAnnotation(Column.class);
-                    field.set(obj, rs.getObject(col.name()));
-                }
-                list.add(obj);
+                list.add(binder.mapRow(rs));
             }
-        } catch (SQLException | IllegalAccessException e) {
+            timer.succeeded(list.size());
+        } catch (SQLException e) {
             LOGGER.severe(String.format("Error fetching all entities from table %s: %s", tableName, e.getMessage()));
             throw e;
         }
+        if (cache.isEnabled()) {
+            List<T> copies = copyAll(list);
+            cache.putQuery(query, copies, stamp);
+            for (T entity : copies) {
+                cache.put(binder.getPrimaryKey(entity), entity, stamp);
+            }
+        }
         return list;
     }
 
     /**
-     * Updates an existing entity in the database.
+     * Copies entities into a new list, to hand cached entities out or to cache loaded ones.
      *
-     * @param obj the updated object
+     * @param entities the entities to copy
+     * @return a new, modifiable list of copies
+     */
+    private List<T> copyAll(List<T> entities) {
+        List<T> copies = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            copies.add(binder.copy(entity));
+        }
+        return copies;
+    }
+
+    /**
+     * Fetches one page of records ordered by primary key.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of rows of the page
+     * @return the page
      * @throws SQLException if a database error occurs
-     * @throws IllegalAccessException if field access fails
+     * @see #findPage(PageCursor, int, SortKey)
      */
-    public void update(T obj) throws SQLException, IllegalAccessException {
-        String tableName = DAOUtils.getTableName(type);
-        List<Field> fields = DAOUtils.getFields(type);
-        Field pk = DAOUtils.getPrimaryKeyField(type);
-        Column pkCol = pk.getAnnotation(Column.class);
-
-        StringBuilder query = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
-        List<Object> params = new ArrayList<>();
-
-        String setClause = fields.stream()
-                .filter(field -> !field.equals(pk))
-                .map(field -> {
-                    Column col = field.getAnnotation(Column.class);
+    public Page<T> findPage(PageCursor after, int limit) throws SQLException {
+        return findPage(after, limit, null);
+    }
+
+    /**
+     * Fetches one page of records using keyset (seek) pagination.
+     * <p>
+     * Instead of skipping rows with {@code OFFSET}, the query continues right after the sort key of the
+     * last row already returned, e.g. {@code WHERE (name, id) > (?, ?) ORDER BY name, id LIMIT ?}. With an
+     * index on the sort key, every page therefore costs the same, however large the table grows.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of rows of the page
+     * @param sort the sort order, or {@code null} to sort by primary key
+     * @return the page
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the limit is not positive or the sort column is unknown or nullable
+     */
+    public Page<T> findPage(PageCursor after, int limit, SortKey sort) throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        String tableName = metadata.getTableName();
+        ColumnMetadata primaryKey = metadata.getPrimaryKey();
+        ColumnMetadata sortColumn = sort == null ? primaryKey : metadata.getColumn(sort.column());
+        if (!sortColumn.isPrimaryKey() && sortColumn.column().nullable()) {
+            throw new IllegalArgumentException("Cannot page on nullable column " + sortColumn.name());
+        }
+        boolean byKey = sortColumn.isPrimaryKey();
+        String sql = pageSql(sortColumn, sort != null && sort.descending(), after != null);
+        try (QueryTimer timer = time("findPage", sql);
+             Connection con = DbConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                if (!byKey) {
+                    ps.setObject(index++, after.sortValue());
+                }
+                ps.setObject(index++, after.id());
+            }
+            ps.setInt(index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                Page<T> page = readPage(rs, binder, limit, sortColumn.index(), primaryKey.index());
+                timer.succeeded(page.items().size());
+                return page;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error fetching page from table %s: %s", tableName, e.getMessage()));
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the keyset query of {@link #findPage(PageCursor, int, SortKey)}, ordered by the sort column and then
+     * by primary key, resuming after the cursor's row when there is one. The row limit is its last parameter.
+     *
+     * @param sortColumn the sort column, possibly the primary key
+     * @param descending whether rows are returned from the highest value to the lowest
+     * @param afterCursor whether the query resumes after a cursor, bound before the limit
+     * @return the SQL of the query
+     */
+    String pageSql(ColumnMetadata sortColumn, boolean descending, boolean afterCursor) {
+        ColumnMetadata primaryKey = metadata.getPrimaryKey();
+        boolean byKey = sortColumn.isPrimaryKey();
+        String direction = descending ? " DESC" : "";
+
+        StringBuilder query = new StringBuilder("SELECT ").append(metadata.getColumnList())
+                .append(" FROM ").append(metadata.getTableName());
+        if (afterCursor) {
+            query.append(" WHERE ")
+                    .append(byKey ? primaryKey.name() : "(" + sortColumn.name() + ", " + primaryKey.name() + ")")
+                    .append(descending ? " < " : " > ")
+                    .append(byKey ? "?" : "(?, ?)");
+        }
+        query.append(" ORDER BY ");
+        if (!byKey) {
+            query.append(sortColumn.name()).append(direction).append(", ");
+        }
+        query.append(primaryKey.name()).append(direction).append(" LIMIT ?");
+        return query.toString();
+    }
+
+    /**
+     * Reads a page from the result of a keyset query that requested {@code limit + 1} rows.
+     * <p>
+     * The extra row is not returned; it only tells whether a further page exists.
+     *
+     * @param rs the query result
+     * @param mapper the mapper converting rows
+     * @param limit the page size
+     * @param sortIndex the 1-based index of the sort column in the result
+     * @param idIndex the 1-based index of the primary key in the result
+     * @param <R> the type of the rows
+     * @return the page, with a cursor on its last row if more rows follow
+     * @throws SQLException if the result cannot be read
+     */
+    protected static <R> Page<R> readPage(ResultSet rs, RowMapper<R> mapper, int limit, int sortIndex, int idIndex)
+            throws SQLException {
+        List<R> items = new ArrayList<>(limit);
+        Object lastSortValue = null;
+        Object lastId = null;
+        while (rs.next()) {
+            if (items.size() == limit) {
+                return new Page<>(items, new PageCursor(lastSortValue, lastId));
+            }
+            items.add(mapper.mapRow(rs));
+            lastSortValue = rs.getObject(sortIndex);
+            lastId = rs.getObject(idIndex);
+        }
+        return new Page<>(items, null);
+    }
+
+    /**
+     * Streams all records of the entity with the {@linkplain #DEFAULT_FETCH_SIZE default fetch size}.
+     *
+     * @return a lazily populated stream of all entities, which must be closed
+     * @throws SQLException if the query cannot be started
+     * @see #streamAll(int)
+     */
+    public Stream<T> streamAll() throws SQLException {
+        return streamAll(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all records of the entity through a server-side cursor.
+     * <p>
+     * Unlike {@link #findAll()}, rows are fetched from the database {@code fetchSize} at a time while the
+     * stream is consumed, so only one batch of rows is held in memory. The connection stays borrowed, in an
+     * open transaction, until the stream is closed; use it in a try-with-resources block. Database
+     * errors raised while consuming the stream are rethrown as {@link RuntimeException}s wrapping the
+     * {@link SQLException}. The operation is timed until the first batch of rows is fetched.
+     *
+     * @param fetchSize the number of rows fetched per round trip
+     * @return a lazily populated stream of all entities, which must be closed
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<T> streamAll(int fetchSize) throws SQLException {
+        String tableName = metadata.getTableName();
+        String query = metadata.getSelectAllSql();
+
+        Connection con = DbConnection.getConnection();
+        PreparedStatement ps = null;
+        try (QueryTimer timer = time("streamAll", query)) {
+            // pgjdbc only uses a cursor, instead of reading the whole result, inside a transaction
+            con.setAutoCommit(false);
+            ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ResultSet rs = ps.executeQuery();
+            timer.succeeded(0);
+
+            PreparedStatement statement = ps;
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
                     try {
-                        field.setAccessible(true);
-                        params.add(field.get(obj));
-                    } catch (IllegalAccessException e) {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(binder.mapRow(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        LOGGER.severe(String.format("Error streaming entities from table %s: %s", tableName, e.getMessage()));
                         throw new RuntimeException(e);
                     }
-                    return col.name() + " = ?";
-                })
-                .collect(Collectors.joining(","));
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try (con; statement; rs) {
+                    // closing the borrowed connection rolls the transaction back and restores autocommit
+                } catch (SQLException e) {
+                    LOGGER.warning(String.format("Error closing stream over table %s: %s", tableName, e.getMessage()));
+                }
+            });
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error streaming entities from table %s: %s", tableName, e.getMessage()));
+            try (con) {
+                if (ps != null) {
+                    ps.close();
+                }
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
 
-        query.append(setClause).append(" WHERE ").append(pkCol.name()).append(" = ?");
-        pk.setAccessible(true);
-        params.add(pk.get(obj));
+    /**
+     * Updates an existing entity in the database.
+     *
+     * @param obj the updated object
+     * @throws SQLException if a database error occurs
+     * @throws IllegalAccessException if field access fails
+     */
+    public void update(T obj) throws SQLException, IllegalAccessException {
+        String tableName = metadata.getTableName();
+        String query = metadata.getUpdateSql();
+        int updated;
 
-        try (Connection con = DbConnection.getConnection();
-             PreparedStatement ps = con.prepareStatement(query.toString())) {
+        try (QueryTimer timer = time("update", query);
+             Connection con = DbConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(query)) {
 
-            for (int i = 0; i < params.size(); i++) {
-                ps.setObject(i + 1, params.get(i));
-            }
-            ps.executeUpdate();
+            int index = binder.bindInsert(ps, 1, obj);
+            ps.setObject(index, binder.getPrimaryKey(obj));
+            updated = ps.executeUpdate();
+            timer.succeeded(updated);
         } catch (SQLException e) {
             LOGGER.severe(String.format("Error updating entity in table %s: %s", tableName, e.getMessage()));
             throw e;
+        } finally {
+            cache().invalidate(binder.getPrimaryKey(obj));
+        }
+        if (updated > 0) {
+            publish(TableChange.Operation.UPDATE, binder.getPrimaryKey(obj), obj);
         }
     }
 
@@ -280,20 +742,56 @@ public class AbstractDAO<T> {
      * @throws Exception if an error occurs during deletion
      */
     public void delete(Object id) throws Exception {
-        String tableName = DAOUtils.getTableName(type);
-        Field pk = DAOUtils.getPrimaryKeyField(type);
-        Column pkCol = pk.getAnnotation(Column.class);
-
-        String query = "DELETE FROM " + tableName + " WHERE " + pkCol.name() + " = ?";
+        String tableName = metadata.getTableName();
+        String query = metadata.getDeleteSql();
+        int deleted;
 
-        try (Connection con = DbConnection.getConnection();
+        try (QueryTimer timer = time("delete", query);
+             Connection con = DbConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(query)) {
 
             ps.setObject(1, id);
-            ps.executeUpdate();
+            deleted = ps.executeUpdate();
+            timer.succeeded(deleted);
         } catch (SQLException e) {
             LOGGER.severe(String.format("Error deleting entity from table %s: %s", tableName, e.getMessage()));
             throw e;
+        } finally {
+            cache().invalidate(id);
         }
+        if (deleted > 0) {
+            publish(TableChange.Operation.DELETE, id, null);
+        }
+    }
+
+    /**
+     * Returns the cache region of the managed entity, which is disabled unless caching was enabled for it.
+     *
+     * @return the cache region
+     */
+    protected CacheRegion<T> cache() {
+        return EntityCaches.regionOf(type);
+    }
+
+    /**
+     * Starts timing a database operation on the managed entity.
+     *
+     * @param operation the name of the operation, e.g. {@code findAll}
+     * @param sql the SQL of the operation, logged if it is slow
+     * @return the timer, to close once the operation is over
+     */
+    protected QueryTimer time(String operation, String sql) {
+        return QueryMetrics.start(type.getSimpleName(), operation, sql);
+    }
+
+    /**
+     * Publishes a committed change of the managed entity's table on the {@link ChangeBus}.
+     *
+     * @param operation the kind of change
+     * @param id the primary key of the changed row, or {@code null} for a change of several rows
+     * @param row the new state of the row, or {@code null} if unknown or deleted
+     */
+    protected void publish(TableChange.Operation operation, Object id, Object row) {
+        ChangeBus.publish(TableChange.of(type, operation, id, row));
     }
 }
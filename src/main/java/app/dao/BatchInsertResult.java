@@ -0,0 +1,44 @@
+package app.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Outcome of a chunked batch insert performed by {@link AbstractDAO#insertBatch(List, int)}.
+ * <p>
+ * Every chunk is committed on its own, so a failing chunk is rolled back and reported without
+ * aborting the rest of the import.
+ *
+ * @param generatedIds the generated primary key of every input row, in input order;
+ *                     {@code null} for rows of failed chunks or for entities without a primary key
+ * @param insertedCount the number of rows actually inserted
+ * @param failures the chunks that could not be inserted
+ */
+public record BatchInsertResult(
+        List<Object> generatedIds,
+        int insertedCount,
+        List<ChunkFailure> failures
+) {
+
+    /**
+     * Whether every row was inserted.
+     *
+     * @return true if no chunk failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * A chunk of rows that was rolled back.
+     *
+     * @param fromIndex the index of the chunk's first row in the input list, inclusive
+     * @param toIndex the index of the chunk's last row in the input list, exclusive
+     * @param cause the error that made the chunk fail
+     */
+    public record ChunkFailure(
+            int fromIndex,
+            int toIndex,
+            SQLException cause
+    ) {}
+}
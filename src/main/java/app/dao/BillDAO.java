@@ -1,6 +1,7 @@
 package app.dao;
 
 import app.connection.DbConnection;
+import app.metrics.QueryTimer;
 import app.model.Bill;
 
 import java.sql.*;
@@ -37,23 +38,19 @@ public class BillDAO extends AbstractDAO<Bill> {
      * @return the {@link Bill} object if found, or {@code null} if no matching bill exists
      */
     public Bill getBillByOrderId(int orderId) {
-        String query = "SELECT * FROM Log WHERE orderId = ?";
+        String query = "SELECT " + metadata.getColumnList() + " FROM " + metadata.getTableName() + " WHERE orderId = ?";
 
         try (
+                QueryTimer timer = time("getBillByOrderId", query);
                 Connection con = DbConnection.getConnection();
                 PreparedStatement stmt = con.prepareStatement(query)
         ) {
             stmt.setInt(1, orderId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int id = rs.getInt("id");
-                    double amount = rs.getDouble("amount");
-                    Timestamp timestamp = rs.getTimestamp("timestamp");
-                    return new Bill(id, orderId, amount, timestamp);
-                } else {
-                    return null;
-                }
+                Bill bill = rs.next() ? binder.mapRow(rs) : null;
+                timer.succeeded(bill == null ? 0 : 1);
+                return bill;
             }
         } catch (SQLException e) {
             LOGGER.severe("Error fetching Bill by orderId: " + e.getMessage());
@@ -0,0 +1,406 @@
+package app.dao;
+
+import app.cache.ChangeBus;
+import app.cache.EntityCaches;
+import app.cache.TableChange;
+import app.connection.DbConnection;
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+import app.metrics.QueryMetrics;
+import app.metrics.QueryTimer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loader streaming entities into their table with PostgreSQL's {@code COPY ... FROM STDIN}.
+ * <p>
+ * Used for imports too large for {@link AbstractDAO#insertBatch(List, int)}. Rows are encoded one by one
+ * into a small reusable buffer that is flushed to the server whenever it fills up, so memory use stays flat
+ * regardless of the number of rows. The copied columns and their order come from the entity's {@code @Column}
+ * metadata; the primary key is left to the database.
+ * <p>
+ * The {@link Format#BINARY} format sends values in PostgreSQL's binary representation and therefore requires
+ * the Java field types to match the declared column types ({@code int} for integer columns, {@code double}
+ * for double precision, and so on). {@link Format#CSV} works with any column type PostgreSQL can parse from text.
+ *
+ * @param <T> the type of the entities loaded
+ */
+public class BulkLoader<T> {
+
+    /**
+     * Encoding used by {@code COPY}.
+     */
+    public enum Format {
+        /** Comma separated text rows. */
+        CSV,
+        /** PostgreSQL's binary copy format. */
+        BINARY
+    }
+
+    /**
+     * Logger shared with the DAOs.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AbstractDAO.class.getName());
+
+    /**
+     * Size at which the row buffer is flushed to the server.
+     */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    /**
+     * Signature starting every binary copy stream.
+     */
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    /**
+     * Epoch of PostgreSQL's binary timestamps.
+     */
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    /**
+     * Mapping metadata of the loaded entity.
+     */
+    private final EntityMetadata<T> metadata;
+
+    /**
+     * Copied columns, in column order.
+     */
+    private final List<ColumnMetadata> columns;
+
+    /**
+     * Handles of type {@code (Object)Object} reading each copied column.
+     */
+    private final MethodHandle[] getters;
+
+    /**
+     * Constructs a bulk loader for the given entity type.
+     *
+     * @param type the class of the entities loaded
+     */
+    public BulkLoader(Class<T> type) {
+        this.metadata = EntityMetadata.of(type);
+        this.columns = metadata.getInsertColumns();
+        this.getters = new MethodHandle[columns.size()];
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                getters[i] = MethodHandles.lookup().unreflectGetter(columns.get(i).field())
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read column field " + columns.get(i).field(), e);
+            }
+        }
+    }
+
+    /**
+     * Streams the given entities into the table.
+     *
+     * @param rows the entities to load
+     * @param format the copy encoding
+     * @return the number of rows loaded
+     * @throws SQLException if the copy fails; no rows are loaded in that case
+     */
+    public long load(Stream<? extends T> rows, Format format) throws SQLException {
+        return load(rows.iterator(), format);
+    }
+
+    /**
+     * Streams the given entities into the table.
+     *
+     * @param rows the entities to load
+     * @param format the copy encoding
+     * @return the number of rows loaded
+     * @throws SQLException if the copy fails; no rows are loaded in that case
+     */
+    public long load(Iterable<? extends T> rows, Format format) throws SQLException {
+        return load(rows.iterator(), format);
+    }
+
+    /**
+     * Streams the given entities into the table.
+     *
+     * @param rows the entities to load
+     * @param format the copy encoding
+     * @return the number of rows loaded
+     * @throws SQLException if the copy fails; no rows are loaded in that case
+     */
+    public long load(Iterator<? extends T> rows, Format format) throws SQLException {
+        String tableName = metadata.getTableName();
+        String query = "COPY " + tableName + " (" + metadata.getInsertColumnList() + ") FROM STDIN WITH (FORMAT "
+                + format.name().toLowerCase() + ")";
+
+        long loaded;
+        try (QueryTimer timer = QueryMetrics.start(metadata.getType().getSimpleName(), "bulkLoad", query);
+             Connection con = DbConnection.getConnection()) {
+            CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(query);
+            try {
+                CopyBuffer buffer = new CopyBuffer();
+                if (format == Format.BINARY) {
+                    buffer.write(BINARY_SIGNATURE);
+                    buffer.writeInt(0); // flags
+                    buffer.writeInt(0); // header extension length
+                }
+                while (rows.hasNext()) {
+                    T row = rows.next();
+                    if (format == Format.BINARY) {
+                        encodeBinary(row, buffer);
+                    } else {
+                        encodeCsv(row, buffer);
+                    }
+                    if (buffer.size() >= FLUSH_THRESHOLD) {
+                        buffer.flushTo(copyIn);
+                    }
+                }
+                if (format == Format.BINARY) {
+                    buffer.writeShort(-1); // trailer
+                }
+                buffer.flushTo(copyIn);
+                loaded = copyIn.endCopy();
+                timer.succeeded(loaded);
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error bulk loading into table %s: %s", tableName, e.getMessage()));
+            throw e;
+        } finally {
+            EntityCaches.regionOf(metadata.getType()).invalidateQueries();
+        }
+        if (loaded > 0) {
+            ChangeBus.publish(TableChange.of(metadata.getType(), TableChange.Operation.INSERT, null, null));
+        }
+        return loaded;
+    }
+
+    /**
+     * Encodes one entity as a CSV line.
+     *
+     * @param row the entity
+     * @param out the buffer receiving the line
+     */
+    private void encodeCsv(T row, CopyBuffer out) {
+        for (int i = 0; i < getters.length; i++) {
+            if (i > 0) {
+                out.writeByte(',');
+            }
+            Object value = read(getters[i], row);
+            if (value == null) {
+                continue; // an unquoted empty field is NULL
+            }
+            if (value instanceof Number || value instanceof Boolean || value instanceof Timestamp) {
+                out.writeAscii(value.toString());
+            } else {
+                out.writeByte('"');
+                out.write(value.toString().replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+                out.writeByte('"');
+            }
+        }
+        out.writeByte('\n');
+    }
+
+    /**
+     * Encodes one entity as a binary copy tuple.
+     *
+     * @param row the entity
+     * @param out the buffer receiving the tuple
+     * @throws IllegalArgumentException if a value has no binary encoding
+     */
+    private void encodeBinary(T row, CopyBuffer out) {
+        out.writeShort(getters.length);
+        for (MethodHandle getter : getters) {
+            Object value = read(getter, row);
+            if (value == null) {
+                out.writeInt(-1);
+            } else if (value instanceof Integer v) {
+                out.writeInt(4);
+                out.writeInt(v);
+            } else if (value instanceof Long v) {
+                out.writeInt(8);
+                out.writeLong(v);
+            } else if (value instanceof Short v) {
+                out.writeInt(2);
+                out.writeShort(v);
+            } else if (value instanceof Double v) {
+                out.writeInt(8);
+                out.writeLong(Double.doubleToLongBits(v));
+            } else if (value instanceof Float v) {
+                out.writeInt(4);
+                out.writeInt(Float.floatToIntBits(v));
+            } else if (value instanceof Boolean v) {
+                out.writeInt(1);
+                out.writeByte(v ? 1 : 0);
+            } else if (value instanceof Timestamp v) {
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, v.toLocalDateTime()));
+            } else if (value instanceof String v) {
+                byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else {
+                throw new IllegalArgumentException("No binary COPY encoding for " + value.getClass().getName()
+                        + (value instanceof BigDecimal ? ", use the CSV format" : ""));
+            }
+        }
+    }
+
+    /**
+     * Invokes a getter handle.
+     *
+     * @param getter the getter
+     * @param row the entity to read from
+     * @return the field value
+     */
+    private static Object read(MethodHandle getter, Object row) {
+        try {
+            return (Object) getter.invokeExact(row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Returns the names of the copied columns, in the order values are sent.
+     *
+     * @return the column names
+     */
+    public List<String> getColumnNames() {
+        return columns.stream().map(ColumnMetadata::name).collect(Collectors.toList());
+    }
+
+    /**
+     * Growable byte buffer holding encoded rows until they are flushed to the server.
+     */
+    private static final class CopyBuffer {
+
+        /**
+         * Buffered bytes.
+         */
+        private byte[] bytes = new byte[FLUSH_THRESHOLD + 1024];
+
+        /**
+         * Number of buffered bytes.
+         */
+        private int size;
+
+        /**
+         * Gets the number of buffered bytes.
+         *
+         * @return the buffered size
+         */
+        private int size() {
+            return size;
+        }
+
+        /**
+         * Makes room for the given number of additional bytes.
+         *
+         * @param extra the number of bytes about to be written
+         */
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        /**
+         * Appends a single byte.
+         *
+         * @param b the byte
+         */
+        private void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        /**
+         * Appends a big-endian 16-bit integer.
+         *
+         * @param v the value
+         */
+        private void writeShort(int v) {
+            ensure(2);
+            bytes[size++] = (byte) (v >>> 8);
+            bytes[size++] = (byte) v;
+        }
+
+        /**
+         * Appends a big-endian 32-bit integer.
+         *
+         * @param v the value
+         */
+        private void writeInt(int v) {
+            ensure(4);
+            bytes[size++] = (byte) (v >>> 24);
+            bytes[size++] = (byte) (v >>> 16);
+            bytes[size++] = (byte) (v >>> 8);
+            bytes[size++] = (byte) v;
+        }
+
+        /**
+         * Appends a big-endian 64-bit integer.
+         *
+         * @param v the value
+         */
+        private void writeLong(long v) {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        /**
+         * Appends raw bytes.
+         *
+         * @param b the bytes
+         */
+        private void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        /**
+         * Appends an ASCII-only string.
+         *
+         * @param s the string
+         */
+        private void writeAscii(String s) {
+            ensure(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                bytes[size++] = (byte) s.charAt(i);
+            }
+        }
+
+        /**
+         * Sends the buffered bytes to the server and empties the buffer.
+         *
+         * @param copyIn the running copy operation
+         * @throws SQLException if the bytes cannot be sent
+         */
+        private void flushTo(CopyIn copyIn) throws SQLException {
+            if (size > 0) {
+                copyIn.writeToCopy(bytes, 0, size);
+                size = 0;
+            }
+        }
+    }
+}
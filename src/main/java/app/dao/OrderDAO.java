@@ -2,6 +2,13 @@ package app.dao;
 
 import javafx.collections.FXCollections;
 import app.connection.DbConnection;
+import app.dao.mapping.EntityBinders;
+import app.dao.mapping.RowMapper;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.dao.paging.SortKey;
+import app.dao.utils.EntityMetadata;
+import app.metrics.QueryTimer;
 import app.model.Order;
 import app.model.OrderDetails;
 
@@ -9,7 +16,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO class for handling database operations related to the {@link Order} entity.
@@ -18,6 +27,28 @@ import java.util.List;
  */
 public class OrderDAO extends AbstractDAO<Order> {
 
+    /**
+     * Query joining tables Orders, Clients and Products, selecting the columns in the column order of {@link OrderDetails}.
+     */
+    private static final String DETAILED_ORDERS_QUERY =
+            "SELECT o.id AS order_id, (c.first_name || ' ' || c.last_name) AS client_name, " +
+            "p.name AS product_name, o.quantity, o.total_price, o.order_date " +
+            "FROM Orders o " +
+            "JOIN Clients c ON o.client_id = c.id " +
+            "JOIN Products p ON o.product_id = p.id";
+
+    /**
+     * SQL expressions the detailed orders can be sorted by, keyed by {@link OrderDetails} column name.
+     */
+    private static final Map<String, String> DETAILED_SORT_EXPRESSIONS = Map.of(
+            "order_id", "o.id",
+            "client_name", "(c.first_name || ' ' || c.last_name)",
+            "product_name", "p.name",
+            "quantity", "o.quantity",
+            "total_price", "o.total_price",
+            "order_date", "o.order_date"
+    );
+
     /**
      * Constructs a new {@code OrderDAO} for handling {@link Order} entities.
      */
@@ -37,27 +68,17 @@ public class OrderDAO extends AbstractDAO<Order> {
         PreparedStatement ps = null;
         ResultSet rs = null;
 
-        try {
+        try (QueryTimer timer = time("getDetailedOrders", DETAILED_ORDERS_QUERY)) {
             con = DbConnection.getConnection();
-            String query = "SELECT o.id AS order_id, CONCAT(c.first_name, ' ', c.last_name) AS client_name, " +
-                    "p.name AS product_name, o.quantity, o.total_price, o.order_date " +
-                    "FROM Orders o " +
-                    "JOIN Clients c ON o.client_id = c.id " +
-                    "JOIN Products p ON o.product_id = p.id";
-
-            ps = con.prepareStatement(query);
+            ps = con.prepareStatement(DETAILED_ORDERS_QUERY);
             rs = ps.executeQuery();
 
+            // The selected columns follow the column order of OrderDetails, which the mapper reads by index.
+            RowMapper<OrderDetails> mapper = EntityBinders.of(OrderDetails.class);
             while (rs.next()) {
-                orders.add(new OrderDetails(
-                        rs.getInt("order_id"),
-                        rs.getString("client_name"),
-                        rs.getString("product_name"),
-                        rs.getInt("quantity"),
-                        rs.getDouble("total_price"),
-                        rs.getTimestamp("order_date")
-                ));
+                orders.add(mapper.mapRow(rs));
             }
+            timer.succeeded(orders.size());
         } catch(SQLException e) {
             LOGGER.severe(String.format("Error generating order details: %s", e.getMessage()));
             throw e;
@@ -71,23 +92,142 @@ public class OrderDAO extends AbstractDAO<Order> {
     }
 
     /**
-     * Retrieves the ID of the last inserted order.
+     * Retrieves one page of detailed orders using keyset pagination.
+     * <p>
+     * Orders are sorted by the given {@link OrderDetails} column and then by order ID; the next page
+     * continues after the cursor's row instead of skipping rows with {@code OFFSET}.
      *
-     * @return the last inserted order ID, or -1 if it doesn't exist
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @param sort the sort order, or {@code null} to sort by order ID
+     * @return the page of detailed orders
      * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the limit is not positive or the sort column is unknown
+     * @see #getDetailedOrdersPage(OrderQuery, PageCursor, int)
      */
-    public int getLastId() throws SQLException {
-        String query = "SELECT id FROM orders ORDER BY id DESC LIMIT 1";
+    public Page<OrderDetails> getDetailedOrdersPage(PageCursor after, int limit, SortKey sort) throws SQLException {
+        return getDetailedOrdersPage(OrderQuery.all().withSort(sort), after, limit);
+    }
 
-        try (Connection con = DbConnection.getConnection();
-             PreparedStatement ps = con.prepareStatement(query);
-             ResultSet rs = ps.executeQuery()) {
+    /**
+     * Retrieves one page of the detailed orders matching a query, using keyset pagination.
+     * <p>
+     * The query's criteria become a parameterized {@code WHERE} clause evaluated by the database, so only the
+     * rows of the page are sent. Orders are sorted by the query's {@link OrderDetails} column and then by order
+     * ID; the next page continues after the cursor's row instead of skipping rows with {@code OFFSET}.
+     *
+     * @param query the filter and sort specification
+     * @param after the cursor returned with the previous page of the same query, or {@code null} for the first page
+     * @param limit the maximum number of orders of the page
+     * @return the page of detailed orders
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the limit is not positive or the sort column is unknown
+     */
+    public Page<OrderDetails> getDetailedOrdersPage(OrderQuery query, PageCursor after, int limit) throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        SortKey sort = query.sort();
+        String sortColumn = sort == null ? "order_id" : sort.column();
+        String sortExpression = DETAILED_SORT_EXPRESSIONS.get(sortColumn);
+        if (sortExpression == null) {
+            throw new IllegalArgumentException("Cannot sort detailed orders by " + sortColumn);
+        }
+        boolean byKey = sortColumn.equals("order_id");
+        boolean descending = sort != null && sort.descending();
+        String direction = descending ? " DESC" : "";
 
-            if (rs.next()) {
-                return rs.getInt("id");
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        addFilters(query, conditions, params);
+        if (after != null) {
+            if (byKey) {
+                conditions.add("o.id" + (descending ? " < " : " > ") + "?");
             } else {
-                return -1;
+                conditions.add("(" + sortExpression + ", o.id)" + (descending ? " < " : " > ") + "(?, ?)");
+                params.add(after.sortValue());
             }
+            params.add(after.id());
+        }
+
+        StringBuilder sql = new StringBuilder(DETAILED_ORDERS_QUERY);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ");
+        if (!byKey) {
+            sql.append(sortExpression).append(direction).append(", ");
+        }
+        sql.append("o.id").append(direction).append(" LIMIT ?");
+
+        String statement = sql.toString();
+        try (QueryTimer timer = time("getDetailedOrdersPage", statement);
+             Connection con = DbConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(statement)) {
+
+            int index = 1;
+            for (Object param : params) {
+                ps.setObject(index++, param);
+            }
+            ps.setInt(index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                EntityMetadata<OrderDetails> details = EntityMetadata.of(OrderDetails.class);
+                Page<OrderDetails> page = readPage(rs, EntityBinders.of(OrderDetails.class), limit,
+                        details.getColumn(sortColumn).index(), details.getColumn("order_id").index());
+                timer.succeeded(page.items().size());
+                return page;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error generating order details page: %s", e.getMessage()));
+            throw e;
+        }
+    }
+
+    /**
+     * Translates the criteria of a query into SQL conditions and their parameters.
+     * <p>
+     * The search matches the text anywhere in the client or product name with {@code ILIKE '%...%'}, which a
+     * B-tree index cannot serve. The trigram GIN indexes declared on {@link app.model.Client} and
+     * {@link app.model.Product} can, so the search expressions must stay identical to the indexed ones. Each name
+     * is searched in a subquery on its own table, since a condition spanning both joined tables could use neither index.
+     * Searches shorter than three characters have no complete trigram and still scan the names.
+     *
+     * @param query the query
+     * @param conditions receives one condition per criterion, with {@code ?} placeholders
+     * @param params receives the parameters of the conditions, in placeholder order
+     */
+    private static void addFilters(OrderQuery query, List<String> conditions, List<Object> params) {
+        if (query.clientId() != null) {
+            conditions.add("o.client_id = ?");
+            params.add(query.clientId());
+        }
+        if (query.productId() != null) {
+            conditions.add("o.product_id = ?");
+            params.add(query.productId());
+        }
+        if (query.from() != null) {
+            conditions.add("o.order_date >= ?");
+            params.add(query.from());
+        }
+        if (query.to() != null) {
+            conditions.add("o.order_date < ?");
+            params.add(query.to());
+        }
+        if (query.minTotal() != null) {
+            conditions.add("o.total_price >= ?");
+            params.add(query.minTotal());
+        }
+        if (query.maxTotal() != null) {
+            conditions.add("o.total_price <= ?");
+            params.add(query.maxTotal());
+        }
+        if (query.search() != null) {
+            String pattern = "%" + query.search().replace("\\", "\\\\")
+                    .replace("%", "\\%").replace("_", "\\_") + "%";
+            conditions.add("(o.client_id IN (SELECT id FROM Clients WHERE (first_name || ' ' || last_name) ILIKE ?)"
+                    + " OR o.product_id IN (SELECT id FROM Products WHERE name ILIKE ?))");
+            params.add(pattern);
+            params.add(pattern);
         }
     }
 }
@@ -0,0 +1,131 @@
+package app.dao;
+
+import app.dao.paging.SortKey;
+
+import java.sql.Timestamp;
+
+/**
+ * Filter and sort specification of a detailed orders query, see
+ * {@link OrderDAO#getDetailedOrdersPage(OrderQuery, app.dao.paging.PageCursor, int)}.
+ * <p>
+ * Every criterion is optional; a {@code null} value does not restrict the orders. Criteria are combined with
+ * {@code AND} and sent as statement parameters, never concatenated into the SQL. Instances are immutable: the
+ * {@code with...} methods return a copy with one criterion changed, starting from {@link #all()}.
+ *
+ * @param clientId only orders of this client
+ * @param productId only orders of this product
+ * @param from only orders placed at or after this time
+ * @param to only orders placed before this time
+ * @param minTotal only orders with at least this total price
+ * @param maxTotal only orders with at most this total price
+ * @param search only orders whose client or product name contains this text, ignoring case
+ * @param sort the sort order, {@code null} to sort by ascending order ID
+ */
+public record OrderQuery(
+        Integer clientId,
+        Integer productId,
+        Timestamp from,
+        Timestamp to,
+        Double minTotal,
+        Double maxTotal,
+        String search,
+        SortKey sort
+) {
+
+    /**
+     * Query returning every order, sorted by order ID.
+     */
+    private static final OrderQuery ALL = new OrderQuery(null, null, null, null, null, null, null, null);
+
+    /**
+     * Normalizes the search text, so that a blank search does not restrict the orders.
+     */
+    public OrderQuery {
+        if (search != null) {
+            search = search.strip();
+            if (search.isEmpty()) {
+                search = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the query returning every order, sorted by order ID.
+     *
+     * @return the unrestricted query
+     */
+    public static OrderQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a copy restricted to the orders of a client.
+     *
+     * @param clientId the client's ID, or {@code null} for every client
+     * @return the new query
+     */
+    public OrderQuery withClient(Integer clientId) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Returns a copy restricted to the orders of a product.
+     *
+     * @param productId the product's ID, or {@code null} for every product
+     * @return the new query
+     */
+    public OrderQuery withProduct(Integer productId) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Returns a copy restricted to the orders placed in a time range.
+     *
+     * @param from the inclusive start, or {@code null} for no lower bound
+     * @param to the exclusive end, or {@code null} for no upper bound
+     * @return the new query
+     */
+    public OrderQuery withDateRange(Timestamp from, Timestamp to) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Returns a copy restricted to the orders whose total price is in a range.
+     *
+     * @param minTotal the inclusive minimum, or {@code null} for no minimum
+     * @param maxTotal the inclusive maximum, or {@code null} for no maximum
+     * @return the new query
+     */
+    public OrderQuery withTotalRange(Double minTotal, Double maxTotal) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Returns a copy restricted to the orders whose client or product name contains a text.
+     *
+     * @param search the text, or {@code null} or blank for no restriction
+     * @return the new query
+     */
+    public OrderQuery withSearch(String search) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Returns a copy with another sort order.
+     *
+     * @param sort the sort order, or {@code null} to sort by ascending order ID
+     * @return the new query
+     */
+    public OrderQuery withSort(SortKey sort) {
+        return new OrderQuery(clientId, productId, from, to, minTotal, maxTotal, search, sort);
+    }
+
+    /**
+     * Whether the orders are sorted by ascending order ID, so that newly placed orders come last.
+     *
+     * @return true if the query has the default sort order
+     */
+    public boolean isSortedById() {
+        return sort == null || (sort.column().equals("order_id") && !sort.descending());
+    }
+}
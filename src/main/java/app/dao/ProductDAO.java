@@ -1,12 +1,17 @@
 package app.dao;
 
+import app.cache.TableChange;
 import app.connection.DbConnection;
+import app.metrics.QueryTimer;
 import app.model.Product;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * DAO class for handling database operations related to the {@link Product} entity.
@@ -14,6 +19,42 @@ import java.sql.SQLException;
  */
 public class ProductDAO extends AbstractDAO<Product>{
 
+    /**
+     * Decrements the stock of one product if enough is available, reporting the outcome in the same
+     * round trip. The parameters are the quantity, the product ID, the quantity and the product ID.
+     * <p>
+     * The outer SELECT reads the product from the statement's snapshot, i.e. its stock before the
+     * update, which tells an insufficient stock apart from a missing product.
+     */
+    private static final String DECREASE_STOCK_QUERY =
+            "WITH updated AS (" +
+            "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ? RETURNING stock, price) " +
+            "SELECT u.stock AS remaining, p.stock AS current, COALESCE(u.price, p.price) AS price " +
+            "FROM (SELECT 1) AS one " +
+            "LEFT JOIN updated u ON true " +
+            "LEFT JOIN products p ON p.id = ?";
+
+    /**
+     * Decrements the stock of every product of a basket that has enough available, reporting every line.
+     * The parameters are the product ID array and the quantity array.
+     * <p>
+     * Rows are locked in ID order before being updated, so concurrent baskets sharing products
+     * wait for each other instead of deadlocking.
+     */
+    private static final String DECREASE_BASKET_STOCK_QUERY =
+            "WITH req AS (" +
+            "SELECT * FROM unnest(?::int[], ?::int[]) AS r(id, qty)), " +
+            "locked AS (" +
+            "SELECT p.id FROM products p JOIN req r ON r.id = p.id ORDER BY p.id FOR UPDATE OF p), " +
+            "updated AS (" +
+            "UPDATE products p SET stock = p.stock - r.qty FROM req r JOIN locked l ON l.id = r.id " +
+            "WHERE p.id = r.id AND p.stock >= r.qty RETURNING p.id, p.stock, p.price) " +
+            "SELECT r.id, u.stock AS remaining, p.stock AS current, COALESCE(u.price, p.price) AS price " +
+            "FROM req r " +
+            "LEFT JOIN updated u ON u.id = r.id " +
+            "LEFT JOIN products p ON p.id = r.id " +
+            "ORDER BY r.id";
+
     /**
      * Constructs a new {@code ProductDAO} for performing operations on {@link Product} entities.
      */
@@ -22,39 +63,149 @@ public class ProductDAO extends AbstractDAO<Product>{
     }
 
     /**
-     * Decreases the stock of a product given by its id by a given quantity.
+     * Decreases the stock of a product given by its id by a given quantity, if enough stock is available.
+     * <p>
+     * The check and the decrement are a single conditional {@code UPDATE}, so concurrent orders cannot
+     * oversell a product, and the whole operation takes one round trip.
      *
      * @param productId the ID of the product whose stock is to be decreased
      * @param quantity the quantity by which the stock will be decreased
+     * @return the outcome, with the remaining stock on success
      * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the quantity is not positive
      */
-    public void decreaseStock(int productId, int quantity) throws SQLException {
-        Connection con = null;
-        PreparedStatement ps = null;
-
-        try {
-            con = DbConnection.getConnection();
+    public StockUpdateResult decreaseStock(int productId, int quantity) throws SQLException {
+        StockUpdateResult result;
+        try (Connection con = DbConnection.getConnection()) {
+            result = decreaseStock(con, productId, quantity);
+        }
+        if (result.isSuccess()) {
+            publish(TableChange.Operation.UPDATE, productId, null);
+        }
+        return result;
+    }
 
-            String checkStockQuery = "SELECT stock FROM products WHERE id = ?";
-            ps = con.prepareStatement(checkStockQuery);
-            ps.setInt(1, productId);
-            ResultSet rs = ps.executeQuery();
+    /**
+     * Decreases the stock of a product on the given connection, as part of the caller's transaction.
+     * The connection is neither committed nor closed.
+     *
+     * @param con the connection to use
+     * @param productId the ID of the product whose stock is to be decreased
+     * @param quantity the quantity by which the stock will be decreased
+     * @return the outcome, with the remaining stock on success
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @see #decreaseStock(int, int)
+     */
+    public StockUpdateResult decreaseStock(Connection con, int productId, int quantity) throws SQLException {
+        requirePositive(quantity);
 
-            if (rs.next()) {
-                int currentStock = rs.getInt("stock");
-                if (currentStock < quantity) {
-                    throw new IllegalStateException("Not enough stock available!");
-                }
-            }
+        try (QueryTimer timer = time("decreaseStock", DECREASE_STOCK_QUERY);
+             PreparedStatement ps = con.prepareStatement(DECREASE_STOCK_QUERY)) {
 
-            String updateQuery = "UPDATE products SET stock = stock - ? WHERE id = ?";
-            ps = con.prepareStatement(updateQuery);
             ps.setInt(1, quantity);
             ps.setInt(2, productId);
-            ps.executeUpdate();
+            ps.setInt(3, quantity);
+            ps.setInt(4, productId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                StockUpdateResult result = toResult(productId, rs);
+                timer.succeeded(result.isSuccess() ? 1 : 0);
+                return result;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error decreasing stock of product %d: %s", productId, e.getMessage()));
+            throw e;
         } finally {
-            DbConnection.closeStatement(ps);
-            DbConnection.closeConnection(con);
+            cache().invalidate(productId);
+        }
+    }
+
+    /**
+     * Decreases the stock of all products of a basket in one statement and one transaction.
+     * <p>
+     * The basket is applied only if every product has enough stock; otherwise nothing is changed.
+     * Either way the result lists every product, in ID order, with the status its line had; a basket
+     * is applied exactly when {@link StockUpdateResult#allSucceeded(List)} holds for it.
+     *
+     * @param quantities the quantity to remove by product ID
+     * @return the outcome of every product of the basket
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if a quantity is not positive
+     */
+    public List<StockUpdateResult> decreaseStock(Map<Integer, Integer> quantities) throws SQLException {
+        quantities.values().forEach(ProductDAO::requirePositive);
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+
+        List<StockUpdateResult> results = new ArrayList<>(quantities.size());
+        try (QueryTimer timer = time("decreaseBasketStock", DECREASE_BASKET_STOCK_QUERY);
+             Connection con = DbConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(DECREASE_BASKET_STOCK_QUERY)) {
+                ps.setArray(1, con.createArrayOf("integer", quantities.keySet().toArray()));
+                ps.setArray(2, con.createArrayOf("integer", quantities.values().toArray()));
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        results.add(toResult(rs.getInt("id"), rs));
+                    }
+                }
+                if (StockUpdateResult.allSucceeded(results)) {
+                    con.commit();
+                    timer.succeeded(results.size());
+                } else {
+                    con.rollback();
+                    timer.succeeded(0);
+                }
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOGGER.severe(String.format("Error decreasing stock of basket %s: %s", quantities, e.getMessage()));
+            throw e;
+        } finally {
+            quantities.keySet().forEach(cache()::invalidate);
+        }
+        if (StockUpdateResult.allSucceeded(results)) {
+            quantities.keySet().forEach(id -> publish(TableChange.Operation.UPDATE, id, null));
+        }
+        return results;
+    }
+
+    /**
+     * Reads the outcome of one product from a row with {@code remaining} and {@code current} stock columns
+     * and a {@code price} column.
+     *
+     * @param productId the ID of the product
+     * @param rs the result positioned on the product's row
+     * @return the outcome
+     * @throws SQLException if the row cannot be read
+     */
+    private static StockUpdateResult toResult(int productId, ResultSet rs) throws SQLException {
+        double price = rs.getDouble("price");
+        int remaining = rs.getInt("remaining");
+        if (!rs.wasNull()) {
+            return new StockUpdateResult(productId, StockUpdateResult.Status.SUCCESS, remaining, price);
+        }
+        int current = rs.getInt("current");
+        if (!rs.wasNull()) {
+            return new StockUpdateResult(productId, StockUpdateResult.Status.INSUFFICIENT_STOCK, current, price);
+        }
+        return new StockUpdateResult(productId, StockUpdateResult.Status.NOT_FOUND, -1, 0);
+    }
+
+    /**
+     * Rejects quantities that would not decrease the stock.
+     *
+     * @param quantity the requested quantity
+     * @throws IllegalArgumentException if the quantity is not positive
+     */
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
         }
     }
 }
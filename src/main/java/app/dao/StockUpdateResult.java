@@ -0,0 +1,52 @@
+package app.dao;
+
+import java.util.List;
+
+/**
+ * Outcome of a conditional stock decrement performed by {@link ProductDAO#decreaseStock(int, int)}.
+ *
+ * @param productId the ID of the product
+ * @param status whether the stock was decreased, and why not otherwise
+ * @param stock the remaining stock after a successful decrement, the unchanged current stock if it was
+ *              insufficient, or {@code -1} if the product does not exist
+ * @param price the product's price read by the same statement that decreased the stock, so it is the price
+ *              in effect within the caller's transaction, or {@code 0} if the product does not exist
+ */
+public record StockUpdateResult(
+        int productId,
+        Status status,
+        int stock,
+        double price
+) {
+
+    /**
+     * Result of a stock decrement.
+     */
+    public enum Status {
+        /** The stock was decreased. */
+        SUCCESS,
+        /** The product has less stock than requested; nothing was changed. */
+        INSUFFICIENT_STOCK,
+        /** No product has the given ID. */
+        NOT_FOUND
+    }
+
+    /**
+     * Whether the stock was decreased.
+     *
+     * @return true if the status is {@link Status#SUCCESS}
+     */
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * Whether every line of a basket could be decreased.
+     *
+     * @param results the per-product results of a basket
+     * @return true if every result is successful
+     */
+    public static boolean allSucceeded(List<StockUpdateResult> results) {
+        return results.stream().allMatch(StockUpdateResult::isSuccess);
+    }
+}
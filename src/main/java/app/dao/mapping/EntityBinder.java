@@ -0,0 +1,60 @@
+package app.dao.mapping;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Moves an entity's column values between Java objects and JDBC statements.
+ * <p>
+ * Besides mapping rows (see {@link RowMapper}), a binder writes an entity's insertable columns into
+ * statement parameters and reads or assigns its primary key. Binders are either generated at compile time by the
+ * {@code app-processor} annotation processor, one {@code <Entity>_Binder} class per {@code @Table}
+ * entity, or bound at runtime through reflection when no generated class exists (see {@link EntityBinders}).
+ *
+ * @param <T> the entity type
+ */
+public interface EntityBinder<T> extends RowMapper<T> {
+
+    /**
+     * Binds every non primary key column of the entity, in column order, starting at the given parameter index.
+     *
+     * @param ps the statement to bind
+     * @param index the 1-based index of the first parameter to bind
+     * @param entity the entity whose values are bound
+     * @return the index of the next unbound parameter
+     * @throws SQLException if a parameter cannot be set
+     */
+    int bindInsert(PreparedStatement ps, int index, T entity) throws SQLException;
+
+    /**
+     * Reads the primary key of an entity.
+     *
+     * @param entity the entity
+     * @return the primary key value
+     * @throws UnsupportedOperationException if the entity has no primary key
+     */
+    Object getPrimaryKey(T entity);
+
+    /**
+     * Returns the entity carrying a primary key generated by the database.
+     * <p>
+     * Mutable entities get the key assigned and are returned as is; immutable ones, such as records,
+     * are copied into a new instance holding the key.
+     *
+     * @param entity the inserted entity
+     * @param key the generated primary key
+     * @return the entity with its primary key set
+     * @throws UnsupportedOperationException if the entity has no primary key or it cannot be assigned
+     */
+    T withPrimaryKey(T entity, Object key);
+
+    /**
+     * Returns an independent copy of an entity, so that an instance kept in a cache cannot be changed through
+     * the instances handed out to callers. Immutable entities, such as records, are returned as is.
+     *
+     * @param entity the entity to copy
+     * @return an entity with the same column values
+     * @throws UnsupportedOperationException if the entity cannot be instantiated from its column values
+     */
+    T copy(T entity);
+}
@@ -0,0 +1,109 @@
+package app.dao.mapping;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves and caches the {@link EntityBinder} of each entity class.
+ * <p>
+ * A compile-time generated binder named {@code <Entity>_Binder}, in the entity's package, is used when
+ * it exists. Otherwise a {@link ReflectiveEntityBinder} is bound at runtime, so the DAO layer works the
+ * same with or without the annotation processor.
+ */
+public final class EntityBinders {
+
+    /**
+     * Suffix appended to the entity class name to form the generated binder class name.
+     */
+    public static final String GENERATED_SUFFIX = "_Binder";
+
+    /**
+     * Logger instance for reporting unusable generated binders.
+     */
+    private static final Logger LOGGER = Logger.getLogger(EntityBinders.class.getName());
+
+    /**
+     * Per-class cache of binders.
+     */
+    private static final ClassValue<EntityBinder<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityBinder<?> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Per-class cache of reflective binders, also used by generated binders for the methods they delegate.
+     */
+    private static final ClassValue<EntityBinder<?>> REFLECTIVE = new ClassValue<>() {
+        @Override
+        protected EntityBinder<?> computeValue(Class<?> type) {
+            return new ReflectiveEntityBinder<>(type);
+        }
+    };
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private EntityBinders() {}
+
+    /**
+     * Returns the binder of an entity class.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the generated binder if one exists, otherwise a reflective one
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityBinder<T> of(Class<T> type) {
+        return (EntityBinder<T>) CACHE.get(type);
+    }
+
+    /**
+     * Returns the reflective binder of an entity class, whether or not a generated binder exists.
+     * Generated binders delegate to it the methods the entity's public API cannot support.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the reflective binder
+     * @throws IllegalStateException if the entity's columns cannot be bound
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityBinder<T> reflective(Class<T> type) {
+        return (EntityBinder<T>) REFLECTIVE.get(type);
+    }
+
+    /**
+     * Whether a compile-time generated binder is used for the entity class.
+     *
+     * @param type the entity class
+     * @return true if the binder was generated
+     */
+    public static boolean isGenerated(Class<?> type) {
+        return !(of(type) instanceof ReflectiveEntityBinder);
+    }
+
+    /**
+     * Loads the generated binder of an entity class, falling back to a reflective binder.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the binder
+     */
+    private static <T> EntityBinder<T> resolve(Class<T> type) {
+        String binderName = type.getName() + GENERATED_SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, type.getClassLoader());
+            @SuppressWarnings("unchecked")
+            EntityBinder<T> binder = (EntityBinder<T>) binderClass.getDeclaredConstructor().newInstance();
+            return binder;
+        } catch (ClassNotFoundException e) {
+            return reflective(type);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            LOGGER.log(Level.WARNING, "Ignoring unusable generated binder " + binderName, cause);
+            return reflective(type);
+        }
+    }
+}
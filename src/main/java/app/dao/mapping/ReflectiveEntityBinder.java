@@ -0,0 +1,320 @@
+package app.dao.mapping;
+
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runtime {@link EntityBinder} used for entities without a generated binder.
+ * <p>
+ * Rows are mapped by the entity's {@link RowMappers} mapper; column values are read through
+ * field getter handles bound once when the binder is created. Entities are copied the way rows are mapped:
+ * through a no-argument constructor and field setters, or through a constructor taking every column.
+ *
+ * @param <T> the entity type
+ */
+final class ReflectiveEntityBinder<T> implements EntityBinder<T> {
+
+    /**
+     * Mapper converting rows into entities.
+     */
+    private final RowMapper<T> rowMapper;
+
+    /**
+     * Handles of type {@code (Object)Object} reading the insert columns, in column order.
+     */
+    private final MethodHandle[] insertGetters;
+
+    /**
+     * Handle of type {@code (Object)Object} reading the primary key, or {@code null} if there is none.
+     */
+    private final MethodHandle primaryKeyGetter;
+
+    /**
+     * Type of the primary key field, or {@code null} if there is none.
+     */
+    private final Class<?> primaryKeyType;
+
+    /**
+     * Handle of type {@code (Object, Object)void} assigning the primary key of a mutable entity,
+     * or {@code null} if the entity is a record, has no primary key or the key field is final.
+     */
+    private final MethodHandle primaryKeySetter;
+
+    /**
+     * Handles of type {@code (Object)Object} reading every column in column order, used to copy entities.
+     */
+    private final MethodHandle[] columnGetters;
+
+    /**
+     * Handle of type {@code (Object[])Object} calling the record's canonical constructor or the constructor
+     * taking every column in column order, or {@code null} if the entity is created empty and filled through
+     * {@link #columnSetters}.
+     */
+    private final MethodHandle columnsConstructor;
+
+    /**
+     * Handle of type {@code ()Object} calling the no-argument constructor used to copy entities that have no
+     * {@link #columnsConstructor}, or {@code null}.
+     */
+    private final MethodHandle emptyConstructor;
+
+    /**
+     * Handles of type {@code (Object, Object)void} assigning every column in column order after
+     * {@link #emptyConstructor}, or {@code null}.
+     */
+    private final MethodHandle[] columnSetters;
+
+    /**
+     * Whether the entity is a record, whose instances are immutable and need no copy.
+     */
+    private final boolean record;
+
+    /**
+     * Index of the primary key among the columns, or {@code -1}.
+     */
+    private final int primaryKeyPosition;
+
+    /**
+     * Binds the getters of an entity class.
+     *
+     * @param type the entity class
+     * @throws IllegalStateException if a column field cannot be read
+     */
+    ReflectiveEntityBinder(Class<T> type) {
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        this.rowMapper = RowMappers.of(type);
+
+        List<ColumnMetadata> insertColumns = metadata.getInsertColumns();
+        this.insertGetters = new MethodHandle[insertColumns.size()];
+        for (int i = 0; i < insertGetters.length; i++) {
+            insertGetters[i] = getter(insertColumns.get(i));
+        }
+        this.primaryKeyGetter = metadata.hasPrimaryKey() ? getter(metadata.getPrimaryKey()) : null;
+
+        ColumnMetadata primaryKey = metadata.hasPrimaryKey() ? metadata.getPrimaryKey() : null;
+        this.primaryKeyType = primaryKey != null ? primaryKey.field().getType() : null;
+        this.primaryKeyPosition = primaryKey != null ? primaryKey.index() - 1 : -1;
+        this.record = type.isRecord();
+
+        List<ColumnMetadata> columns = metadata.getColumns();
+        this.columnGetters = new MethodHandle[columns.size()];
+        for (int i = 0; i < columnGetters.length; i++) {
+            columnGetters[i] = getter(columns.get(i));
+        }
+        Class<?>[] columnTypes = columns.stream().map(col -> col.field().getType()).toArray(Class<?>[]::new);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            Constructor<T> noArg = record ? null : findConstructor(type);
+            if (noArg != null && columns.stream().noneMatch(col -> Modifier.isFinal(col.field().getModifiers()))) {
+                this.columnsConstructor = null;
+                this.emptyConstructor = lookup.unreflectConstructor(noArg).asType(MethodType.methodType(Object.class));
+                this.columnSetters = new MethodHandle[columns.size()];
+                for (int i = 0; i < columnSetters.length; i++) {
+                    columnSetters[i] = setter(columns.get(i));
+                }
+            } else {
+                Class<?>[] parameterTypes = record
+                        ? Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new)
+                        : columnTypes;
+                Constructor<T> allColumns = findConstructor(type, parameterTypes);
+                this.columnsConstructor = allColumns == null || !Arrays.equals(parameterTypes, columnTypes) ? null
+                        : lookup.unreflectConstructor(allColumns)
+                                .asSpreader(Object[].class, parameterTypes.length)
+                                .asType(MethodType.methodType(Object.class, Object[].class));
+                this.emptyConstructor = null;
+                this.columnSetters = null;
+            }
+            this.primaryKeySetter = primaryKey != null && !record && !Modifier.isFinal(primaryKey.field().getModifiers())
+                    ? setter(primaryKey)
+                    : null;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot bind construction of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Finds a declared constructor with exactly the given parameter types.
+     *
+     * @param type the class to search
+     * @param parameterTypes the parameter types
+     * @param <T> the class type
+     * @return the constructor, or {@code null} if there is none
+     */
+    private static <T> Constructor<T> findConstructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            return type.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a setter handle for a non-final column field.
+     *
+     * @param col the column
+     * @return a handle of type {@code (Object, Object)void}
+     * @throws IllegalStateException if the field cannot be written
+     */
+    private static MethodHandle setter(ColumnMetadata col) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(col.field())
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot write column field " + col.field(), e);
+        }
+    }
+
+    /**
+     * Creates a getter handle for a column field.
+     *
+     * @param col the column
+     * @return a handle of type {@code (Object)Object}
+     * @throws IllegalStateException if the field cannot be read
+     */
+    private static MethodHandle getter(ColumnMetadata col) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(col.field())
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read column field " + col.field(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T mapRow(ResultSet rs) throws SQLException {
+        return rowMapper.mapRow(rs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int bindInsert(PreparedStatement ps, int index, T entity) throws SQLException {
+        for (MethodHandle getter : insertGetters) {
+            ps.setObject(index++, read(getter, entity));
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getPrimaryKey(T entity) {
+        if (primaryKeyGetter == null) {
+            throw new UnsupportedOperationException("No primary key defined for " + entity.getClass().getName());
+        }
+        return read(primaryKeyGetter, entity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T withPrimaryKey(T entity, Object key) {
+        Object value = convertKey(key, primaryKeyType);
+        try {
+            if (primaryKeySetter != null) {
+                primaryKeySetter.invokeExact((Object) entity, value);
+                return entity;
+            }
+            if (columnsConstructor != null && primaryKeyPosition >= 0) {
+                Object[] args = new Object[columnGetters.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = i == primaryKeyPosition ? value : read(columnGetters[i], entity);
+                }
+                return (T) (Object) columnsConstructor.invokeExact(args);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        throw new UnsupportedOperationException("Cannot assign the primary key of " + entity.getClass().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T copy(T entity) {
+        if (record) {
+            return entity;
+        }
+        try {
+            if (emptyConstructor != null) {
+                Object copy = (Object) emptyConstructor.invokeExact();
+                for (int i = 0; i < columnSetters.length; i++) {
+                    columnSetters[i].invokeExact(copy, read(columnGetters[i], entity));
+                }
+                return (T) copy;
+            }
+            if (columnsConstructor != null) {
+                Object[] args = new Object[columnGetters.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = read(columnGetters[i], entity);
+                }
+                return (T) (Object) columnsConstructor.invokeExact(args);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        throw new UnsupportedOperationException("Cannot copy " + entity.getClass().getName());
+    }
+
+    /**
+     * Converts a generated key to the type of the primary key field, e.g. when the driver returns a
+     * {@code Long} for an {@code int} field.
+     *
+     * @param key the generated key
+     * @param fieldType the type of the primary key field
+     * @return the converted key
+     */
+    private static Object convertKey(Object key, Class<?> fieldType) {
+        if (key instanceof Number number) {
+            if (fieldType == int.class || fieldType == Integer.class) {
+                return number.intValue();
+            }
+            if (fieldType == long.class || fieldType == Long.class) {
+                return number.longValue();
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Invokes a getter handle.
+     *
+     * @param getter the getter
+     * @param entity the entity to read from
+     * @return the field value
+     */
+    private static Object read(MethodHandle getter, Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
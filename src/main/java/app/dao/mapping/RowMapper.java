@@ -0,0 +1,23 @@
+package app.dao.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current row of a {@link ResultSet} into an entity.
+ *
+ * @param <T> the type of the entity produced
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the row the result set is currently positioned on.
+     * The result set is not advanced.
+     *
+     * @param rs the result set positioned on a row
+     * @return the mapped entity
+     * @throws SQLException if a column cannot be read
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
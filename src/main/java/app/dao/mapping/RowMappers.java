@@ -0,0 +1,320 @@
+package app.dao.mapping;
+
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds and caches fast {@link RowMapper}s for entity classes described by {@link EntityMetadata}.
+ * <p>
+ * Each mapper is bound once per entity type from {@link MethodHandle}s: columns are read by index,
+ * in the order of the entity's column list, with the typed {@link ResultSet} getter matching the field
+ * type ({@code getInt}, {@code getDouble}, {@code getTimestamp}, ...), so primitive columns are never boxed.
+ * Three strategies are supported:
+ * <ul>
+ *     <li>records are created through their canonical constructor;</li>
+ *     <li>classes with a no-argument constructor are created empty and filled through field setters;</li>
+ *     <li>other classes must declare a constructor whose parameters match the column fields in declaration order.</li>
+ * </ul>
+ */
+public final class RowMappers {
+
+    /**
+     * Typed {@link ResultSet} getters by field type.
+     */
+    private static final Map<Class<?>, String> TYPED_GETTERS = Map.ofEntries(
+            Map.entry(int.class, "getInt"),
+            Map.entry(long.class, "getLong"),
+            Map.entry(double.class, "getDouble"),
+            Map.entry(float.class, "getFloat"),
+            Map.entry(short.class, "getShort"),
+            Map.entry(byte.class, "getByte"),
+            Map.entry(boolean.class, "getBoolean"),
+            Map.entry(String.class, "getString"),
+            Map.entry(Timestamp.class, "getTimestamp"),
+            Map.entry(Date.class, "getDate"),
+            Map.entry(BigDecimal.class, "getBigDecimal")
+    );
+
+    /**
+     * Per-class cache of mappers.
+     */
+    private static final ClassValue<RowMapper<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected RowMapper<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private RowMappers() {}
+
+    /**
+     * Returns the cached row mapper of an entity class, binding it on first use.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the row mapper
+     * @throws IllegalStateException if the class cannot be instantiated by any supported strategy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> of(Class<T> type) {
+        return (RowMapper<T>) CACHE.get(type);
+    }
+
+    /**
+     * Binds a new row mapper for an entity class.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the row mapper
+     * @throws IllegalStateException if the class cannot be instantiated by any supported strategy
+     */
+    private static <T> RowMapper<T> create(Class<T> type) {
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        List<ColumnMetadata> columns = metadata.getColumns();
+        Class<?>[] columnTypes = columns.stream().map(col -> col.field().getType()).toArray(Class<?>[]::new);
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            if (type.isRecord()) {
+                Class<?>[] componentTypes = Arrays.stream(type.getRecordComponents())
+                        .map(RecordComponent::getType)
+                        .toArray(Class<?>[]::new);
+                if (!Arrays.equals(componentTypes, columnTypes)) {
+                    throw new IllegalStateException("Every component of record " + type.getName() + " must be mapped to a column");
+                }
+                return constructorMapper(lookup, type, type.getDeclaredConstructor(componentTypes), columns);
+            }
+
+            Constructor<T> noArg = findConstructor(type);
+            if (noArg != null) {
+                return setterMapper(lookup, type, noArg, columns);
+            }
+
+            Constructor<T> allColumns = findConstructor(type, columnTypes);
+            if (allColumns != null) {
+                return constructorMapper(lookup, type, allColumns, columns);
+            }
+        } catch (IllegalAccessException | NoSuchMethodException | NoSuchFieldException e) {
+            throw new IllegalStateException("Cannot bind row mapper for " + type.getName(), e);
+        }
+        throw new IllegalStateException("No usable constructor to map rows into " + type.getName());
+    }
+
+    /**
+     * Builds a mapper passing every column to a single constructor call.
+     *
+     * @param lookup a lookup with private access to the entity class
+     * @param type the entity class
+     * @param constructor the constructor taking one argument per column, in column order
+     * @param columns the entity's columns
+     * @param <T> the entity type
+     * @return the row mapper
+     * @throws IllegalAccessException if the constructor or a getter is not accessible
+     * @throws NoSuchMethodException if a result set getter cannot be found
+     */
+    private static <T> RowMapper<T> constructorMapper(MethodHandles.Lookup lookup, Class<T> type, Constructor<T> constructor,
+                                                      List<ColumnMetadata> columns) throws IllegalAccessException, NoSuchMethodException {
+        MethodHandle[] getters = new MethodHandle[columns.size()];
+        for (int i = 0; i < getters.length; i++) {
+            ColumnMetadata col = columns.get(i);
+            getters[i] = columnGetter(col.field().getType(), col.index());
+        }
+
+        // (p1, ..., pn)T  ->  (ResultSet, ..., ResultSet)T  ->  (ResultSet)Object
+        MethodHandle factory = MethodHandles.filterArguments(lookup.unreflectConstructor(constructor), 0, getters);
+        factory = MethodHandles.permuteArguments(factory, MethodType.methodType(type, ResultSet.class), new int[getters.length]);
+        return new ConstructorRowMapper<>(factory.asType(MethodType.methodType(Object.class, ResultSet.class)));
+    }
+
+    /**
+     * Builds a mapper creating an empty instance and assigning each column through a field setter.
+     *
+     * @param lookup a lookup with private access to the entity class
+     * @param type the entity class
+     * @param constructor the no-argument constructor
+     * @param columns the entity's columns
+     * @param <T> the entity type
+     * @return the row mapper
+     * @throws IllegalAccessException if the constructor, a field or a getter is not accessible
+     * @throws NoSuchMethodException if a result set getter cannot be found
+     * @throws NoSuchFieldException if a column field cannot be found
+     */
+    private static <T> RowMapper<T> setterMapper(MethodHandles.Lookup lookup, Class<T> type, Constructor<T> constructor,
+                                                 List<ColumnMetadata> columns) throws IllegalAccessException, NoSuchMethodException, NoSuchFieldException {
+        MethodType setterType = MethodType.methodType(void.class, Object.class, ResultSet.class);
+        MethodHandle[] setters = new MethodHandle[columns.size()];
+        for (int i = 0; i < setters.length; i++) {
+            ColumnMetadata col = columns.get(i);
+            if (Modifier.isFinal(col.field().getModifiers())) {
+                throw new IllegalStateException("Column field " + type.getName() + "." + col.field().getName() + " is final");
+            }
+            // (T, value)void  ->  (T, ResultSet)void
+            MethodHandle setter = lookup.findSetter(type, col.field().getName(), col.field().getType());
+            setter = MethodHandles.filterArguments(setter, 1, columnGetter(col.field().getType(), col.index()));
+            setters[i] = setter.asType(setterType);
+        }
+        MethodHandle instantiator = lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        return new SetterRowMapper<>(instantiator, setters);
+    }
+
+    /**
+     * Creates a handle reading one column of the current row with the getter matching the Java type.
+     *
+     * @param javaType the type of the field receiving the value
+     * @param index the 1-based column index
+     * @return a handle of type {@code (ResultSet)javaType}
+     * @throws IllegalAccessException if the getter is not accessible
+     * @throws NoSuchMethodException if the getter cannot be found
+     */
+    private static MethodHandle columnGetter(Class<?> javaType, int index) throws IllegalAccessException, NoSuchMethodException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        String typedGetter = TYPED_GETTERS.get(javaType);
+
+        MethodHandle getter;
+        if (typedGetter != null) {
+            getter = lookup.findVirtual(ResultSet.class, typedGetter, MethodType.methodType(javaType, int.class));
+        } else {
+            // Wrapper and other reference types keep SQL NULL as null.
+            Class<?> target = javaType.isPrimitive() ? MethodType.methodType(javaType).wrap().returnType() : javaType;
+            getter = lookup.findVirtual(ResultSet.class, "getObject", MethodType.methodType(Object.class, int.class, Class.class));
+            getter = MethodHandles.insertArguments(getter, 2, target)
+                    .asType(MethodType.methodType(javaType, ResultSet.class, int.class));
+        }
+        return MethodHandles.insertArguments(getter, 1, index);
+    }
+
+    /**
+     * Finds a declared constructor with exactly the given parameter types.
+     *
+     * @param type the class to search
+     * @param parameterTypes the parameter types
+     * @param <T> the class type
+     * @return the constructor, or {@code null} if there is none
+     */
+    private static <T> Constructor<T> findConstructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            return type.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Translates a throwable raised by a method handle into the exception {@link RowMapper#mapRow} may throw.
+     *
+     * @param t the raised throwable
+     * @return the exception to throw
+     */
+    private static SQLException rethrow(Throwable t) {
+        if (t instanceof SQLException e) {
+            return e;
+        }
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        return new SQLException("Could not map row", t);
+    }
+
+    /**
+     * Mapper creating each entity with a single composed constructor call.
+     *
+     * @param <T> the entity type
+     */
+    private static final class ConstructorRowMapper<T> implements RowMapper<T> {
+
+        /**
+         * Composed handle of type {@code (ResultSet)Object} reading all columns and invoking the constructor.
+         */
+        private final MethodHandle factory;
+
+        /**
+         * Creates the mapper.
+         *
+         * @param factory the composed constructor handle
+         */
+        private ConstructorRowMapper(MethodHandle factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T mapRow(ResultSet rs) throws SQLException {
+            try {
+                return (T) (Object) factory.invokeExact(rs);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * Mapper creating an empty entity and assigning each column through its field setter.
+     *
+     * @param <T> the entity type
+     */
+    private static final class SetterRowMapper<T> implements RowMapper<T> {
+
+        /**
+         * Handle of type {@code ()Object} invoking the no-argument constructor.
+         */
+        private final MethodHandle instantiator;
+
+        /**
+         * Handles of type {@code (Object, ResultSet)void}, one per column, reading and assigning the column.
+         */
+        private final MethodHandle[] setters;
+
+        /**
+         * Creates the mapper.
+         *
+         * @param instantiator the constructor handle
+         * @param setters the per-column setter handles
+         */
+        private SetterRowMapper(MethodHandle instantiator, MethodHandle[] setters) {
+            this.instantiator = instantiator;
+            this.setters = setters;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T mapRow(ResultSet rs) throws SQLException {
+            try {
+                Object obj = (Object) instantiator.invokeExact();
+                for (MethodHandle setter : setters) {
+                    setter.invokeExact(obj, rs);
+                }
+                return (T) obj;
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+}
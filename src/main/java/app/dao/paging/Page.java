@@ -0,0 +1,35 @@
+package app.dao.paging;
+
+import java.util.List;
+
+/**
+ * One page of rows returned by a keyset (seek) pagination query.
+ *
+ * @param items the rows of the page, in sort order
+ * @param next the cursor positioned after the last row, or {@code null} if there are no further rows
+ * @param <T> the type of the rows
+ */
+public record Page<T>(
+        List<T> items,
+        PageCursor next
+) {
+
+    /**
+     * Creates an empty last page.
+     *
+     * @param <T> the type of the rows
+     * @return a page without rows and without a next cursor
+     */
+    public static <T> Page<T> empty() {
+        return new Page<>(List.of(), null);
+    }
+
+    /**
+     * Whether further rows follow this page.
+     *
+     * @return true if {@link #next()} can be used to fetch another page
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,26 @@
+package app.dao.paging;
+
+/**
+ * Position of a keyset pagination query: the sort key of the last row already returned.
+ * <p>
+ * The next page starts right after the row whose sort value and primary key are given, so fetching
+ * a page costs an index seek regardless of how deep into the table it is, unlike {@code OFFSET}.
+ *
+ * @param sortValue the value of the sort column of the last returned row; unused when sorting by primary key
+ * @param id the primary key of the last returned row, breaking ties between equal sort values
+ */
+public record PageCursor(
+        Object sortValue,
+        Object id
+) {
+
+    /**
+     * Creates a cursor for a query sorted by primary key.
+     *
+     * @param id the primary key of the last returned row
+     * @return the cursor
+     */
+    public static PageCursor afterId(Object id) {
+        return new PageCursor(id, id);
+    }
+}
@@ -0,0 +1,36 @@
+package app.dao.paging;
+
+/**
+ * Sort order of a keyset pagination query.
+ * <p>
+ * Rows are ordered by the given column and then by primary key, which makes the order total even
+ * when several rows share the same value. The column must be {@code NOT NULL}.
+ *
+ * @param column the name of the sort column
+ * @param descending whether rows are returned from the highest value to the lowest
+ */
+public record SortKey(
+        String column,
+        boolean descending
+) {
+
+    /**
+     * Creates an ascending sort on a column.
+     *
+     * @param column the name of the sort column
+     * @return the sort key
+     */
+    public static SortKey ascending(String column) {
+        return new SortKey(column, false);
+    }
+
+    /**
+     * Creates a descending sort on a column.
+     *
+     * @param column the name of the sort column
+     * @return the sort key
+     */
+    public static SortKey descending(String column) {
+        return new SortKey(column, true);
+    }
+}
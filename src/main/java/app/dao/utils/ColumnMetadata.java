@@ -0,0 +1,50 @@
+package app.dao.utils;
+
+import app.annotations.Column;
+
+import java.lang.reflect.Field;
+
+/**
+ * Precomputed description of a single mapped column of an entity.
+ *
+ * @param field the entity field backing the column, already made accessible
+ * @param column the {@link Column} annotation declared on the field
+ * @param name the column name in the database
+ * @param index the 1-based position of the column in the entity's column list and in its SELECT statements
+ */
+public record ColumnMetadata(
+        Field field,
+        Column column,
+        String name,
+        int index
+) {
+
+    /**
+     * Whether this column is the entity's primary key.
+     *
+     * @return true if the column is the primary key
+     */
+    public boolean isPrimaryKey() {
+        return column.primaryKey();
+    }
+
+    /**
+     * Whether this column references another table.
+     *
+     * @return true if both the foreign key table and column are declared
+     */
+    public boolean isForeignKey() {
+        return !column.foreignKeyTable().isEmpty() && !column.foreignKeyColumn().isEmpty();
+    }
+
+    /**
+     * Reads the value of this column from an entity instance.
+     *
+     * @param entity the entity to read from
+     * @return the field value
+     * @throws IllegalAccessException if the field cannot be read
+     */
+    public Object get(Object entity) throws IllegalAccessException {
+        return field.get(entity);
+    }
+}
@@ -1,7 +1,7 @@
 package app.dao.utils;
 
 import app.annotations.Column;
-import app.annotations.Table;
+import app.annotations.Index;
 import app.connection.DbConnection;
 
 import java.lang.reflect.Field;
@@ -9,7 +9,6 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +17,14 @@ import java.util.stream.Collectors;
  */
 public class DAOUtils {
 
+    /**
+     * Notification channel on which the change triggers publish row changes.
+     * <p>
+     * Payloads have the form {@code table:UPDATE:id} or {@code table:DELETE:id} for row changes and
+     * {@code table:INSERT} or {@code table:TRUNCATE} for statements adding or wiping rows.
+     */
+    public static final String CHANGE_CHANNEL = "table_changes";
+
     /**
      * Default constructor.
      */
@@ -31,26 +38,22 @@ public class DAOUtils {
      * @throws RuntimeException if the class does not have a {@code @Table} annotation
      */
     public static String getTableName(Class<?> clazz) {
-        Table table = clazz.getAnnotation(Table.class);
-        if (table == null) {
-            throw new RuntimeException("Class " + clazz.getName() + " has no @Table annotation");
-        }
-        return table.name();
+        return EntityMetadata.of(clazz).getTableName();
     }
 
     /**
      * Returns a list of fields in the given class that are annotated with {@link Column}.
      * <p>
-     * All returned fields have their accessibility set to true.
+     * All returned fields have their accessibility set to true. The list is read from the
+     * class's cached {@link EntityMetadata} and cannot be modified.
      *
      * @param clazz the class to search in
      * @return a list of fields annotated with {@code @Column}
      */
     public static List<Field> getFields(Class<?> clazz) {
-        return Arrays.stream(clazz.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(Column.class))
-                .peek(field -> field.setAccessible(true))
-                .collect(Collectors.toList());
+        return EntityMetadata.of(clazz).getColumns().stream()
+                .map(ColumnMetadata::field)
+                .toList();
     }
 
     /**
@@ -64,14 +67,7 @@ public class DAOUtils {
      * @throws RuntimeException if no primary key field is found
      */
     public static Field getPrimaryKeyField(Class<?> clazz) {
-        return getFields(clazz).stream()
-                .filter(field -> {
-                    Column column = field.getAnnotation(Column.class);
-                    return column != null && column.primaryKey();
-                })
-                .peek(field -> field.setAccessible(true))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No field annotated as primary key in class: " + clazz.getSimpleName()));
+        return EntityMetadata.of(clazz).getPrimaryKey().field();
     }
 
     /**
@@ -82,12 +78,7 @@ public class DAOUtils {
      * @throws RuntimeException if no primary key is found
      */
     public static String getPrimaryKeyName(Class<?> clazz) {
-        return getFields(clazz).stream()
-                .map(f -> f.getAnnotation(Column.class))
-                .filter(Column::primaryKey)
-                .map(Column::name)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No primary key defined for " + clazz.getName()));
+        return EntityMetadata.of(clazz).getPrimaryKey().name();
     }
 
     /**
@@ -124,6 +115,32 @@ public class DAOUtils {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Builds the CREATE INDEX IF NOT EXISTS statement of an index declared with {@link Index}.
+     * <p>
+     * An index without an explicit name is named after the table and its columns, with an {@code _idx}
+     * suffix, or {@code _key} for unique indexes, following PostgreSQL's naming of implicit indexes.
+     * An expression index indexes its {@link Index#expression()} instead of the columns.
+     *
+     * @param tableName the name of the indexed table
+     * @param index the index declaration
+     * @param columns the names of the indexed columns, in index order; empty for an expression index
+     * @return the DDL statement
+     */
+    public static String buildCreateIndex(String tableName, Index index, List<String> columns) {
+        String name = index.name().isEmpty()
+                ? (tableName + "_" + String.join("_", columns) + (index.unique() ? "_key" : "_idx")).toLowerCase()
+                : index.name();
+        String keys = index.expression().isEmpty() ? String.join(", ", columns) : index.expression();
+        String sql = "CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + name
+                + " ON " + tableName + (index.method().isEmpty() ? "" : " USING " + index.method())
+                + " (" + keys + ")";
+        if (!index.where().isEmpty()) {
+            sql += " WHERE " + index.where();
+        }
+        return sql;
+    }
+
     /**
      * Creates PostgreSQL triggers to prevent updates on immutable fields.
      * For each non-updatable column, a trigger is created that raises an exception if updated.
@@ -132,14 +149,14 @@ public class DAOUtils {
      * @throws SQLException if an error occurs creating triggers or functions
      */
     public static void setImmutabilityTriggers(Class<?> clazz) throws SQLException {
-        String tableName = getTableName(clazz);
-        List<Field> fields = getFields(clazz);
+        EntityMetadata<?> metadata = EntityMetadata.of(clazz);
+        String tableName = metadata.getTableName();
 
         try (Connection con = DbConnection.getConnection();
              Statement stmt = con.createStatement()) {
 
-            for (Field field : fields) {
-                Column column = field.getAnnotation(Column.class);
+            for (ColumnMetadata columnMetadata : metadata.getColumns()) {
+                Column column = columnMetadata.column();
                 if (!column.updatable()) {
                     String colName = column.name();
                     String functionName = "prevent_update_" + tableName.toLowerCase() + "_" + colName.toLowerCase();
@@ -175,4 +192,65 @@ public class DAOUtils {
             }
         }
     }
+
+    /**
+     * Creates PostgreSQL triggers publishing the changes of the entity's table on {@link #CHANGE_CHANNEL}.
+     * Updated and deleted rows are reported one by one with their primary key, inserts and truncates once
+     * per statement, so bulk loads do not flood the channel. Notifications are only delivered once the
+     * writing transaction commits.
+     *
+     * @param clazz the entity class
+     * @throws SQLException if an error occurs creating triggers or functions
+     */
+    public static void setChangeNotificationTriggers(Class<?> clazz) throws SQLException {
+        EntityMetadata<?> metadata = EntityMetadata.of(clazz);
+        String tableName = metadata.getTableName();
+        String rowTriggerName = "notify_" + tableName.toLowerCase() + "_rows";
+        String statementTriggerName = "notify_" + tableName.toLowerCase() + "_statements";
+
+        try (Connection con = DbConnection.getConnection();
+             Statement stmt = con.createStatement()) {
+
+            String checkTriggerSQL = "SELECT 1 FROM pg_trigger WHERE tgname = '" + rowTriggerName + "'";
+            try (ResultSet rs = stmt.executeQuery(checkTriggerSQL)) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+
+            String functionSQL = String.format("""
+                CREATE OR REPLACE FUNCTION notify_table_change()
+                RETURNS TRIGGER AS $$
+                BEGIN
+                    IF TG_LEVEL = 'STATEMENT' THEN
+                        PERFORM pg_notify('%1$s', TG_TABLE_NAME || ':' || TG_OP);
+                    ELSIF TG_OP = 'DELETE' THEN
+                        PERFORM pg_notify('%1$s', TG_TABLE_NAME || ':' || TG_OP || ':' || (to_jsonb(OLD) ->> TG_ARGV[0]));
+                    ELSE
+                        PERFORM pg_notify('%1$s', TG_TABLE_NAME || ':' || TG_OP || ':' || (to_jsonb(NEW) ->> TG_ARGV[0]));
+                    END IF;
+                    RETURN NULL;
+                END;
+                $$ LANGUAGE plpgsql;
+                """, CHANGE_CHANNEL);
+
+            String rowTriggerSQL = String.format("""
+                CREATE TRIGGER %s
+                AFTER UPDATE OR DELETE ON %s
+                FOR EACH ROW
+                EXECUTE FUNCTION notify_table_change('%s');
+                """, rowTriggerName, tableName, metadata.getPrimaryKey().name().toLowerCase());
+
+            String statementTriggerSQL = String.format("""
+                CREATE TRIGGER %s
+                AFTER INSERT OR TRUNCATE ON %s
+                FOR EACH STATEMENT
+                EXECUTE FUNCTION notify_table_change();
+                """, statementTriggerName, tableName);
+
+            stmt.execute(functionSQL);
+            stmt.execute(rowTriggerSQL);
+            stmt.execute(statementTriggerSQL);
+        }
+    }
 }
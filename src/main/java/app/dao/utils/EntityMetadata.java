@@ -0,0 +1,415 @@
+package app.dao.utils;
+
+import app.annotations.Column;
+import app.annotations.Index;
+import app.annotations.Table;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, precomputed mapping metadata of an entity class annotated with {@link Table} and {@link Column}.
+ * <p>
+ * The annotations are scanned exactly once per class; afterwards every DAO operation reads the table name,
+ * the column lists and the ready-made SQL statements from the cached descriptor returned by {@link #of(Class)}.
+ * Columns are kept in field declaration order, which is also the column order of the generated SELECT statements.
+ *
+ * @param <T> the entity type described
+ */
+public final class EntityMetadata<T> {
+
+    /**
+     * Per-class cache of descriptors.
+     */
+    private static final ClassValue<EntityMetadata<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityMetadata<?> computeValue(Class<?> type) {
+            return new EntityMetadata<>(type);
+        }
+    };
+
+    /**
+     * The described entity class.
+     */
+    private final Class<T> type;
+
+    /**
+     * Name of the mapped table.
+     */
+    private final String tableName;
+
+    /**
+     * All mapped columns, in declaration order.
+     */
+    private final List<ColumnMetadata> columns;
+
+    /**
+     * The primary key column, or {@code null} if the entity declares none.
+     */
+    private final ColumnMetadata primaryKey;
+
+    /**
+     * All columns except the primary key, in declaration order.
+     */
+    private final List<ColumnMetadata> insertColumns;
+
+    /**
+     * Columns declaring a foreign key.
+     */
+    private final List<ColumnMetadata> foreignKeys;
+
+    /**
+     * Comma separated names of all columns.
+     */
+    private final String columnList;
+
+    /**
+     * Comma separated names of the insert columns.
+     */
+    private final String insertColumnList;
+
+    /**
+     * Placeholder group for one inserted row, e.g. {@code (?,?,?)}.
+     */
+    private final String insertPlaceholders;
+
+    /**
+     * CREATE TABLE statement including primary and foreign key constraints.
+     */
+    private final String createTableSql;
+
+    /**
+     * CREATE INDEX IF NOT EXISTS statements of the indexes declared with {@link Index}.
+     */
+    private final List<String> createIndexSql;
+
+    /**
+     * CREATE EXTENSION IF NOT EXISTS statements of the extensions listed in {@link Table#extensions()}.
+     */
+    private final List<String> createExtensionSql;
+
+    /**
+     * SELECT statement returning all rows ordered by primary key.
+     */
+    private final String selectAllSql;
+
+    /**
+     * SELECT statement returning the row with a given primary key.
+     */
+    private final String selectByIdSql;
+
+    /**
+     * INSERT statement for a single row.
+     */
+    private final String insertSql;
+
+    /**
+     * UPDATE statement setting every non-key column of the row with a given primary key.
+     */
+    private final String updateSql;
+
+    /**
+     * DELETE statement removing the row with a given primary key.
+     */
+    private final String deleteSql;
+
+    /**
+     * Scans the annotations of the given class and precomputes its metadata.
+     *
+     * @param type the entity class
+     * @throws RuntimeException if the class does not have a {@code @Table} annotation
+     * @throws IllegalArgumentException if an index refers to an unknown column, lists no column, or names
+     *                                  columns or no name together with an expression
+     */
+    private EntityMetadata(Class<T> type) {
+        Table table = type.getAnnotation(Table.class);
+        if (table == null) {
+            throw new RuntimeException("Class " + type.getName() + " has no @Table annotation");
+        }
+        this.type = type;
+        this.tableName = table.name();
+        this.createExtensionSql = Arrays.stream(table.extensions())
+                .map(extension -> "CREATE EXTENSION IF NOT EXISTS " + extension)
+                .toList();
+
+        List<ColumnMetadata> cols = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                field.setAccessible(true);
+                cols.add(new ColumnMetadata(field, column, column.name(), cols.size() + 1));
+            }
+        }
+        this.columns = Collections.unmodifiableList(cols);
+        this.primaryKey = cols.stream().filter(ColumnMetadata::isPrimaryKey).findFirst().orElse(null);
+        this.insertColumns = cols.stream().filter(col -> !col.isPrimaryKey()).toList();
+        this.foreignKeys = cols.stream().filter(ColumnMetadata::isForeignKey).toList();
+
+        this.columnList = joinNames(columns);
+        this.insertColumnList = joinNames(insertColumns);
+        this.insertPlaceholders = insertColumns.stream().map(col -> "?").collect(Collectors.joining(",", "(", ")"));
+        this.insertSql = "INSERT INTO " + tableName + " (" + insertColumnList + ") VALUES " + insertPlaceholders;
+
+        if (primaryKey != null) {
+            List<String> definitions = cols.stream()
+                    .map(col -> DAOUtils.buildColumnDefinition(col.field()))
+                    .collect(Collectors.toList());
+            definitions.add("PRIMARY KEY (" + primaryKey.name() + ")");
+            definitions.addAll(DAOUtils.buildForeignKeyConstraints(cols.stream().map(ColumnMetadata::field).toList()));
+
+            this.createTableSql = "CREATE TABLE IF NOT EXISTS " + tableName + " (" + String.join(",", definitions) + ")";
+            this.createIndexSql = buildCreateIndexSql(table);
+            this.selectAllSql = "SELECT " + columnList + " FROM " + tableName + " ORDER BY " + primaryKey.name();
+            this.selectByIdSql = "SELECT " + columnList + " FROM " + tableName + " WHERE " + primaryKey.name() + " = ?";
+            this.updateSql = "UPDATE " + tableName + " SET "
+                    + insertColumns.stream().map(col -> col.name() + " = ?").collect(Collectors.joining(","))
+                    + " WHERE " + primaryKey.name() + " = ?";
+            this.deleteSql = "DELETE FROM " + tableName + " WHERE " + primaryKey.name() + " = ?";
+        } else {
+            this.createTableSql = null;
+            this.createIndexSql = List.of();
+            this.selectAllSql = "SELECT " + columnList + " FROM " + tableName;
+            this.selectByIdSql = null;
+            this.updateSql = null;
+            this.deleteSql = null;
+        }
+    }
+
+    /**
+     * Returns the cached metadata of an entity class, computing it on first use.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @return the entity's metadata
+     * @throws RuntimeException if the class does not have a {@code @Table} annotation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        return (EntityMetadata<T>) CACHE.get(type);
+    }
+
+    /**
+     * Builds the index statements of the indexes declared on the table and on its column fields.
+     *
+     * @param table the table annotation
+     * @return the CREATE INDEX IF NOT EXISTS statements, table indexes first
+     * @throws IllegalArgumentException if an index refers to an unknown column, lists no column, or names
+     *                                  columns or no name together with an expression
+     */
+    private List<String> buildCreateIndexSql(Table table) {
+        List<String> statements = new ArrayList<>();
+        for (Index index : table.indexes()) {
+            if (index.columns().length == 0 && index.expression().isEmpty()) {
+                throw new IllegalArgumentException("Index of table " + tableName + " lists no column");
+            }
+            statements.add(DAOUtils.buildCreateIndex(tableName, index, indexColumns(index, List.of())));
+        }
+        for (ColumnMetadata col : columns) {
+            Index index = col.field().getAnnotation(Index.class);
+            if (index != null) {
+                statements.add(DAOUtils.buildCreateIndex(tableName, index, indexColumns(index, List.of(col.name()))));
+            }
+        }
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * Resolves the columns of an index declaration.
+     *
+     * @param index the index declaration
+     * @param defaultColumns the columns indexed if the declaration lists none, i.e. those of the annotated field
+     * @return the column names in index order, empty for an expression index
+     * @throws IllegalArgumentException if the index refers to an unknown column, or is an expression index
+     *                                  that lists columns or has no name
+     */
+    private List<String> indexColumns(Index index, List<String> defaultColumns) {
+        if (!index.expression().isEmpty()) {
+            if (index.columns().length > 0 || index.name().isEmpty()) {
+                throw new IllegalArgumentException("Expression index " + index.expression() + " of table " + tableName
+                        + " must have a name and no columns");
+            }
+            return List.of();
+        }
+        return index.columns().length == 0
+                ? defaultColumns
+                : Arrays.stream(index.columns()).map(name -> getColumn(name).name()).toList();
+    }
+
+    /**
+     * Joins the names of the given columns with commas.
+     *
+     * @param cols the columns
+     * @return the comma separated column names
+     */
+    private static String joinNames(List<ColumnMetadata> cols) {
+        return cols.stream().map(ColumnMetadata::name).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Gets the described entity class.
+     *
+     * @return the entity class
+     */
+    public Class<T> getType() { return type; }
+
+    /**
+     * Gets the name of the mapped table.
+     *
+     * @return the table name
+     */
+    public String getTableName() { return tableName; }
+
+    /**
+     * Gets all mapped columns in declaration order.
+     *
+     * @return an unmodifiable list of columns
+     */
+    public List<ColumnMetadata> getColumns() { return columns; }
+
+    /**
+     * Gets a mapped column by its database name.
+     *
+     * @param name the column name
+     * @return the column
+     * @throws IllegalArgumentException if the entity has no column with that name
+     */
+    public ColumnMetadata getColumn(String name) {
+        return columns.stream()
+                .filter(col -> col.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No column " + name + " in table " + tableName));
+    }
+
+    /**
+     * Gets the primary key column.
+     *
+     * @return the primary key column
+     * @throws RuntimeException if the entity has no primary key
+     */
+    public ColumnMetadata getPrimaryKey() {
+        if (primaryKey == null) {
+            throw new RuntimeException("No primary key defined for " + type.getName());
+        }
+        return primaryKey;
+    }
+
+    /**
+     * Whether the entity declares a primary key.
+     *
+     * @return true if a column is annotated as primary key
+     */
+    public boolean hasPrimaryKey() { return primaryKey != null; }
+
+    /**
+     * Gets all columns except the primary key, which is generated by the database.
+     *
+     * @return an unmodifiable list of insertable columns
+     */
+    public List<ColumnMetadata> getInsertColumns() { return insertColumns; }
+
+    /**
+     * Gets the columns declaring a foreign key.
+     *
+     * @return an unmodifiable list of foreign key columns
+     */
+    public List<ColumnMetadata> getForeignKeys() { return foreignKeys; }
+
+    /**
+     * Gets the comma separated names of all columns.
+     *
+     * @return the column list SQL fragment
+     */
+    public String getColumnList() { return columnList; }
+
+    /**
+     * Gets the comma separated names of the insert columns.
+     *
+     * @return the insert column list SQL fragment
+     */
+    public String getInsertColumnList() { return insertColumnList; }
+
+    /**
+     * Gets the placeholder group for one inserted row.
+     *
+     * @return the placeholder SQL fragment, e.g. {@code (?,?,?)}
+     */
+    public String getInsertPlaceholders() { return insertPlaceholders; }
+
+    /**
+     * Gets the CREATE TABLE IF NOT EXISTS statement.
+     *
+     * @return the DDL statement
+     * @throws RuntimeException if the entity has no primary key
+     */
+    public String getCreateTableSql() { return requireKeyed(createTableSql); }
+
+    /**
+     * Gets the CREATE INDEX IF NOT EXISTS statements of the declared indexes.
+     *
+     * @return an unmodifiable list of DDL statements, empty if no index is declared
+     */
+    public List<String> getCreateIndexSql() { return createIndexSql; }
+
+    /**
+     * Gets the CREATE EXTENSION IF NOT EXISTS statements of the extensions the indexes depend on.
+     *
+     * @return an unmodifiable list of DDL statements, empty if no extension is listed
+     */
+    public List<String> getCreateExtensionSql() { return createExtensionSql; }
+
+    /**
+     * Gets the SELECT statement returning all rows, ordered by primary key when there is one.
+     *
+     * @return the SQL statement
+     */
+    public String getSelectAllSql() { return selectAllSql; }
+
+    /**
+     * Gets the SELECT statement returning the row with a given primary key.
+     *
+     * @return the SQL statement with the primary key as its only parameter
+     * @throws RuntimeException if the entity has no primary key
+     */
+    public String getSelectByIdSql() { return requireKeyed(selectByIdSql); }
+
+    /**
+     * Gets the INSERT statement for a single row.
+     *
+     * @return the SQL statement with one parameter per insert column
+     */
+    public String getInsertSql() { return insertSql; }
+
+    /**
+     * Gets the UPDATE statement of a row by its primary key.
+     *
+     * @return the SQL statement with the insert columns followed by the primary key as parameters
+     * @throws RuntimeException if the entity has no primary key
+     */
+    public String getUpdateSql() { return requireKeyed(updateSql); }
+
+    /**
+     * Gets the DELETE statement of a row by its primary key.
+     *
+     * @return the SQL statement with the primary key as its only parameter
+     * @throws RuntimeException if the entity has no primary key
+     */
+    public String getDeleteSql() { return requireKeyed(deleteSql); }
+
+    /**
+     * Guards statements that only exist for entities with a primary key.
+     *
+     * @param sql the precomputed statement
+     * @return the statement
+     * @throws RuntimeException if the entity has no primary key
+     */
+    private String requireKeyed(String sql) {
+        if (sql == null) {
+            throw new RuntimeException("No primary key defined for " + type.getName());
+        }
+        return sql;
+    }
+}
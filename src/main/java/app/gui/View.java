@@ -1,33 +1,92 @@
 package app.gui;
 
+import app.bll.SchemaBLL;
+import app.cache.ChangeNotificationListener;
+import app.gui.displayUtils.BackgroundTasks;
+import app.metrics.MetricsServer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * The entry point for the JavaFX GUI application.
  * <p>
  * Initializes and displays the main application window using an FXML layout.
- * It loads the GUI from {@code main-view.fxml} and sets the stage dimensions and title.
+ * It first creates the database schema in the background through {@link SchemaBLL}, then loads the GUI
+ * from {@code main-view.fxml}, whose controllers load their data right away, and sets the stage dimensions and title.
+ * While the window is open, the {@link ChangeNotificationListener} keeps the views and caches
+ * up to date with changes made by other terminals.
+ * If the {@code app.metrics.port} system property is set, a {@link MetricsServer} also serves the
+ * application's metrics to Prometheus.
  */
 public class View extends Application {
 
     /**
-     * Starts the JavaFX application by loading the main view from FXML and displaying the primary stage.
+     * Logger instance for logging startup errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(View.class.getName());
+
+    /**
+     * Starts the JavaFX application by creating the database schema in the background, then loading the
+     * main view from FXML and displaying the primary stage.
+     *
+     * @param stage the primary stage provided by the JavaFX runtime
+     */
+    @Override
+    public void start(Stage stage) {
+        ChangeNotificationListener.start();
+        MetricsServer.startIfConfigured();
+        BackgroundTasks.submit(() -> {
+            SchemaBLL.createTables();
+            return null;
+        }, created -> showMainView(stage), this::showStartupError);
+    }
+
+    /**
+     * Loads the main view from FXML and displays it on the primary stage.
      *
      * @param stage the primary stage provided by the JavaFX runtime
-     * @throws IOException if the FXML file cannot be loaded
+     */
+    private void showMainView(Stage stage) {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(View.class.getResource("main-view.fxml"));
+            Scene scene = new Scene(fxmlLoader.load(), 820, 620);
+            stage.setTitle("Orders Management");
+            stage.setScene(scene);
+            stage.show();
+        } catch (IOException e) {
+            showStartupError(e);
+        }
+    }
+
+    /**
+     * Reports an error that keeps the application from starting, then exits.
+     *
+     * @param error the error
+     */
+    private void showStartupError(Throwable error) {
+        LOGGER.log(Level.SEVERE, "Error starting the application", error);
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setContentText("Could not start the application: " + error.getMessage());
+        alert.showAndWait();
+        Platform.exit();
+    }
+
+    /**
+     * Stops listening for database changes and serving metrics when the application exits.
      */
     @Override
-    public void start(Stage stage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(View.class.getResource("main-view.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 820, 620);
-        stage.setTitle("Orders Management");
-        stage.setScene(scene);
-        stage.show();
+    public void stop() {
+        ChangeNotificationListener.stop();
+        MetricsServer.stop();
     }
 
     /**
@@ -4,7 +4,13 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import app.bll.ClientBLL;
-import app.gui.displayUtils.TableViewBuilder;
+import app.cache.ChangeBus;
+import app.cache.ChangeNotificationListener;
+import app.cache.TableChange;
+import app.dao.paging.PageCursor;
+import app.gui.displayUtils.BackgroundTasks;
+import app.gui.displayUtils.LazyTablePager;
+import app.gui.displayUtils.TableBinder;
 import app.model.Client;
 import javafx.application.Platform;
 
@@ -54,6 +60,9 @@ public class ClientController {
     /** TableView displaying all clients */
     @FXML private TableView<Client> clientTable;
 
+    /** Pager loading the client table as the user scrolls */
+    private LazyTablePager<Client> clientPager;
+
     /**
      * Default constructor for ClientController.
      */
@@ -61,24 +70,22 @@ public class ClientController {
 
     /**
      * Initializes the controller.
-     * Creates and loads the client table.
+     * Loads the client table; the schema has already been created by {@link app.gui.View}.
      */
     @FXML
     public void initialize() {
-        clientBLL.createTable();
+        TableBinder.of(Client.class).bind(clientTable);
+        clientPager = new LazyTablePager<>(clientTable, clientBLL::findClientsPage, LazyTablePager.DEFAULT_PAGE_SIZE,
+                client -> PageCursor.afterId(client.getId()));
+        ChangeBus.subscribe(this::onTableChange);
         loadClientTable();
     }
 
     /**
-     * Loads the client table with data and refreshes it.
+     * Reloads the client table from its first page; further pages are loaded while scrolling.
      */
     private void loadClientTable() {
-        List<Client> clients = clientBLL.findAllClients();
-        TableView<Client> newTable = TableViewBuilder.buildTableView(clients, Client.class);
-
-        newTable.setOnMouseClicked(this::handleTableClick);
-        clientTable.getColumns().setAll(newTable.getColumns());
-        clientTable.setItems(newTable.getItems());
+        clientPager.reset();
     }
 
     /**
@@ -98,14 +105,10 @@ public class ClientController {
         }
 
         Client newClient = new Client(firstName, lastName, email, address);
-        try{
+        BackgroundTasks.submit(() -> {
             clientBLL.insertClient(newClient);
-        } catch (IllegalArgumentException e) {
-            Platform.runLater(() -> showAlert(e.getMessage()));
-            return;
-        }
-        clearFields();
-        loadClientTable();
+            return null;
+        }, inserted -> clearFields(), this::showError);
     }
 
     /**
@@ -132,13 +135,14 @@ public class ClientController {
         }
 
         Client updatedClient = new Client(id, firstName, lastName, email, address);
-        try{
+        BackgroundTasks.submit(() -> {
             clientBLL.updateClient(updatedClient);
-        } catch (IllegalArgumentException e) {
-            showAlert(e.getMessage());
-        }
-        clearFields();
-        loadClientTable();
+            return null;
+        }, updated -> clearFields(), error -> {
+            showError(error);
+            clearFields();
+            reloadUnlessNotified();
+        });
     }
 
     /**
@@ -146,24 +150,31 @@ public class ClientController {
      */
     @FXML
     public void handleDeleteClient() {
+        int clientId;
         try {
-            int clientId = Integer.parseInt(deleteIdField.getText());
-            Client clientToDelete = clientBLL.findClientById(clientId);
-
-            if (clientToDelete != null) {
-                try {
-                    clientBLL.deleteClient(clientId);
-                } catch (Exception e) {
-                    showAlert("Cannot delete client " + clientId + ", \nbecause they have active orders!\nDelete their orders first!");
-                }
+            clientId = Integer.parseInt(deleteIdField.getText());
+        } catch (NumberFormatException e) {
+            showAlert("Invalid ID format! Please enter a valid number!");
+            return;
+        }
+
+        BackgroundTasks.submit(() -> {
+            if (clientBLL.findClientById(clientId) == null) {
+                return false;
+            }
+            clientBLL.deleteClient(clientId);
+            return true;
+        }, deleted -> {
+            if (deleted) {
                 clearFields();
-                loadClientTable();
             } else {
                 showAlert("Client not found!");
             }
-        } catch (NumberFormatException e) {
-            showAlert("Invalid ID format! Please enter a valid number!");
-        }
+        }, error -> {
+            showAlert("Cannot delete client " + clientId + ", \nbecause they have active orders!\nDelete their orders first!");
+            clearFields();
+            reloadUnlessNotified();
+        });
     }
 
     /**
@@ -186,10 +197,113 @@ public class ClientController {
 
     /**
      * Refreshes the clients table with the latest data from the database.
+     * While change notifications are received the loaded rows are already kept current, so the table is
+     * only reloaded when the notification connection is down.
      */
     @FXML
     public void handleRefresh() {
-        loadClientTable();
+        reloadUnlessNotified();
+    }
+
+    /**
+     * Reloads the client table unless change notifications are received, in which case the loaded rows
+     * are already kept current by the changes published on the {@link ChangeBus}.
+     */
+    private void reloadUnlessNotified() {
+        if (!ChangeNotificationListener.isConnected()) {
+            loadClientTable();
+        }
+    }
+
+    /**
+     * Hands changes of the clients table over to the JavaFX application thread.
+     *
+     * @param change the table change
+     */
+    private void onTableChange(TableChange change) {
+        if (change.affects(Client.class)) {
+            Platform.runLater(() -> applyChange(change));
+        }
+    }
+
+    /**
+     * Applies a change of the clients table to the loaded rows in place.
+     * <p>
+     * Changes made by this process carry the new row, which is appended or replaced as is. Changes reported by
+     * the database only carry the row's ID, so an updated row is reloaded by ID and inserted rows are fetched
+     * with the keyset query following the last loaded row. A deleted row is removed; truncations and resyncs
+     * reload the table from its first page. Every change may arrive twice, once from each source, and applying
+     * it again leaves the table unchanged.
+     *
+     * @param change the table change
+     */
+    private void applyChange(TableChange change) {
+        Client client = change.rowAs(Client.class);
+        switch (change.operation()) {
+            case INSERT -> {
+                if (client == null) {
+                    clientPager.loadNewRows();
+                } else if (indexOf(client.getId()) < 0) {
+                    clientPager.addRow(client);
+                }
+            }
+            case UPDATE -> {
+                int index = indexOf(change.intId());
+                if (index >= 0 && client != null) {
+                    clientTable.getItems().set(index, client);
+                } else if (index >= 0) {
+                    BackgroundTasks.submit(() -> clientBLL.findClientById(change.intId()),
+                            fresh -> replaceRow(change.intId(), fresh), this::showError);
+                }
+            }
+            case DELETE -> clientTable.getItems().removeIf(row -> row.getId() == change.intId());
+            default -> loadClientTable();
+        }
+    }
+
+    /**
+     * Finds the position of a loaded row.
+     *
+     * @param id the ID of the client
+     * @return the index of the row in the table, or {@code -1} if it is not loaded
+     */
+    private int indexOf(int id) {
+        List<Client> items = clientTable.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces a loaded row by its reloaded version, or removes it if it no longer exists.
+     *
+     * @param id the ID of the client
+     * @param client the reloaded client, or {@code null} if it no longer exists
+     */
+    private void replaceRow(int id, Client client) {
+        List<Client> items = clientTable.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                if (client != null) {
+                    items.set(i, client);
+                } else {
+                    items.remove(i);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Displays an alert dialog with the message of an error raised by background work.
+     *
+     * @param error the error
+     */
+    private void showError(Throwable error) {
+        showAlert(error.getMessage());
     }
 
     /**
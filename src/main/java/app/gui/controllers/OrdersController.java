@@ -4,17 +4,34 @@ import app.bll.BillBLL;
 import app.bll.ClientBLL;
 import app.bll.OrderBLL;
 import app.bll.ProductBLL;
+import app.bll.OrderPlacementService;
+import app.bll.exceptions.InsufficientStockException;
+import app.bll.exceptions.ProductNotFoundException;
+import app.cache.ChangeBus;
+import app.cache.TableChange;
+import app.dao.OrderQuery;
+import app.dao.paging.PageCursor;
+import app.dao.paging.SortKey;
 import app.model.*;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import app.bll.*;
-import app.gui.displayUtils.TableViewBuilder;
+import app.gui.displayUtils.BackgroundLoader;
+import app.gui.displayUtils.BackgroundTasks;
+import app.gui.displayUtils.LazyTablePager;
+import app.gui.displayUtils.TableBinder;
 import app.model.*;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * JavaFX controller class responsible for handling user interactions for orders operations.
@@ -24,6 +41,18 @@ import java.util.List;
  */
 public class OrdersController {
 
+    /** Columns the detailed orders can be sorted by, keyed by the title shown in the sort selection */
+    private static final Map<String, String> SORT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        SORT_COLUMNS.put("Order ID", "order_id");
+        SORT_COLUMNS.put("Client", "client_name");
+        SORT_COLUMNS.put("Product", "product_name");
+        SORT_COLUMNS.put("Quantity", "quantity");
+        SORT_COLUMNS.put("Total Price", "total_price");
+        SORT_COLUMNS.put("Order Date", "order_date");
+    }
+
     /** Business Logic Layer instance for {@link ClientBLL} */
     private ClientBLL clientBLL = new ClientBLL();
 
@@ -36,6 +65,9 @@ public class OrdersController {
     /** Business Logic Layer instance for {@link BillBLL} */
     private BillBLL billBLL = new BillBLL();
 
+    /** Service placing orders together with their bills */
+    private OrderPlacementService orderPlacementService = new OrderPlacementService();
+
     /** ComboBox for selecting a client when placing an order */
     @FXML
     private ComboBox<Client> clientComboBox;
@@ -52,10 +84,58 @@ public class OrdersController {
     @FXML
     private TextField deleteOrderField;
 
+    /** ComboBox restricting the detailed orders to one client */
+    @FXML
+    private ComboBox<Client> filterClientComboBox;
+
+    /** ComboBox restricting the detailed orders to one product */
+    @FXML
+    private ComboBox<Product> filterProductComboBox;
+
+    /** TextField for searching the detailed orders by client or product name */
+    @FXML
+    private TextField searchField;
+
+    /** DatePicker for the first day of the detailed orders shown */
+    @FXML
+    private DatePicker fromDatePicker;
+
+    /** DatePicker for the last day of the detailed orders shown */
+    @FXML
+    private DatePicker toDatePicker;
+
+    /** TextField for the minimum total price of the detailed orders shown */
+    @FXML
+    private TextField minTotalField;
+
+    /** TextField for the maximum total price of the detailed orders shown */
+    @FXML
+    private TextField maxTotalField;
+
+    /** ComboBox selecting the column the detailed orders are sorted by */
+    @FXML
+    private ComboBox<String> sortColumnComboBox;
+
+    /** CheckBox sorting the detailed orders in descending order */
+    @FXML
+    private CheckBox descendingCheckBox;
+
     /** TableView displaying detailed information about existing orders */
     @FXML
     private TableView<OrderDetails> detailedOrdersTable;
 
+    /** Pager loading the detailed orders table as the user scrolls */
+    private LazyTablePager<OrderDetails> detailedOrdersPager;
+
+    /** Filter and sort specification of the detailed orders table, read by the pager's background tasks */
+    private volatile OrderQuery orderQuery = OrderQuery.all();
+
+    /** Background loader of the clients list, coalescing overlapping reloads */
+    private BackgroundLoader<List<Client>> clientsLoader;
+
+    /** Background loader of the products list, coalescing overlapping reloads */
+    private BackgroundLoader<List<Product>> productsLoader;
+
     /**
      * Default constructor for OrdersController.
      */
@@ -63,59 +143,120 @@ public class OrdersController {
 
     /**
      * Initializes the controller.
-     * Creates and loads the clients list, products list and the detailed orders table.
+     * Loads the clients list, products list and the first page of the detailed orders
+     * table in parallel in the background; each part is shown as soon as it has been loaded.
+     * The first page is fetched with the current {@link #orderQuery}, so filters applied in the meantime are kept.
      */
     @FXML
     public void initialize() {
+        TableBinder.of(OrderDetails.class).bind(detailedOrdersTable);
+        detailedOrdersPager = new LazyTablePager<>(detailedOrdersTable,
+                (after, limit) -> orderBLL.getDetailedOrdersPage(orderQuery, after, limit),
+                LazyTablePager.DEFAULT_PAGE_SIZE, details -> PageCursor.afterId(details.getOrderId()));
+        filterClientComboBox.itemsProperty().bind(clientComboBox.itemsProperty());
+        filterProductComboBox.itemsProperty().bind(productComboBox.itemsProperty());
+        sortColumnComboBox.setItems(FXCollections.observableArrayList(SORT_COLUMNS.keySet()));
+        clientsLoader = new BackgroundLoader<>(clientBLL::findAllClients,
+                clients -> clientComboBox.setItems(FXCollections.observableArrayList(clients)));
+        productsLoader = new BackgroundLoader<>(productBLL::findAllProducts,
+                products -> productComboBox.setItems(FXCollections.observableArrayList(products)));
+        ChangeBus.subscribe(this::onTableChange);
 
-        orderBLL.createTable();
-        billBLL.createTable();
         loadClients();
         loadProducts();
         loadDetailedOrders();
     }
 
     /**
-     * Loads the clients from the database.
+     * Reloads the clients from the database in the background.
      */
     private void loadClients() {
-        List<Client> clients = clientBLL.findAllClients();
-        clientComboBox.setItems(FXCollections.observableArrayList(clients));
+        clientsLoader.request();
     }
 
     /**
-     * Loads the products from the database.
+     * Reloads the products from the database in the background.
      */
     private void loadProducts() {
-        List<Product> products = productBLL.findAllProducts();
-        productComboBox.setItems(FXCollections.observableArrayList(products));
+        productsLoader.request();
     }
 
     /**
-     * Loads the detailed orders table with data and refreshes it.
+     * Reloads the detailed orders table from its first page; further pages are loaded while scrolling.
      */
     private void loadDetailedOrders() {
-        List<OrderDetails> detailedOrders = orderBLL.getDetailedOrders();
-        TableView<OrderDetails> newTable = TableViewBuilder.buildTableView(detailedOrders, OrderDetails.class);
+        detailedOrdersPager.reset();
+    }
 
-        newTable.setOnMouseClicked(this::handleTableClick);
-        detailedOrdersTable.getColumns().setAll(newTable.getColumns());
-        detailedOrdersTable.setItems(newTable.getItems());
+    /**
+     * Handles the action of applying the filter controls to the detailed orders table.
+     * The filters are evaluated by the database and the table is reloaded from its first page.
+     */
+    @FXML
+    public void handleApplyFilter() {
+        Double minTotal;
+        Double maxTotal;
+        try {
+            minTotal = parseTotal(minTotalField.getText());
+            maxTotal = parseTotal(maxTotalField.getText());
+        } catch (NumberFormatException e) {
+            showAlert("Total must be a number!");
+            return;
+        }
+
+        Client client = filterClientComboBox.getValue();
+        Product product = filterProductComboBox.getValue();
+        LocalDate fromDate = fromDatePicker.getValue();
+        LocalDate toDate = toDatePicker.getValue();
+        String sortColumn = SORT_COLUMNS.get(sortColumnComboBox.getValue());
+
+        orderQuery = OrderQuery.all()
+                .withClient(client == null ? null : client.getId())
+                .withProduct(product == null ? null : product.getId())
+                .withDateRange(fromDate == null ? null : Timestamp.valueOf(fromDate.atStartOfDay()),
+                        toDate == null ? null : Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()))
+                .withTotalRange(minTotal, maxTotal)
+                .withSearch(searchField.getText())
+                .withSort(sortColumn == null ? null : new SortKey(sortColumn, descendingCheckBox.isSelected()));
+        loadDetailedOrders();
     }
 
     /**
-     * Handles the generation of a new order and its corresponding bill.
+     * Handles the action of clearing the filter controls and showing every order again.
      */
     @FXML
-    public void handleGenerateOrder() {
-        handleNewOrder();
-        handleNewBill();
+    public void handleClearFilter() {
+        filterClientComboBox.getSelectionModel().clearSelection();
+        filterProductComboBox.getSelectionModel().clearSelection();
+        searchField.clear();
+        fromDatePicker.setValue(null);
+        toDatePicker.setValue(null);
+        minTotalField.clear();
+        maxTotalField.clear();
+        sortColumnComboBox.getSelectionModel().clearSelection();
+        descendingCheckBox.setSelected(false);
+
+        orderQuery = OrderQuery.all();
+        loadDetailedOrders();
+    }
+
+    /**
+     * Parses an optional total price bound.
+     *
+     * @param text the entered text
+     * @return the bound, or {@code null} if nothing was entered
+     * @throws NumberFormatException if the text is not a number
+     */
+    private static Double parseTotal(String text) {
+        return text == null || text.isBlank() ? null : Double.valueOf(text.strip());
     }
 
     /**
-     * Handles the generation of a new order.
+     * Handles the generation of a new order and its corresponding bill.
+     * The stock update, the order and the bill are stored together by {@link OrderPlacementService}.
      */
-    private void handleNewOrder() {
+    @FXML
+    public void handleGenerateOrder() {
         Client selectedClient = clientComboBox.getSelectionModel().getSelectedItem();
         Product selectedProduct = productComboBox.getSelectionModel().getSelectedItem();
         String quantityText = quantityField.getText();
@@ -132,50 +273,20 @@ public class OrdersController {
                 showAlert("Quantity must be greater than zero.");
                 return;
             }
-            if (quantity > selectedProduct.getStock()) {
-                showAlert("Not enough stock. Available stock: " + selectedProduct.getStock());
-                return;
-            } else {
-                productBLL.decreaseStock(selectedProduct.getId(), quantity);
-            }
         } catch (NumberFormatException e) {
             showAlert("Please enter a valid numeric quantity.");
             return;
         }
 
-        double totalPrice = selectedProduct.getPrice() * quantity;
-        Timestamp orderDate = Timestamp.valueOf(java.time.LocalDateTime.now());
-
-        Order newOrder = new Order(selectedClient.getId(), selectedProduct.getId(), quantity, totalPrice, orderDate);
-        try {
-            orderBLL.insertOrder(newOrder);
-            loadDetailedOrders();
-            clearFields();
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Failed to generate order.");
-        }
-    }
-
-    /**
-     * Handles the generation of a new bill corresponding to the last placed order.
-     */
-    private void handleNewBill() {
-        int id = orderBLL.getLastId();
-        Order order = orderBLL.findOrderById(id);
-        if (order == null || order.getId() == 0) {
-            showAlert("Invalid order! Cannot generate bill.");
-            return;
-        }
-
-        Bill newBill = new Bill(null, order.getId(), order.getTotalPrice(), order.getOrderDate());
-
-        try {
-            billBLL.generateBill(newBill);
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Failed to generate bill.");
-        }
+        BackgroundTasks.submit(() -> orderPlacementService.placeOrder(selectedClient, selectedProduct, quantity),
+                placed -> clearFields(), error -> {
+                    if (error instanceof InsufficientStockException || error instanceof ProductNotFoundException) {
+                        showAlert(error.getMessage());
+                        loadProducts();
+                    } else {
+                        showAlert("Failed to generate order.");
+                    }
+                });
     }
 
     /**
@@ -186,18 +297,24 @@ public class OrdersController {
         int orderId;
         try {
             orderId = Integer.parseInt(deleteOrderField.getText());
-            Order orderToDelete = orderBLL.findOrderById(orderId);
+        } catch (NumberFormatException e) {
+            showAlert("Invalid ID format! Please enter a valid number!");
+            return;
+        }
 
-            if (orderToDelete != null) {
-                orderBLL.deleteOrder(orderId);
+        BackgroundTasks.submit(() -> {
+            if (orderBLL.findOrderById(orderId) == null) {
+                return false;
+            }
+            orderBLL.deleteOrder(orderId);
+            return true;
+        }, deleted -> {
+            if (deleted) {
                 clearFields();
-                loadDetailedOrders();
             } else {
                 showAlert("Order not found!");
             }
-        } catch (NumberFormatException e) {
-            showAlert("Invalid ID format! Please enter a valid number!");
-        }
+        }, error -> showAlert(error.getMessage()));
     }
 
     /**
@@ -211,38 +328,49 @@ public class OrdersController {
         OrderDetails orderDetails = detailedOrdersTable.getSelectionModel().getSelectedItem();
 
         if (orderDetails != null) {
-            Order order = orderBLL.findOrderById(orderDetails.getOrderId());
-
-            if (order != null) {
-                Bill bill = billBLL.getBillByOrderId(order.getId());
-
-                if (bill != null) {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                    String formattedTimestamp = bill.timestamp().toLocalDateTime().format(formatter);
-
-                    String billContent = String.format("Bill ID: %d\n", bill.id()) +
-                            String.format("Order ID: %d\n", order.getId()) +
-                            String.format("Date: %s\n", formattedTimestamp) +
-                            String.format("Total Amount: $%.2f\n", bill.amount());
-
-                    Alert displayBill = new Alert(Alert.AlertType.INFORMATION);
-                    displayBill.setTitle("BILL DETAILS");
-                    displayBill.setHeaderText("Bill Details for Order #" + order.getId());
-                    displayBill.setContentText(billContent);
-                    displayBill.showAndWait();
-                } else {
-                    Alert alert = new Alert(Alert.AlertType.WARNING);
-                    alert.setTitle("No Bill Found");
-                    alert.setHeaderText("No bill found for this order.");
-                    alert.setContentText("The order does not have an associated bill.");
-                    alert.showAndWait();
+            int orderId = orderDetails.getOrderId();
+            BackgroundTasks.submit(() -> orderBLL.findOrderById(orderId), order -> {
+                if (order != null) {
+                    BackgroundTasks.submit(() -> billBLL.getBillByOrderId(order.getId()),
+                            bill -> showBill(order, bill), error -> showAlert(error.getMessage()));
                 }
-            }
+            }, error -> showAlert(error.getMessage()));
+        }
+    }
+
+    /**
+     * Displays a pop-up with the details of an order's bill.
+     *
+     * @param order the order
+     * @param bill the order's bill, or {@code null} if it has none
+     */
+    private void showBill(Order order, Bill bill) {
+        if (bill != null) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            String formattedTimestamp = bill.timestamp().toLocalDateTime().format(formatter);
+
+            String billContent = String.format("Bill ID: %d\n", bill.id()) +
+                    String.format("Order ID: %d\n", order.getId()) +
+                    String.format("Date: %s\n", formattedTimestamp) +
+                    String.format("Total Amount: $%.2f\n", bill.amount());
+
+            Alert displayBill = new Alert(Alert.AlertType.INFORMATION);
+            displayBill.setTitle("BILL DETAILS");
+            displayBill.setHeaderText("Bill Details for Order #" + order.getId());
+            displayBill.setContentText(billContent);
+            displayBill.showAndWait();
+        } else {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("No Bill Found");
+            alert.setHeaderText("No bill found for this order.");
+            alert.setContentText("The order does not have an associated bill.");
+            alert.showAndWait();
         }
     }
 
     /**
-     * Refreshes the detailed orders table with the latest data from the database.
+     * Refreshes the detailed orders table and the selection lists with the latest data from the database.
+     * Change notifications keep them current in place, but an explicit refresh always reloads them.
      */
     @FXML
     public void handleRefresh() {
@@ -251,6 +379,161 @@ public class OrdersController {
         loadProducts();
     }
 
+    /**
+     * Hands changes of the orders, clients and products tables over to the JavaFX application thread.
+     *
+     * @param change the table change
+     */
+    private void onTableChange(TableChange change) {
+        if (change.affects(Order.class) || change.affects(Client.class) || change.affects(Product.class)) {
+            Platform.runLater(() -> applyChange(change));
+        }
+    }
+
+    /**
+     * Applies a table change to the view in place.
+     * <p>
+     * New orders are fetched with the keyset query following the last loaded order, since their rows join
+     * the client and product tables; if the table is sorted by another column than the order ID, new orders
+     * may belong anywhere and the table is reloaded instead. A deleted order is removed from the loaded rows and any other order change
+     * reloads the table from its first page. Client and product changes are applied to the selection lists:
+     * rows carried by changes of this process are appended or replaced as is, updated rows reported by the
+     * database are reloaded by ID, deleted rows are removed, and inserts reported by the database reload the
+     * list. Since the order rows show client and product names, an update renaming a client or product, or
+     * one whose previous name is not known, also reloads the orders table; other updates do not, since product
+     * changes are mostly stock decrements by new orders, which are reported as order inserts anyway.
+     *
+     * @param change the table change
+     */
+    private void applyChange(TableChange change) {
+        if (change.affects(Order.class)) {
+            switch (change.operation()) {
+                case INSERT -> {
+                    if (orderQuery.isSortedById()) {
+                        detailedOrdersPager.loadNewRows();
+                    } else {
+                        loadDetailedOrders();
+                    }
+                }
+                case DELETE -> detailedOrdersTable.getItems().removeIf(details -> details.getOrderId() == change.intId());
+                default -> loadDetailedOrders();
+            }
+        }
+        if (change.affects(Client.class)) {
+            Client client = change.rowAs(Client.class);
+            switch (change.operation()) {
+                case INSERT -> {
+                    if (client == null) {
+                        loadClients();
+                    } else {
+                        addIfAbsent(clientComboBox.getItems(), Client::getId, client.getId(), client);
+                    }
+                }
+                case UPDATE -> {
+                    if (client != null) {
+                        applyUpdate(clientComboBox.getItems(), Client::getId, OrdersController::fullName,
+                                change.intId(), client);
+                    } else {
+                        BackgroundTasks.submit(() -> clientBLL.findClientById(change.intId()),
+                                fresh -> applyUpdate(clientComboBox.getItems(), Client::getId,
+                                        OrdersController::fullName, change.intId(), fresh),
+                                error -> showAlert(error.getMessage()));
+                    }
+                }
+                case DELETE -> clientComboBox.getItems().removeIf(item -> item.getId() == change.intId());
+                default -> loadClients();
+            }
+        }
+        if (change.affects(Product.class)) {
+            Product product = change.rowAs(Product.class);
+            switch (change.operation()) {
+                case INSERT -> {
+                    if (product == null) {
+                        loadProducts();
+                    } else {
+                        addIfAbsent(productComboBox.getItems(), Product::getId, product.getId(), product);
+                    }
+                }
+                case UPDATE -> {
+                    if (product != null) {
+                        applyUpdate(productComboBox.getItems(), Product::getId, Product::getName,
+                                change.intId(), product);
+                    } else {
+                        BackgroundTasks.submit(() -> productBLL.findProductById(change.intId()),
+                                fresh -> applyUpdate(productComboBox.getItems(), Product::getId, Product::getName,
+                                        change.intId(), fresh),
+                                error -> showAlert(error.getMessage()));
+                    }
+                }
+                case DELETE -> productComboBox.getItems().removeIf(item -> item.getId() == change.intId());
+                default -> loadProducts();
+            }
+        }
+    }
+
+    /**
+     * Appends an inserted item, unless an item with the same ID is already listed.
+     *
+     * @param items the list receiving the item
+     * @param idOf extracts the ID of an item
+     * @param id the ID of the inserted item
+     * @param item the inserted item
+     * @param <T> the type of the items
+     */
+    private static <T> void addIfAbsent(List<T> items, ToIntFunction<T> idOf, int id, T item) {
+        if (items.stream().noneMatch(existing -> idOf.applyAsInt(existing) == id)) {
+            items.add(item);
+        }
+    }
+
+    /**
+     * Applies an update of a client or product to its selection list, and reloads the orders table if the
+     * name shown in the order rows may have changed. A row that no longer exists cannot be referenced by orders,
+     * so removing it leaves the orders table as is.
+     *
+     * @param items the selection list holding the item
+     * @param idOf extracts the ID of an item
+     * @param nameOf extracts the name shown in the order rows
+     * @param id the ID of the updated item
+     * @param fresh the reloaded item, or {@code null} if it no longer exists
+     * @param <T> the type of the items
+     */
+    private <T> void applyUpdate(List<T> items, ToIntFunction<T> idOf, Function<T, String> nameOf, int id, T fresh) {
+        T previous = replaceItem(items, idOf, id, fresh);
+        if (fresh != null && (previous == null || !nameOf.apply(previous).equals(nameOf.apply(fresh)))) {
+            loadDetailedOrders();
+        }
+    }
+
+    /**
+     * Replaces the item with the given ID by its reloaded version, or removes it if it no longer exists.
+     *
+     * @param items the list holding the item
+     * @param idOf extracts the ID of an item
+     * @param id the ID of the changed item
+     * @param fresh the reloaded item, or {@code null} if it no longer exists
+     * @param <T> the type of the items
+     * @return the replaced or removed item, or {@code null} if no item had that ID
+     */
+    private static <T> T replaceItem(List<T> items, ToIntFunction<T> idOf, int id, T fresh) {
+        for (int i = 0; i < items.size(); i++) {
+            if (idOf.applyAsInt(items.get(i)) == id) {
+                return fresh != null ? items.set(i, fresh) : items.remove(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of a client as shown in the order rows.
+     *
+     * @param client the client
+     * @return the first and last name, separated by a space
+     */
+    private static String fullName(Client client) {
+        return client.getFirstName() + " " + client.getLastName();
+    }
+
     /**
      * Displays an alert dialog with the specified error message.
      *
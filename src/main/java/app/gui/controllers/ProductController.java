@@ -1,11 +1,19 @@
 package app.gui.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import app.bll.ProductBLL;
-import app.gui.displayUtils.TableViewBuilder;
+import app.cache.ChangeBus;
+import app.cache.ChangeNotificationListener;
+import app.cache.TableChange;
+import app.dao.paging.PageCursor;
+import app.gui.displayUtils.BackgroundTasks;
+import app.gui.displayUtils.LazyTablePager;
+import app.gui.displayUtils.TableBinder;
 import app.model.Product;
+
 import java.util.List;
 
 /**
@@ -55,6 +63,9 @@ public class ProductController {
     @FXML
     private TableView<Product> productTable;
 
+    /** Pager loading the products table as the user scrolls */
+    private LazyTablePager<Product> productPager;
+
     /**
      * Default constructor for ProductController.
      */
@@ -62,24 +73,22 @@ public class ProductController {
 
     /**
      * Initializes the controller.
-     * Creates and loads the products table.
+     * Loads the products table; the schema has already been created by {@link app.gui.View}.
      */
     @FXML
     public void initialize() {
-        productBLL.createTable();
+        TableBinder.of(Product.class).bind(productTable);
+        productPager = new LazyTablePager<>(productTable, productBLL::findProductsPage, LazyTablePager.DEFAULT_PAGE_SIZE,
+                product -> PageCursor.afterId(product.getId()));
+        ChangeBus.subscribe(this::onTableChange);
         loadProductTable();
     }
 
     /**
-     * Loads the product table with data and refreshes it.
+     * Reloads the product table from its first page; further pages are loaded while scrolling.
      */
     private void loadProductTable() {
-        List<Product> products = productBLL.findAllProducts();
-        TableView<Product> newTable = TableViewBuilder.buildTableView(products, Product.class);
-
-        newTable.setOnMouseClicked(this::handleTableClick);
-        productTable.getColumns().setAll(newTable.getColumns());
-        productTable.setItems(newTable.getItems());
+        productPager.reset();
     }
 
     /**
@@ -105,9 +114,10 @@ public class ProductController {
         }
 
         Product newProduct = new Product(name, price, stock);
-        productBLL.insertProduct(newProduct);
-        clearFields();
-        loadProductTable();
+        BackgroundTasks.submit(() -> {
+            productBLL.insertProduct(newProduct);
+            return null;
+        }, inserted -> clearFields(), this::showError);
     }
 
     /**
@@ -140,9 +150,10 @@ public class ProductController {
         }
 
         Product updatedProduct = new Product(id, name, price, stock);
-        productBLL.updateProduct(updatedProduct);
-        clearFields();
-        loadProductTable();
+        BackgroundTasks.submit(() -> {
+            productBLL.updateProduct(updatedProduct);
+            return null;
+        }, updated -> clearFields(), this::showError);
     }
 
     /**
@@ -153,22 +164,28 @@ public class ProductController {
         int productId;
         try {
             productId = Integer.parseInt(deleteIdField.getText());
-            Product productToDelete = productBLL.findProductById(productId);
+        } catch (NumberFormatException e) {
+            showAlert("Invalid ID format! Please enter a valid number!");
+            return;
+        }
 
-            if (productToDelete != null) {
-                try {
-                    productBLL.deleteProduct(productId);
-                } catch (Exception e) {
-                    showAlert("Cannot delete product " + productId + ", \nbecause it is part of an active order!\nDelete order first!");
-                }
+        BackgroundTasks.submit(() -> {
+            if (productBLL.findProductById(productId) == null) {
+                return false;
+            }
+            productBLL.deleteProduct(productId);
+            return true;
+        }, deleted -> {
+            if (deleted) {
                 clearFields();
-                loadProductTable();
             } else {
                 showAlert("Product not found!");
             }
-        } catch (NumberFormatException e) {
-            showAlert("Invalid ID format! Please enter a valid number!");
-        }
+        }, error -> {
+            showAlert("Cannot delete product " + productId + ", \nbecause it is part of an active order!\nDelete order first!");
+            clearFields();
+            reloadUnlessNotified();
+        });
     }
 
     /**
@@ -190,10 +207,113 @@ public class ProductController {
 
     /**
      * Refreshes the products table with the latest data from the database.
+     * While change notifications are received the loaded rows are already kept current, so the table is
+     * only reloaded when the notification connection is down.
      */
     @FXML
     public void handleRefresh() {
-        loadProductTable();
+        reloadUnlessNotified();
+    }
+
+    /**
+     * Reloads the product table unless change notifications are received, in which case the loaded rows
+     * are already kept current by the changes published on the {@link ChangeBus}.
+     */
+    private void reloadUnlessNotified() {
+        if (!ChangeNotificationListener.isConnected()) {
+            loadProductTable();
+        }
+    }
+
+    /**
+     * Hands changes of the products table over to the JavaFX application thread.
+     *
+     * @param change the table change
+     */
+    private void onTableChange(TableChange change) {
+        if (change.affects(Product.class)) {
+            Platform.runLater(() -> applyChange(change));
+        }
+    }
+
+    /**
+     * Applies a change of the products table to the loaded rows in place.
+     * <p>
+     * Changes made by this process carry the new row, which is appended or replaced as is. Changes reported by
+     * the database only carry the row's ID, so an updated row is reloaded by ID and inserted rows are fetched
+     * with the keyset query following the last loaded row. A deleted row is removed; truncations and resyncs
+     * reload the table from its first page. Every change may arrive twice, once from each source, and applying
+     * it again leaves the table unchanged.
+     *
+     * @param change the table change
+     */
+    private void applyChange(TableChange change) {
+        Product product = change.rowAs(Product.class);
+        switch (change.operation()) {
+            case INSERT -> {
+                if (product == null) {
+                    productPager.loadNewRows();
+                } else if (indexOf(product.getId()) < 0) {
+                    productPager.addRow(product);
+                }
+            }
+            case UPDATE -> {
+                int index = indexOf(change.intId());
+                if (index >= 0 && product != null) {
+                    productTable.getItems().set(index, product);
+                } else if (index >= 0) {
+                    BackgroundTasks.submit(() -> productBLL.findProductById(change.intId()),
+                            fresh -> replaceRow(change.intId(), fresh), this::showError);
+                }
+            }
+            case DELETE -> productTable.getItems().removeIf(row -> row.getId() == change.intId());
+            default -> loadProductTable();
+        }
+    }
+
+    /**
+     * Finds the position of a loaded row.
+     *
+     * @param id the ID of the product
+     * @return the index of the row in the table, or {@code -1} if it is not loaded
+     */
+    private int indexOf(int id) {
+        List<Product> items = productTable.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces a loaded row by its reloaded version, or removes it if it no longer exists.
+     *
+     * @param id the ID of the product
+     * @param product the reloaded product, or {@code null} if it no longer exists
+     */
+    private void replaceRow(int id, Product product) {
+        List<Product> items = productTable.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                if (product != null) {
+                    items.set(i, product);
+                } else {
+                    items.remove(i);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Displays an alert dialog with the message of an error raised by background work.
+     *
+     * @param error the error
+     */
+    private void showError(Throwable error) {
+        showAlert(error.getMessage());
     }
 
     /**
@@ -0,0 +1,150 @@
+package app.gui.displayUtils;
+
+import app.bll.async.DbTaskExecutor;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads a piece of view data in the background and applies it on the JavaFX application thread.
+ * <p>
+ * Loads run on the {@link DbTaskExecutor}. Overlapping refreshes are coalesced: a {@link #request()} made
+ * while a load is running does not start a second query, it only schedules one more load after the running
+ * one, however many requests arrive in the meantime. {@link #cancel()} interrupts the running load and drops
+ * any scheduled one; the result of a cancelled load is never applied. The inherited {@code progress} and
+ * {@code running} properties can be bound to progress indicators.
+ * <p>
+ * Like every {@link Service}, a loader must only be used from the JavaFX application thread.
+ *
+ * @param <T> the type of the loaded data
+ */
+public class BackgroundLoader<T> extends Service<T> {
+
+    /**
+     * Logger instance for logging failed loads.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BackgroundLoader.class.getName());
+
+    /**
+     * Receives progress updates from a running load.
+     */
+    @FunctionalInterface
+    public interface ProgressReporter {
+
+        /**
+         * Reports the progress of the load.
+         *
+         * @param done the amount of work done
+         * @param total the total amount of work, or {@code -1} if unknown
+         */
+        void update(long done, long total);
+    }
+
+    /**
+     * Loads the data, reporting progress.
+     *
+     * @param <T> the type of the loaded data
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Loads the data on a background thread.
+         *
+         * @param progress receiver of progress updates
+         * @return the loaded data
+         * @throws Exception if the load fails
+         */
+        T load(ProgressReporter progress) throws Exception;
+    }
+
+    /**
+     * Source of the data.
+     */
+    private final Loader<T> loader;
+
+    /**
+     * Whether another load was requested while one was running.
+     */
+    private boolean pending;
+
+    /**
+     * Creates a loader that reports progress.
+     *
+     * @param loader the source of the data
+     * @param onLoaded applies the loaded data, called on the JavaFX application thread
+     */
+    public BackgroundLoader(Loader<T> loader, Consumer<T> onLoaded) {
+        this.loader = loader;
+        setExecutor(DbTaskExecutor.executor());
+        setOnSucceeded(event -> {
+            onLoaded.accept(getValue());
+            runPending();
+        });
+        setOnFailed(event -> {
+            LOGGER.log(Level.SEVERE, "Error loading data in the background", getException());
+            runPending();
+        });
+    }
+
+    /**
+     * Creates a loader for a source that does not report progress.
+     *
+     * @param source the source of the data
+     * @param onLoaded applies the loaded data, called on the JavaFX application thread
+     */
+    public BackgroundLoader(Callable<T> source, Consumer<T> onLoaded) {
+        this(progress -> source.call(), onLoaded);
+    }
+
+    /**
+     * Requests the data to be reloaded, coalescing with a load that is already running.
+     */
+    public void request() {
+        if (isRunning()) {
+            pending = true;
+        } else {
+            restart();
+        }
+    }
+
+    /**
+     * Cancels the running load and any load requested meanwhile.
+     *
+     * @return whether a load was cancelled
+     */
+    @Override
+    public boolean cancel() {
+        pending = false;
+        return super.cancel();
+    }
+
+    /**
+     * Starts the load requested while the previous one was running, if any.
+     */
+    private void runPending() {
+        if (pending) {
+            pending = false;
+            restart();
+        }
+    }
+
+    /**
+     * Creates the task running one load.
+     *
+     * @return the task
+     */
+    @Override
+    protected Task<T> createTask() {
+        return new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return loader.load(this::updateProgress);
+            }
+        };
+    }
+}
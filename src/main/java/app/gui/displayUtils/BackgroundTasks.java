@@ -0,0 +1,43 @@
+package app.gui.displayUtils;
+
+import app.bll.async.DbTaskExecutor;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Runs one-off database work of the controllers, such as inserts and deletes, off the JavaFX application thread.
+ * <p>
+ * The work runs on the {@link DbTaskExecutor}; its outcome is handed back on the JavaFX application thread.
+ * Repeated refreshes of the same data should use a {@link BackgroundLoader} instead, which coalesces them.
+ */
+public final class BackgroundTasks {
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private BackgroundTasks() {}
+
+    /**
+     * Runs work in the background.
+     *
+     * @param work the work, run on a background thread
+     * @param onSucceeded receives the work's result on the JavaFX application thread
+     * @param onFailed receives the exception thrown by the work on the JavaFX application thread
+     * @param <T> the type of the work's result
+     * @return the running task, which can be cancelled
+     */
+    public static <T> Task<T> submit(Callable<T> work, Consumer<T> onSucceeded, Consumer<Throwable> onFailed) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(event -> onSucceeded.accept(task.getValue()));
+        task.setOnFailed(event -> onFailed.accept(task.getException()));
+        DbTaskExecutor.executor().execute(task);
+        return task;
+    }
+}
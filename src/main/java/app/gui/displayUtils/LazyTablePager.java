@@ -0,0 +1,340 @@
+package app.gui.displayUtils;
+
+import app.bll.async.DbTaskExecutor;
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.metrics.TableLoadEvent;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the items of a {@link TableView} page by page while the user scrolls.
+ * <p>
+ * Only the first page is fetched when the table is (re)loaded; each further page is fetched with the
+ * keyset cursor of the previous one once the vertical scroll bar approaches its end. Pages are also
+ * fetched until the visible area is filled, so tall windows never show a partially loaded table
+ * without a scroll bar.
+ * <p>
+ * Pages are fetched on the {@link DbTaskExecutor} and appended on the JavaFX application thread, so scrolling
+ * never blocks on the database. Only one page is fetched at a time, and a reset cancels the page being
+ * fetched so rows of the previous load never end up in the table. While the first page is loading, the
+ * empty table shows a progress indicator.
+ * <p>
+ * Rows inserted after the table was loaded are added in place: {@link #addRow(Object)} appends a row known
+ * to be new and {@link #loadNewRows()} fetches the rows following the last loaded one, with the same keyset
+ * query used for scrolling. The last loaded row is tracked in fetch order, so sorting the table by a column
+ * header does not change where new rows are fetched from. Both only touch the table once its last page has been loaded, since rows sorted
+ * after the loaded ones are otherwise fetched by scrolling anyway.
+ * <p>
+ * Every page load is recorded as a {@link TableLoadEvent} while a Flight Recorder recording is running.
+ *
+ * @param <T> the type of the table items
+ */
+public class LazyTablePager<T> {
+
+    /**
+     * Logger instance for logging failed page loads.
+     */
+    private static final Logger LOGGER = Logger.getLogger(LazyTablePager.class.getName());
+
+    /**
+     * Default number of rows fetched per page, a few screens worth of rows.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Scroll position, as a fraction of the scroll range, from which the next page is fetched.
+     */
+    private static final double LOAD_THRESHOLD = 0.9;
+
+    /**
+     * Source of the pages.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+
+        /**
+         * Loads one page.
+         *
+         * @param after the cursor returned with the previous page, or {@code null} for the first page
+         * @param limit the maximum number of items of the page
+         * @return the page
+         */
+        Page<T> load(PageCursor after, int limit);
+    }
+
+    /**
+     * The paged table.
+     */
+    private final TableView<T> table;
+
+    /**
+     * Source of the pages.
+     */
+    private final PageLoader<T> loader;
+
+    /**
+     * Number of rows fetched per page.
+     */
+    private final int pageSize;
+
+    /**
+     * Builds the cursor positioned after a given row.
+     */
+    private final Function<? super T, PageCursor> cursorOf;
+
+    /**
+     * Cursor of the next page, or {@code null} once the last page has been loaded.
+     */
+    private PageCursor next;
+
+    /**
+     * Cursor positioned after the last row fetched or added since the last reset, in fetch order,
+     * or {@code null} if no row has been loaded.
+     */
+    private PageCursor lastLoaded;
+
+    /**
+     * Whether the first page has been loaded since the last reset.
+     */
+    private boolean started;
+
+    /**
+     * Whether new rows must be fetched once the page being fetched has been appended.
+     */
+    private boolean newRowsPending;
+
+    /**
+     * Flight Recorder event of the page being fetched, {@code null} if no page is being fetched.
+     */
+    private TableLoadEvent loadEvent;
+
+    /**
+     * Service fetching one page at a time in the background.
+     */
+    private final Service<Page<T>> pageService;
+
+    /**
+     * Creates a pager for the given table and starts watching its scroll bar.
+     *
+     * @param table the paged table
+     * @param loader the source of the pages
+     * @param pageSize the number of rows fetched per page
+     * @param cursorOf builds the cursor positioned after a given row, used to fetch the rows inserted after it
+     */
+    public LazyTablePager(TableView<T> table, PageLoader<T> loader, int pageSize,
+                          Function<? super T, PageCursor> cursorOf) {
+        this.table = table;
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.cursorOf = cursorOf;
+        this.pageService = new Service<>() {
+            @Override
+            protected Task<Page<T>> createTask() {
+                PageCursor after = next;
+                loadEvent = TableLoadEvent.start(table.getId(), !started);
+                return new Task<>() {
+                    @Override
+                    protected Page<T> call() {
+                        return loader.load(after, pageSize);
+                    }
+                };
+            }
+        };
+        pageService.setExecutor(DbTaskExecutor.executor());
+        pageService.setOnSucceeded(event -> appendPage(pageService.getValue()));
+        pageService.setOnFailed(event -> {
+            LOGGER.log(Level.SEVERE, "Error loading table page", pageService.getException());
+            commitLoadEvent(null);
+        });
+
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.progressProperty().bind(pageService.progressProperty());
+        indicator.visibleProperty().bind(pageService.runningProperty());
+        table.setPlaceholder(indicator);
+
+        if (table.getSkin() != null) {
+            watchScrollBar();
+        } else {
+            table.skinProperty().addListener((obs, oldSkin, newSkin) -> watchScrollBar());
+        }
+    }
+
+    /**
+     * Discards the loaded rows and loads the first page again.
+     */
+    public void reset() {
+        pageService.cancel();
+        loadEvent = null;
+        table.setItems(FXCollections.observableArrayList());
+        next = null;
+        lastLoaded = null;
+        started = false;
+        newRowsPending = false;
+        loadNextPage();
+    }
+
+    /**
+     * Gets the number of rows fetched per page.
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Starts fetching the next page, if there is one and no page is being fetched already.
+     * The page is appended to the table once it has been fetched.
+     */
+    public void loadNextPage() {
+        if ((started && next == null) || pageService.isRunning()) {
+            return;
+        }
+        pageService.restart();
+    }
+
+    /**
+     * Whether every row of the table has been loaded.
+     *
+     * @return true once the last page has been appended and no page is being fetched
+     */
+    public boolean isFullyLoaded() {
+        return started && next == null && !pageService.isRunning();
+    }
+
+    /**
+     * Appends a row that was just inserted, if the table is fully loaded. Otherwise the row is left to the
+     * pages still to be fetched, or fetched as soon as the page being fetched has been appended.
+     *
+     * @param row the inserted row, sorted after every loaded row
+     */
+    public void addRow(T row) {
+        if (isFullyLoaded()) {
+            table.getItems().add(row);
+            lastLoaded = cursorOf.apply(row);
+        } else {
+            loadNewRows();
+        }
+    }
+
+    /**
+     * Fetches the rows sorted after the last loaded row, if the table is fully loaded, and appends them.
+     * If a page is being fetched, the new rows are fetched once it has been appended.
+     */
+    public void loadNewRows() {
+        if (!started) {
+            return;
+        }
+        if (pageService.isRunning()) {
+            newRowsPending = true;
+            return;
+        }
+        if (next != null) {
+            return;
+        }
+        if (lastLoaded == null) {
+            started = false;
+        } else {
+            next = lastLoaded;
+        }
+        loadNextPage();
+    }
+
+    /**
+     * Appends a loaded page to the table and remembers where the next page starts.
+     *
+     * @param page the page following the loaded rows
+     */
+    private void appendPage(Page<T> page) {
+        started = true;
+        next = page.next();
+        List<T> items = page.items();
+        if (next != null) {
+            lastLoaded = next;
+        } else if (!items.isEmpty()) {
+            lastLoaded = cursorOf.apply(items.get(items.size() - 1));
+        }
+        table.getItems().addAll(items);
+        commitLoadEvent(page);
+
+        if (next != null) {
+            Platform.runLater(this::fillViewport);
+        } else if (newRowsPending) {
+            newRowsPending = false;
+            Platform.runLater(this::loadNewRows);
+        }
+    }
+
+    /**
+     * Commits the Flight Recorder event of the page that was being fetched, if any.
+     *
+     * @param page the appended page, or {@code null} if fetching it failed
+     */
+    private void commitLoadEvent(Page<T> page) {
+        if (loadEvent == null) {
+            return;
+        }
+        if (page != null) {
+            loadEvent.rows = page.items().size();
+            loadEvent.lastPage = page.next() == null;
+            loadEvent.succeeded = true;
+        }
+        loadEvent.commit();
+        loadEvent = null;
+    }
+
+    /**
+     * Loads further pages while the loaded rows do not fill the table.
+     */
+    private void fillViewport() {
+        ScrollBar bar = verticalScrollBar();
+        if (table.getSkin() != null && next != null && (bar == null || !bar.isVisible())) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * Fetches the next page whenever the vertical scroll bar gets close to its end.
+     */
+    private void watchScrollBar() {
+        ScrollBar bar = verticalScrollBar();
+        if (bar == null) {
+            return;
+        }
+        bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+            double range = bar.getMax() - bar.getMin();
+            if (range > 0 && newValue.doubleValue() >= bar.getMin() + range * LOAD_THRESHOLD) {
+                loadNextPage();
+            }
+        });
+    }
+
+    /**
+     * Looks up the vertical scroll bar of the table's skin.
+     *
+     * @return the scroll bar, or {@code null} if the table has no skin yet
+     */
+    private ScrollBar verticalScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                return bar;
+            }
+        }
+        return null;
+    }
+}
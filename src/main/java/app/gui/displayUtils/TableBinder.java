@@ -0,0 +1,282 @@
+package app.gui.displayUtils;
+
+import app.annotations.Column;
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds {@link TableView}s to a model class annotated with {@link Column}.
+ * <p>
+ * The column layout of a model class, i.e. the titles, a method handle reading each field and a comparator
+ * per column, is computed once and cached by {@link #of(Class)}. {@link #bind(TableView)} then creates the
+ * columns of a table from that layout once; refreshing the table afterwards only means swapping or editing
+ * its items.
+ * <p>
+ * The columns display the row item itself: all cells of a row share one cached observable value, created the
+ * first time the row is displayed and dropped when the row leaves the table's items. Each cell reads its field
+ * through the cached handle and formats it with a shared formatter, so scrolling does not allocate a property
+ * per cell nor create a formatter per timestamp.
+ *
+ * @param <T> the type of the rows
+ */
+public final class TableBinder<T> {
+
+    /**
+     * Format of timestamp cells.
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Per-class cache of binders.
+     */
+    private static final ClassValue<TableBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected TableBinder<?> computeValue(Class<?> type) {
+            return new TableBinder<>(type);
+        }
+    };
+
+    /**
+     * Layout of one column.
+     *
+     * @param title the column title
+     * @param getter handle of type {@code (Object)Object} reading the column's field from a row
+     * @param comparator comparator of rows by the column's field, used when sorting by the column
+     */
+    private record ColumnLayout(String title, MethodHandle getter, Comparator<Object> comparator) {
+
+        /**
+         * Reads the column's value from a row.
+         *
+         * @param row the row
+         * @return the field value
+         */
+        private Object read(Object row) {
+            return TableBinder.read(getter, row);
+        }
+    }
+
+    /**
+     * The columns of the model class, in field declaration order.
+     */
+    private final List<ColumnLayout> columns;
+
+    /**
+     * Computes the column layout of a model class.
+     *
+     * @param type the model class
+     */
+    private TableBinder(Class<T> type) {
+        this.columns = EntityMetadata.of(type).getColumns().stream()
+                .map(TableBinder::layout)
+                .toList();
+    }
+
+    /**
+     * Returns the cached binder of a model class, computing it on first use.
+     *
+     * @param type the model class
+     * @param <T> the type of the rows
+     * @return the binder
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TableBinder<T> of(Class<T> type) {
+        return (TableBinder<T>) BINDERS.get(type);
+    }
+
+    /**
+     * Creates the columns of a table. Called once per table; the table's items can be swapped freely afterwards.
+     *
+     * @param table the table
+     */
+    public void bind(TableView<T> table) {
+        RowValues<T> rowValues = new RowValues<>(table);
+        List<TableColumn<T, T>> tableColumns = columns.stream()
+                .map(layout -> createColumn(layout, rowValues))
+                .toList();
+        table.getColumns().setAll(tableColumns);
+    }
+
+    /**
+     * Creates one table column from its layout.
+     *
+     * @param layout the column layout
+     * @param rowValues the row values shared by the columns of the table
+     * @return the column
+     */
+    private TableColumn<T, T> createColumn(ColumnLayout layout, RowValues<T> rowValues) {
+        TableColumn<T, T> column = new TableColumn<>(layout.title());
+        column.setCellValueFactory(cellData -> rowValues.get(cellData.getValue()));
+        column.setCellFactory(tableColumn -> new TableCell<>() {
+            @Override
+            protected void updateItem(T row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : format(layout.read(row)));
+            }
+        });
+        column.setComparator(layout.comparator()::compare);
+        return column;
+    }
+
+    /**
+     * Computes the layout of the column of a mapped field.
+     *
+     * @param column the column metadata
+     * @return the column layout
+     */
+    private static ColumnLayout layout(ColumnMetadata column) {
+        MethodHandle getter;
+        try {
+            getter = MethodHandles.lookup().unreflectGetter(column.field())
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read column field " + column.field(), e);
+        }
+        Comparator<Object> comparator = Comparator.comparing(row -> read(getter, row),
+                Comparator.nullsFirst(TableBinder::compareValues));
+        return new ColumnLayout(formatColumnName(column.name()), getter, comparator);
+    }
+
+    /**
+     * Invokes a getter handle.
+     *
+     * @param getter the getter
+     * @param row the row to read from
+     * @return the field value
+     */
+    private static Object read(MethodHandle getter, Object row) {
+        try {
+            return (Object) getter.invokeExact(row);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Compares two non-null field values, naturally if they are comparable and by their text otherwise.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the comparison result
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a instanceof Comparable comparable && a.getClass() == b.getClass()) {
+            return comparable.compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    /**
+     * Formats a field value for display.
+     *
+     * @param value the value
+     * @return the text of the cell
+     */
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return TIMESTAMP_FORMAT.format(timestamp.toLocalDateTime());
+        }
+        return value.toString();
+    }
+
+    /**
+     * Formats a column name by converting snake_case to "Title Case".
+     *
+     * @param original the original column name
+     * @return a human-readable version of the column name
+     */
+    private static String formatColumnName(String original) {
+        return Arrays.stream(original.split("_"))
+                .map(word -> word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase())
+                .reduce((w1, w2) -> w1 + " " + w2)
+                .orElse(original);
+    }
+
+    /**
+     * The observable cell values of the rows of one table, shared by all its columns.
+     * <p>
+     * Values are kept by row identity, since model classes compare by value, and are dropped when their
+     * row is removed from the items or the items are replaced.
+     *
+     * @param <T> the type of the rows
+     */
+    private static final class RowValues<T> {
+
+        /**
+         * Cell value of every displayed row.
+         */
+        private final Map<T, ObservableValue<T>> values = new IdentityHashMap<>();
+
+        /**
+         * Drops the values of rows removed from the items.
+         */
+        private final ListChangeListener<T> removals = change -> {
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    change.getRemoved().forEach(values::remove);
+                }
+            }
+        };
+
+        /**
+         * Starts tracking the items of a table.
+         *
+         * @param table the table
+         */
+        private RowValues(TableView<T> table) {
+            track(table.getItems());
+            table.itemsProperty().addListener((obs, oldItems, newItems) -> {
+                if (oldItems != null) {
+                    oldItems.removeListener(removals);
+                }
+                values.clear();
+                track(newItems);
+            });
+        }
+
+        /**
+         * Watches an items list for removed rows.
+         *
+         * @param items the items, may be {@code null}
+         */
+        private void track(ObservableList<T> items) {
+            if (items != null) {
+                items.addListener(removals);
+            }
+        }
+
+        /**
+         * Returns the cell value of a row, creating it the first time the row is displayed.
+         *
+         * @param row the row
+         * @return the row's cell value
+         */
+        private ObservableValue<T> get(T row) {
+            return values.computeIfAbsent(row, ReadOnlyObjectWrapper::new);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package app.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for borrowing a connection from the pool or opening a dedicated one.
+ * Long events show the pool is too small for the load, or the database slow to accept connections.
+ */
+@Name("app.ConnectionAcquire")
+@Label("Connection Acquire")
+@Description("Borrowing a pooled database connection or opening a dedicated one")
+public final class ConnectionAcquireEvent extends DatabaseEvent {
+
+    /**
+     * Package-private constructor, events are created by {@link QueryMetrics}.
+     */
+    ConnectionAcquireEvent() {}
+}
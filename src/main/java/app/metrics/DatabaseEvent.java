@@ -0,0 +1,52 @@
+package app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+
+/**
+ * Base of the Flight Recorder events emitted for the database operations timed by a {@link QueryTimer}.
+ * <p>
+ * The fields are only filled in when the event is going to be committed, so a timed operation costs
+ * no more than an allocation the JIT compiler can usually remove while no recording is running.
+ */
+@Category({"Orders App", "Database"})
+public abstract class DatabaseEvent extends jdk.jfr.Event {
+
+    /**
+     * Name of the operation, e.g. {@code findAll} or {@code acquire}.
+     */
+    @Label("Operation")
+    String operation;
+
+    /**
+     * Number of rows read or written.
+     */
+    @Label("Rows")
+    long rows;
+
+    /**
+     * Whether the operation succeeded.
+     */
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Package-private constructor, events are created by {@link QueryMetrics}.
+     */
+    DatabaseEvent() {}
+
+    /**
+     * Fills in the fields of the event before it is committed.
+     *
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, or {@code null}
+     * @param rows the number of rows read or written
+     * @param succeeded whether the operation succeeded
+     */
+    void fill(String entity, String operation, String sql, long rows, boolean succeeded) {
+        this.operation = operation;
+        this.rows = rows;
+        this.succeeded = succeeded;
+    }
+}
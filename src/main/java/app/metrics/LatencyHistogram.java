@@ -0,0 +1,160 @@
+package app.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram of one query kind.
+ * <p>
+ * Latencies are counted in log-linear buckets of microseconds: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so a percentile read from the histogram is at most 25% above the
+ * real value, whatever its magnitude. Recording is a few atomic increments, with no allocation,
+ * so every query can be recorded.
+ */
+final class LatencyHistogram {
+
+    /**
+     * Number of buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 4;
+
+    /**
+     * Number of bits needed to index the buckets of a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 2;
+
+    /**
+     * Number of buckets, covering latencies up to 2^36 microseconds (about 19 hours); longer ones are
+     * counted in the last bucket.
+     */
+    private static final int BUCKETS = 35 * SUB_BUCKETS;
+
+    /**
+     * Number of recorded latencies in each bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Number of recorded operations.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Number of recorded operations that failed.
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Total number of rows read or written by the recorded operations.
+     */
+    private final LongAdder rows = new LongAdder();
+
+    /**
+     * Sum of the recorded latencies, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Largest recorded latency, in nanoseconds.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one operation.
+     *
+     * @param nanos the latency of the operation, in nanoseconds
+     * @param rowCount the number of rows read or written
+     * @param failed whether the operation failed
+     */
+    void record(long nanos, long rowCount, boolean failed) {
+        buckets.incrementAndGet(bucketOf(nanos / 1_000));
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Takes a snapshot of the histogram.
+     * Counters are read one after the other while operations may still be recorded, so they may be off by the
+     * operations recorded meanwhile.
+     *
+     * @param entity the entity the operations act on
+     * @param operation the name of the operation
+     * @return the snapshot
+     */
+    QueryStats snapshot(String entity, String operation) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        return new QueryStats(entity, operation, count.sum(), errors.sum(), rows.sum(), totalNanos.sum(), max,
+                percentile(counts, total, 0.50, max),
+                percentile(counts, total, 0.95, max),
+                percentile(counts, total, 0.99, max),
+                percentile(counts, total, 0.999, max));
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket holding it.
+     *
+     * @param counts the bucket counts
+     * @param total the sum of the bucket counts
+     * @param p the percentile, between 0 and 1
+     * @param max the largest recorded latency, in nanoseconds, which no estimate exceeds
+     * @return the estimated latency, in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    private static long percentile(long[] counts, long total, double p, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) * 1_000, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the bucket counting a latency.
+     *
+     * @param micros the latency, in microseconds
+     * @return the bucket index
+     */
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int power = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((power - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /**
+     * Returns the largest latency counted in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the latency, in microseconds
+     */
+    static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,150 @@
+package app.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP server exposing the metrics of the application at {@code /metrics}, in the Prometheus
+ * text format rendered by {@link PrometheusWriter}.
+ * <p>
+ * The server is off unless the {@code app.metrics.port} system property is set, and then only listens on
+ * the loopback interface unless {@code app.metrics.host} says otherwise. It serves scrapes from a single
+ * daemon thread, so it never keeps the JavaFX application or a headless run alive.
+ */
+public final class MetricsServer {
+
+    /**
+     * Port to listen on; the server is not started if it is not set.
+     * Can be overridden with the {@code app.metrics.port} system property.
+     */
+    private static final Integer PORT = Integer.getInteger("app.metrics.port");
+
+    /**
+     * Address to listen on, the loopback interface by default.
+     * Can be overridden with the {@code app.metrics.host} system property.
+     */
+    private static final String HOST = System.getProperty("app.metrics.host", "127.0.0.1");
+
+    /**
+     * Path of the metrics endpoint.
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * Content type of the Prometheus text format.
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Logger instance for logging server errors.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MetricsServer.class.getName());
+
+    /**
+     * The running server, or {@code null}.
+     */
+    private static HttpServer server;
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private MetricsServer() {}
+
+    /**
+     * Starts the server if the {@code app.metrics.port} system property is set.
+     * Failing to start is logged, not thrown, since the application works without metrics.
+     */
+    public static synchronized void startIfConfigured() {
+        if (PORT == null || server != null) {
+            return;
+        }
+        try {
+            start(HOST, PORT);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Could not start metrics server on %s:%d", HOST, PORT), e);
+        }
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @param host the address to listen on
+     * @param port the port to listen on, {@code 0} for any free port
+     * @return the address the server listens on
+     * @throws IOException if the server cannot listen on the address
+     * @throws IllegalStateException if the server is already running
+     */
+    public static synchronized InetSocketAddress start(String host, int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Metrics server already running on " + server.getAddress());
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(host, port), 0);
+        http.createContext(PATH, MetricsServer::handle);
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        http.setExecutor(executor);
+        http.start();
+        server = http;
+        LOGGER.info(String.format("Serving metrics at http://%s:%d%s",
+                host, http.getAddress().getPort(), PATH));
+        return http.getAddress();
+    }
+
+    /**
+     * Stops the server if it is running.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdown();
+        server = null;
+    }
+
+    /**
+     * Answers a request to the metrics endpoint.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be sent
+     */
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try {
+                body = PrometheusWriter.scrape().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error rendering metrics", e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
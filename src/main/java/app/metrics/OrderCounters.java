@@ -0,0 +1,109 @@
+package app.metrics;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the outcomes of order placements, updated by {@link app.bll.OrderPlacementService}.
+ * <p>
+ * The counters only grow; rates such as orders placed per second are computed by whoever reads them,
+ * e.g. Prometheus from successive scrapes.
+ */
+public final class OrderCounters {
+
+    /**
+     * SQLState reported by PostgreSQL when a transaction is aborted to resolve a deadlock.
+     */
+    public static final String DEADLOCK_DETECTED = "40P01";
+
+    /**
+     * SQLState reported by PostgreSQL when a transaction cannot be serialized with concurrent ones.
+     */
+    public static final String SERIALIZATION_FAILURE = "40001";
+
+    /**
+     * Number of orders placed.
+     */
+    private static final LongAdder PLACED = new LongAdder();
+
+    /**
+     * Number of orders rejected for insufficient stock.
+     */
+    private static final LongAdder INSUFFICIENT_STOCK = new LongAdder();
+
+    /**
+     * Number of orders rejected because their product no longer existed.
+     */
+    private static final LongAdder PRODUCT_NOT_FOUND = new LongAdder();
+
+    /**
+     * Number of orders aborted by a deadlock or a serialization failure.
+     */
+    private static final LongAdder CONFLICTS = new LongAdder();
+
+    /**
+     * Number of orders that failed for another database error.
+     */
+    private static final LongAdder FAILED = new LongAdder();
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private OrderCounters() {}
+
+    /**
+     * Counts a placed order.
+     */
+    public static void placed() {
+        PLACED.increment();
+    }
+
+    /**
+     * Counts an order rejected for insufficient stock.
+     */
+    public static void insufficientStock() {
+        INSUFFICIENT_STOCK.increment();
+    }
+
+    /**
+     * Counts an order rejected because its product no longer existed.
+     */
+    public static void productNotFound() {
+        PRODUCT_NOT_FOUND.increment();
+    }
+
+    /**
+     * Counts an order that failed with a database error, as a conflict if the database aborted it to
+     * resolve a deadlock or a serialization failure.
+     *
+     * @param e the database error
+     */
+    public static void failed(SQLException e) {
+        if (isConflict(e)) {
+            CONFLICTS.increment();
+        } else {
+            FAILED.increment();
+        }
+    }
+
+    /**
+     * Whether a database error aborted a transaction to resolve a deadlock or a serialization failure,
+     * in which case retrying the transaction may succeed.
+     *
+     * @param e the database error
+     * @return true for a deadlock or a serialization failure
+     */
+    public static boolean isConflict(SQLException e) {
+        return DEADLOCK_DETECTED.equals(e.getSQLState()) || SERIALIZATION_FAILURE.equals(e.getSQLState());
+    }
+
+    /**
+     * Returns the current counters.
+     *
+     * @return the counters
+     */
+    public static OrderStats snapshot() {
+        return new OrderStats(PLACED.sum(), INSUFFICIENT_STOCK.sum(), PRODUCT_NOT_FOUND.sum(),
+                CONFLICTS.sum(), FAILED.sum());
+    }
+}
@@ -0,0 +1,78 @@
+package app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one phase of an order placement, nested in its {@link OrderPlacementEvent}.
+ * Comparing the phases of slow placements shows whether the time goes to waiting for the product's row
+ * lock in the stock check, to the inserts, or to the commit.
+ */
+@Name("app.OrderPhase")
+@Label("Order Placement Phase")
+@Description("One phase of an order placement transaction")
+@Category({"Orders App", "Orders"})
+public final class OrderPhaseEvent extends jdk.jfr.Event {
+
+    /**
+     * Phase decrementing the product's stock if enough is available.
+     */
+    public static final String STOCK_CHECK = "stock check";
+
+    /**
+     * Phase inserting the order.
+     */
+    public static final String INSERT_ORDER = "insert order";
+
+    /**
+     * Phase inserting the order's bill.
+     */
+    public static final String INSERT_BILL = "insert bill";
+
+    /**
+     * Phase committing the transaction.
+     */
+    public static final String COMMIT = "commit";
+
+    /**
+     * The phase, one of the constants of this class.
+     */
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * ID of the ordered product.
+     */
+    @Label("Product ID")
+    public int productId;
+
+    /**
+     * Whether the phase completed; {@code false} if it threw.
+     */
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * Creates an event; use {@link #start(String, int)}.
+     */
+    private OrderPhaseEvent() {}
+
+    /**
+     * Creates and begins the event of a phase.
+     *
+     * @param phase the phase, one of the constants of this class
+     * @param productId the ID of the ordered product
+     * @return the begun event, to commit once the phase is over, whether or not it succeeded
+     */
+    public static OrderPhaseEvent start(String phase, int productId) {
+        OrderPhaseEvent event = new OrderPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.productId = productId;
+            event.begin();
+        }
+        return event;
+    }
+}
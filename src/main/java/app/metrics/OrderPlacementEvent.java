@@ -0,0 +1,71 @@
+package app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for placing one order, from borrowing the connection to committing the order and its bill.
+ * Its phases are recorded as nested {@link OrderPhaseEvent}s on the same thread.
+ */
+@Name("app.OrderPlacement")
+@Label("Order Placement")
+@Description("Placing an order: stock decrement, order and bill inserts in one transaction")
+@Category({"Orders App", "Orders"})
+public final class OrderPlacementEvent extends jdk.jfr.Event {
+
+    /**
+     * ID of the client placing the order.
+     */
+    @Label("Client ID")
+    public int clientId;
+
+    /**
+     * ID of the ordered product.
+     */
+    @Label("Product ID")
+    public int productId;
+
+    /**
+     * Ordered quantity.
+     */
+    @Label("Quantity")
+    public int quantity;
+
+    /**
+     * Outcome of the stock decrement, e.g. {@code SUCCESS} or {@code INSUFFICIENT_STOCK}; {@code null} if it failed.
+     */
+    @Label("Stock Status")
+    public String stockStatus;
+
+    /**
+     * Whether the order and its bill were committed.
+     */
+    @Label("Placed")
+    public boolean placed;
+
+    /**
+     * Creates an event; use {@link #start(int, int, int)}.
+     */
+    private OrderPlacementEvent() {}
+
+    /**
+     * Creates and begins the event of an order placement.
+     *
+     * @param clientId the ID of the client
+     * @param productId the ID of the product
+     * @param quantity the ordered quantity
+     * @return the begun event, to commit once the order is placed or rejected
+     */
+    public static OrderPlacementEvent start(int clientId, int productId, int quantity) {
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        if (event.isEnabled()) {
+            event.clientId = clientId;
+            event.productId = productId;
+            event.quantity = quantity;
+            event.begin();
+        }
+        return event;
+    }
+}
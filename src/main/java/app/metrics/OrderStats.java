@@ -0,0 +1,18 @@
+package app.metrics;
+
+/**
+ * Snapshot of the counters of {@link OrderCounters}.
+ *
+ * @param placedCount the number of orders placed, with their bill
+ * @param insufficientStockCount the number of orders rejected because the product did not have enough stock
+ * @param productNotFoundCount the number of orders rejected because the product no longer existed
+ * @param conflictCount the number of orders aborted by the database to resolve a deadlock or a serialization failure
+ * @param failedCount the number of orders that failed for any other database error
+ */
+public record OrderStats(
+        long placedCount,
+        long insufficientStockCount,
+        long productNotFoundCount,
+        long conflictCount,
+        long failedCount
+) {}
@@ -0,0 +1,325 @@
+package app.metrics;
+
+import app.cache.CacheRegion;
+import app.cache.CacheStats;
+import app.cache.EntityCaches;
+import app.connection.DbConnection;
+import app.connection.PoolStats;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the metrics of the application in the Prometheus text exposition format, version 0.0.4.
+ * <p>
+ * A scrape covers the connection pool, the latency of every database operation recorded by
+ * {@link QueryMetrics}, the entity caches, the outcomes of order placements counted by {@link OrderCounters}
+ * and the memory, garbage collection and threads of the JVM. Counters only grow, so rates such as orders
+ * placed per second are left to Prometheus, e.g. {@code rate(app_orders_placed_total[1m])}.
+ */
+final class PrometheusWriter {
+
+    /**
+     * Quantiles reported for the latency of database operations.
+     */
+    private static final String[] QUANTILES = {"0.5", "0.95", "0.99", "0.999"};
+
+    /**
+     * The text being rendered.
+     */
+    private final StringBuilder out = new StringBuilder(16 * 1024);
+
+    /**
+     * Creates a writer; use {@link #scrape()} or {@link #render(PoolStats, List, Map, OrderStats)}.
+     */
+    private PrometheusWriter() {}
+
+    /**
+     * Renders every metric of the application.
+     *
+     * @return the metrics in the Prometheus text format
+     */
+    static String scrape() {
+        return render(DbConnection.getPoolStats(), QueryMetrics.snapshot(), EntityCaches.getRegions(),
+                OrderCounters.snapshot());
+    }
+
+    /**
+     * Renders the given metrics, followed by those of the JVM.
+     *
+     * @param pool the statistics of the connection pool
+     * @param queries the metrics of the database operations
+     * @param regions the cache regions by entity type
+     * @param orders the order counters
+     * @return the metrics in the Prometheus text format
+     */
+    static String render(PoolStats pool, List<QueryStats> queries, Map<Class<?>, CacheRegion<?>> regions,
+                         OrderStats orders) {
+        PrometheusWriter writer = new PrometheusWriter();
+        writer.writePool(pool);
+        writer.writeQueries(queries);
+        writer.writeCaches(regions);
+        writer.writeOrders(orders);
+        writer.writeJvm();
+        return writer.out.toString();
+    }
+
+    /**
+     * Writes the statistics of the connection pool and its statement caches.
+     *
+     * @param pool the pool statistics
+     */
+    private void writePool(PoolStats pool) {
+        family("app_db_pool_connections", "gauge", "Physical connections of the pool by state.");
+        sample("app_db_pool_connections", pool.idleConnections(), "state", "idle");
+        sample("app_db_pool_connections", pool.activeConnections(), "state", "active");
+        gauge("app_db_pool_max_connections", "Maximum number of physical connections of the pool.", pool.maxSize());
+        gauge("app_db_pool_waiting_threads", "Threads waiting to borrow a connection.", pool.waitingThreads());
+        counter("app_db_pool_connections_created_total", "Physical connections opened by the pool.",
+                pool.createdCount());
+        counter("app_db_pool_connections_destroyed_total", "Physical connections closed by the pool.",
+                pool.destroyedCount());
+        counter("app_db_pool_borrow_timeouts_total", "Borrows that timed out waiting for a free connection.",
+                pool.borrowTimeoutCount());
+        counter("app_db_statement_cache_hits_total", "Prepared statements served from a statement cache.",
+                pool.statementCacheHits());
+        counter("app_db_statement_cache_misses_total", "Prepared statements the database had to prepare.",
+                pool.statementCacheMisses());
+        counter("app_db_statement_cache_evictions_total", "Prepared statements evicted from a statement cache.",
+                pool.statementCacheEvictions());
+    }
+
+    /**
+     * Writes the latency, error and row counts of every database operation.
+     *
+     * @param queries the metrics of the operations
+     */
+    private void writeQueries(List<QueryStats> queries) {
+        family("app_db_operation_duration_seconds", "summary", "Latency of database operations.");
+        for (QueryStats stats : queries) {
+            long[] quantiles = {stats.p50Nanos(), stats.p95Nanos(), stats.p99Nanos(), stats.p999Nanos()};
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sample("app_db_operation_duration_seconds", seconds(quantiles[i]),
+                        "entity", stats.entity(), "operation", stats.operation(), "quantile", QUANTILES[i]);
+            }
+            sample("app_db_operation_duration_seconds_sum", seconds(stats.totalNanos()),
+                    "entity", stats.entity(), "operation", stats.operation());
+            sample("app_db_operation_duration_seconds_count", stats.count(),
+                    "entity", stats.entity(), "operation", stats.operation());
+        }
+        family("app_db_operation_duration_seconds_max", "gauge", "Slowest execution of database operations.");
+        for (QueryStats stats : queries) {
+            sample("app_db_operation_duration_seconds_max", seconds(stats.maxNanos()),
+                    "entity", stats.entity(), "operation", stats.operation());
+        }
+        family("app_db_operation_errors_total", "counter", "Database operations that failed.");
+        for (QueryStats stats : queries) {
+            sample("app_db_operation_errors_total", stats.errorCount(),
+                    "entity", stats.entity(), "operation", stats.operation());
+        }
+        family("app_db_operation_rows_total", "counter", "Rows read or written by database operations.");
+        for (QueryStats stats : queries) {
+            sample("app_db_operation_rows_total", stats.rowCount(),
+                    "entity", stats.entity(), "operation", stats.operation());
+        }
+    }
+
+    /**
+     * Writes the statistics of the entity and query caches of every enabled cache region.
+     *
+     * @param regions the cache regions by entity type
+     */
+    private void writeCaches(Map<Class<?>, CacheRegion<?>> regions) {
+        String[][] families = {
+                {"app_cache_hits_total", "counter", "Cache lookups that found a value."},
+                {"app_cache_misses_total", "counter", "Cache lookups that found no value."},
+                {"app_cache_evictions_total", "counter", "Values evicted to make room for new ones."},
+                {"app_cache_expirations_total", "counter", "Values dropped because they expired."},
+                {"app_cache_size", "gauge", "Values currently cached."},
+                {"app_cache_max_size", "gauge", "Maximum number of cached values."},
+                {"app_cache_hit_ratio", "gauge", "Fraction of cache lookups that found a value."},
+        };
+        for (String[] metric : families) {
+            family(metric[0], metric[1], metric[2]);
+            regions.forEach((type, region) -> {
+                cacheSample(metric[0], type, "entity", region.getEntityStats());
+                cacheSample(metric[0], type, "query", region.getQueryStats());
+            });
+        }
+    }
+
+    /**
+     * Writes one statistic of a cache, if the cache is enabled.
+     *
+     * @param name the name of the metric, which selects the statistic
+     * @param type the entity type of the cache region
+     * @param cache {@code entity} for the cache by primary key, {@code query} for the query results
+     * @param stats the statistics of the cache, or {@code null} if it is disabled
+     */
+    private void cacheSample(String name, Class<?> type, String cache, CacheStats stats) {
+        if (stats == null) {
+            return;
+        }
+        double value = switch (name) {
+            case "app_cache_hits_total" -> stats.hitCount();
+            case "app_cache_misses_total" -> stats.missCount();
+            case "app_cache_evictions_total" -> stats.evictionCount();
+            case "app_cache_expirations_total" -> stats.expirationCount();
+            case "app_cache_size" -> stats.size();
+            case "app_cache_max_size" -> stats.maxSize();
+            case "app_cache_hit_ratio" -> stats.hitRate();
+            default -> throw new IllegalArgumentException("Unknown cache metric " + name);
+        };
+        sample(name, value, "entity", type.getSimpleName(), "cache", cache);
+    }
+
+    /**
+     * Writes the outcomes of order placements.
+     *
+     * @param orders the order counters
+     */
+    private void writeOrders(OrderStats orders) {
+        counter("app_orders_placed_total", "Orders placed with their bill.", orders.placedCount());
+        family("app_orders_rejected_total", "counter", "Orders rejected by a stock check.");
+        sample("app_orders_rejected_total", orders.insufficientStockCount(), "reason", "insufficient_stock");
+        sample("app_orders_rejected_total", orders.productNotFoundCount(), "reason", "product_not_found");
+        counter("app_orders_conflicts_total",
+                "Orders aborted by the database to resolve a deadlock or a serialization failure.",
+                orders.conflictCount());
+        counter("app_orders_failed_total", "Orders that failed for another database error.",
+                orders.failedCount());
+    }
+
+    /**
+     * Writes the memory, garbage collection and thread statistics of the JVM.
+     */
+    private void writeJvm() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        family("jvm_memory_used_bytes", "gauge", "Memory used by the JVM.");
+        sample("jvm_memory_used_bytes", heap.getUsed(), "area", "heap");
+        sample("jvm_memory_used_bytes", nonHeap.getUsed(), "area", "nonheap");
+        family("jvm_memory_committed_bytes", "gauge", "Memory committed by the JVM.");
+        sample("jvm_memory_committed_bytes", heap.getCommitted(), "area", "heap");
+        sample("jvm_memory_committed_bytes", nonHeap.getCommitted(), "area", "nonheap");
+        family("jvm_memory_max_bytes", "gauge", "Maximum memory of the JVM, -1 if undefined.");
+        sample("jvm_memory_max_bytes", heap.getMax(), "area", "heap");
+        sample("jvm_memory_max_bytes", nonHeap.getMax(), "area", "nonheap");
+
+        family("jvm_memory_pool_used_bytes", "gauge", "Memory used by each memory pool.");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            sample("jvm_memory_pool_used_bytes", pool.getUsage().getUsed(), "pool", pool.getName());
+        }
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        family("jvm_gc_collections_total", "counter", "Collections run by each garbage collector.");
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample("jvm_gc_collections_total", gc.getCollectionCount(), "gc", gc.getName());
+        }
+        family("jvm_gc_collection_seconds_total", "counter", "Time spent in collections by each garbage collector.");
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample("jvm_gc_collection_seconds_total", gc.getCollectionTime() / 1e3, "gc", gc.getName());
+        }
+
+        gauge("jvm_threads_live", "Live threads of the JVM.", ManagementFactory.getThreadMXBean().getThreadCount());
+        gauge("process_uptime_seconds", "Time since the JVM started.",
+                ManagementFactory.getRuntimeMXBean().getUptime() / 1e3);
+    }
+
+    /**
+     * Writes an unlabelled counter.
+     *
+     * @param name the name of the metric
+     * @param help the description of the metric
+     * @param value the value
+     */
+    private void counter(String name, String help, double value) {
+        family(name, "counter", help);
+        sample(name, value);
+    }
+
+    /**
+     * Writes an unlabelled gauge.
+     *
+     * @param name the name of the metric
+     * @param help the description of the metric
+     * @param value the value
+     */
+    private void gauge(String name, String help, double value) {
+        family(name, "gauge", help);
+        sample(name, value);
+    }
+
+    /**
+     * Writes the {@code HELP} and {@code TYPE} lines of a metric family.
+     *
+     * @param name the name of the metric
+     * @param type the Prometheus type of the metric
+     * @param help the description of the metric
+     */
+    private void family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes a sample.
+     *
+     * @param name the name of the metric
+     * @param value the value
+     * @param labels the label names and values, alternating
+     */
+    private void sample(String name, double value, String... labels) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                escape(labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == (long) value) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Writes a label value, escaping backslashes, double quotes and line feeds.
+     *
+     * @param value the label value
+     */
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Converts nanoseconds to seconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in seconds
+     */
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
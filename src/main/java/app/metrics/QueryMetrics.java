@@ -0,0 +1,204 @@
+package app.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the latency metrics of database operations, kept per entity and operation.
+ * <p>
+ * DAOs and {@link app.connection.DbConnection} time each operation with a {@link QueryTimer}; every
+ * operation updates the histogram of its entity and operation with its latency, its row count and whether
+ * it failed. Operations slower than the {@linkplain #getSlowQueryThreshold() slow query threshold} are
+ * also logged together with their SQL.
+ * <p>
+ * {@link #snapshot()} returns the current metrics, for monitoring or tests, and {@link #format()} renders
+ * them as a text table.
+ * <p>
+ * While a Flight Recorder recording is running, every timed operation is also emitted as a
+ * {@link StatementExecuteEvent}, or a {@link ConnectionAcquireEvent} for connections, whether metrics are
+ * enabled or not.
+ */
+public final class QueryMetrics {
+
+    /**
+     * Whether operations are recorded at all.
+     * Can be overridden with the {@code app.metrics.enabled} system property.
+     */
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("app.metrics.enabled", "true"));
+
+    /**
+     * Entity name under which connection operations are recorded.
+     */
+    public static final String CONNECTION_ENTITY = "connection";
+
+    /**
+     * Logger instance for logging slow queries.
+     */
+    private static final Logger LOGGER = Logger.getLogger(QueryMetrics.class.getName());
+
+    /**
+     * Histograms by entity and operation.
+     */
+    private static final Map<Key, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    /**
+     * Latency, in nanoseconds, from which an operation is logged as slow; {@code 0} disables the log.
+     * Defaults to 500 ms and can be overridden with the {@code app.metrics.slowQueryMs} system property.
+     */
+    private static volatile long slowQueryNanos =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("app.metrics.slowQueryMs", 500L));
+
+    /**
+     * Private constructor, this class only has static members.
+     */
+    private QueryMetrics() {}
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, logged if it is slow, or {@code null}
+     * @return the timer, to close once the operation is over
+     */
+    public static QueryTimer start(String entity, String operation, String sql) {
+        return start(entity, operation, sql, new StatementExecuteEvent());
+    }
+
+    /**
+     * Starts timing a connection operation, recorded under {@link #CONNECTION_ENTITY}.
+     *
+     * @param operation the name of the operation, e.g. {@code acquire}
+     * @return the timer, to close once the connection is obtained
+     */
+    public static QueryTimer startConnection(String operation) {
+        return start(CONNECTION_ENTITY, operation, null, new ConnectionAcquireEvent());
+    }
+
+    /**
+     * Starts timing an operation, beginning its Flight Recorder event if a recording wants it.
+     *
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, or {@code null}
+     * @param event the unstarted event of the operation
+     * @return the timer, to close once the operation is over
+     */
+    private static QueryTimer start(String entity, String operation, String sql, DatabaseEvent event) {
+        boolean recorded = event.isEnabled();
+        if (!ENABLED && !recorded) {
+            return QueryTimer.DISABLED;
+        }
+        LatencyHistogram histogram = ENABLED
+                ? HISTOGRAMS.computeIfAbsent(new Key(entity, operation), key -> new LatencyHistogram())
+                : null;
+        if (recorded) {
+            event.begin();
+        }
+        return new QueryTimer(histogram, recorded ? event : null, entity, operation, sql);
+    }
+
+    /**
+     * Records a finished operation, logging it if it is slow.
+     *
+     * @param histogram the histogram of the operation
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, or {@code null}
+     * @param nanos the latency of the operation
+     * @param rows the number of rows read or written
+     * @param failed whether the operation failed
+     */
+    static void record(LatencyHistogram histogram, String entity, String operation, String sql,
+                       long nanos, long rows, boolean failed) {
+        histogram.record(nanos, rows, failed);
+        long threshold = slowQueryNanos;
+        if (threshold > 0 && nanos >= threshold) {
+            LOGGER.warning(String.format("Slow %s %s.%s took %.1f ms (%d rows)%s",
+                    failed ? "failed operation" : "operation", entity, operation, nanos / 1e6, rows,
+                    sql == null ? "" : ": " + sql));
+        }
+    }
+
+    /**
+     * Gets the latency from which operations are logged as slow.
+     *
+     * @param unit the unit of the returned threshold
+     * @return the threshold, {@code 0} if slow operations are not logged
+     */
+    public static long getSlowQueryThreshold(TimeUnit unit) {
+        return unit.convert(slowQueryNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the latency, in milliseconds, from which operations are logged as slow.
+     *
+     * @return the threshold in milliseconds, {@code 0} if slow operations are not logged
+     */
+    public static long getSlowQueryThreshold() {
+        return getSlowQueryThreshold(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets the latency from which operations are logged as slow.
+     *
+     * @param threshold the threshold, {@code 0} to stop logging slow operations
+     * @param unit the unit of the threshold
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public static void setSlowQueryThreshold(long threshold, TimeUnit unit) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative: " + threshold);
+        }
+        slowQueryNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * Returns the current metrics of every recorded operation.
+     *
+     * @return the metrics, sorted by entity and operation
+     */
+    public static List<QueryStats> snapshot() {
+        List<QueryStats> stats = new ArrayList<>(HISTOGRAMS.size());
+        HISTOGRAMS.forEach((key, histogram) -> stats.add(histogram.snapshot(key.entity(), key.operation())));
+        stats.sort(Comparator.comparing(QueryStats::entity).thenComparing(QueryStats::operation));
+        return stats;
+    }
+
+    /**
+     * Discards every recorded operation.
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Renders the current metrics as a text table, one line per entity and operation, latencies in milliseconds.
+     *
+     * @return the table
+     */
+    public static String format() {
+        StringBuilder table = new StringBuilder(String.format("%-14s %-26s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "entity", "operation", "count", "errors", "rows", "mean", "p50", "p99", "p99.9", "max"));
+        for (QueryStats stats : snapshot()) {
+            table.append(String.format("%-14s %-26s %9d %7d %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.entity(), stats.operation(), stats.count(), stats.errorCount(), stats.rowCount(),
+                    stats.meanNanos() / 1e6, stats.p50Nanos() / 1e6, stats.p99Nanos() / 1e6,
+                    stats.p999Nanos() / 1e6, stats.maxNanos() / 1e6));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Identifies the histogram of an operation.
+     *
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     */
+    private record Key(String entity, String operation) {}
+}
@@ -0,0 +1,51 @@
+package app.metrics;
+
+/**
+ * Snapshot of the metrics of one kind of database operation.
+ * Latencies are in nanoseconds; the percentiles are estimated from a histogram and may be up to 25% above
+ * the exact values.
+ *
+ * @param entity the entity the operations act on, e.g. {@code Product}, or {@code connection} for the pool
+ * @param operation the name of the operation, e.g. {@code findAll}
+ * @param count the number of recorded operations, failed ones included
+ * @param errorCount the number of operations that failed
+ * @param rowCount the total number of rows read or written
+ * @param totalNanos the sum of the latencies
+ * @param maxNanos the largest latency
+ * @param p50Nanos the median latency
+ * @param p95Nanos the 95th percentile latency
+ * @param p99Nanos the 99th percentile latency
+ * @param p999Nanos the 99.9th percentile latency
+ */
+public record QueryStats(
+        String entity,
+        String operation,
+        long count,
+        long errorCount,
+        long rowCount,
+        long totalNanos,
+        long maxNanos,
+        long p50Nanos,
+        long p95Nanos,
+        long p99Nanos,
+        long p999Nanos
+) {
+
+    /**
+     * Gets the mean latency.
+     *
+     * @return the mean latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Gets the mean number of rows per operation.
+     *
+     * @return the mean number of rows, or 0 if nothing was recorded
+     */
+    public double meanRows() {
+        return count == 0 ? 0 : (double) rowCount / count;
+    }
+}
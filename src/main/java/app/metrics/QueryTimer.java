@@ -0,0 +1,110 @@
+package app.metrics;
+
+/**
+ * Times one database operation and records it in {@link QueryMetrics} when closed, emitting its
+ * {@link DatabaseEvent} while a Flight Recorder recording is running.
+ * <p>
+ * Meant to be the first resource of a try-with-resources block, so it also covers borrowing and
+ * closing the connection:
+ * <pre>{@code
+ * try (QueryTimer timer = QueryMetrics.start("Product", "findAll", sql);
+ *      Connection con = DbConnection.getConnection(); ...) {
+ *     ...
+ *     timer.succeeded(list.size());
+ * }
+ * }</pre>
+ * An operation closed without a call to {@link #succeeded(long)}, e.g. because an exception was thrown,
+ * is recorded as failed. A timer is used by a single thread.
+ */
+public final class QueryTimer implements AutoCloseable {
+
+    /**
+     * Timer returned while metrics are disabled; it records nothing.
+     */
+    static final QueryTimer DISABLED = new QueryTimer(null, null, null, null, null);
+
+    /**
+     * Histogram receiving the operation, {@code null} for the disabled timer.
+     */
+    private final LatencyHistogram histogram;
+
+    /**
+     * Flight Recorder event of the operation, {@code null} if it is not recorded.
+     */
+    private final DatabaseEvent event;
+
+    /**
+     * Entity the operation acts on.
+     */
+    private final String entity;
+
+    /**
+     * Name of the operation.
+     */
+    private final String operation;
+
+    /**
+     * SQL of the operation, logged if it is slow; may be {@code null}.
+     */
+    private final String sql;
+
+    /**
+     * {@link System#nanoTime()} at which the operation started.
+     */
+    private final long start;
+
+    /**
+     * Number of rows read or written, set on success.
+     */
+    private long rows;
+
+    /**
+     * Whether the operation succeeded.
+     */
+    private boolean succeeded;
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param histogram histogram receiving the operation, {@code null} if metrics are disabled
+     * @param event the begun Flight Recorder event of the operation, {@code null} if it is not recorded
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, or {@code null}
+     */
+    QueryTimer(LatencyHistogram histogram, DatabaseEvent event, String entity, String operation, String sql) {
+        this.histogram = histogram;
+        this.event = event;
+        this.entity = entity;
+        this.operation = operation;
+        this.sql = sql;
+        this.start = histogram == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Marks the operation as successful.
+     *
+     * @param rowCount the number of rows read or written
+     */
+    public void succeeded(long rowCount) {
+        this.rows = rowCount;
+        this.succeeded = true;
+    }
+
+    /**
+     * Stops timing and records the operation.
+     */
+    @Override
+    public void close() {
+        if (histogram != null) {
+            QueryMetrics.record(histogram, entity, operation, sql, System.nanoTime() - start, rows, !succeeded);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fill(entity, operation, sql, rows, succeeded);
+                event.commit();
+            }
+        }
+    }
+}
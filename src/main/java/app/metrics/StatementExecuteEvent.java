@@ -0,0 +1,48 @@
+package app.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one DAO operation, from borrowing its connection to reading its last row.
+ * The SQL is the statement's template, with {@code ?} placeholders, so no parameter value is recorded.
+ */
+@Name("app.StatementExecute")
+@Label("Statement Execute")
+@Description("A DAO operation with its SQL template and row count")
+public final class StatementExecuteEvent extends DatabaseEvent {
+
+    /**
+     * Entity the operation acts on, e.g. {@code Product}.
+     */
+    @Label("Entity")
+    String entity;
+
+    /**
+     * SQL template of the operation.
+     */
+    @Label("SQL")
+    String sql;
+
+    /**
+     * Package-private constructor, events are created by {@link QueryMetrics}.
+     */
+    StatementExecuteEvent() {}
+
+    /**
+     * Fills in the fields of the event, including the entity and the SQL, before it is committed.
+     *
+     * @param entity the entity the operation acts on
+     * @param operation the name of the operation
+     * @param sql the SQL of the operation, or {@code null}
+     * @param rows the number of rows read or written
+     * @param succeeded whether the operation succeeded
+     */
+    @Override
+    void fill(String entity, String operation, String sql, long rows, boolean succeeded) {
+        super.fill(entity, operation, sql, rows, succeeded);
+        this.entity = entity;
+        this.sql = sql;
+    }
+}
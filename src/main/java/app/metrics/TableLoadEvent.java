@@ -0,0 +1,70 @@
+package app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading one page of a table, from requesting the page on the JavaFX application
+ * thread to showing its rows. The first page of a reload is flagged, so table refreshes can be told apart
+ * from pages fetched while scrolling.
+ */
+@Name("app.TableLoad")
+@Label("Table Page Load")
+@Description("Fetching one page of a table in the background and appending it")
+@Category({"Orders App", "GUI"})
+public final class TableLoadEvent extends jdk.jfr.Event {
+
+    /**
+     * ID of the loaded table, e.g. {@code productTable}.
+     */
+    @Label("Table")
+    public String table;
+
+    /**
+     * Whether the page is the first one of a (re)load.
+     */
+    @Label("First Page")
+    public boolean firstPage;
+
+    /**
+     * Number of rows of the page.
+     */
+    @Label("Rows")
+    public int rows;
+
+    /**
+     * Whether the page is the last one of the table.
+     */
+    @Label("Last Page")
+    public boolean lastPage;
+
+    /**
+     * Whether the page was fetched; {@code false} if fetching it failed.
+     */
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    /**
+     * Creates an event; use {@link #start(String, boolean)}.
+     */
+    private TableLoadEvent() {}
+
+    /**
+     * Creates and begins the event of a page load.
+     *
+     * @param table the ID of the table
+     * @param firstPage whether the page is the first one of a (re)load
+     * @return the begun event, to commit once the page is shown
+     */
+    public static TableLoadEvent start(String table, boolean firstPage) {
+        TableLoadEvent event = new TableLoadEvent();
+        if (event.isEnabled()) {
+            event.table = table;
+            event.firstPage = firstPage;
+            event.begin();
+        }
+        return event;
+    }
+}
@@ -1,5 +1,6 @@
 package app.model;
 import app.annotations.Column;
+import app.annotations.Index;
 import app.annotations.Table;
 
 import java.sql.Timestamp;
@@ -16,6 +17,7 @@ public record Bill(
         @Column(name = "id", type = "INT", primaryKey = true, nullable = false, updatable = false)
         Integer id,
 
+        @Index
         @Column(name = "orderId", type = "INT", nullable = false, updatable = false)
         int orderId,
 
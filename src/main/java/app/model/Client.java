@@ -1,14 +1,20 @@
 package app.model;
 
 import app.annotations.Column;
+import app.annotations.Index;
 import app.annotations.Table;
 
 import java.util.Objects;
 
 /**
  * Represents a client entity in the system, containing personal (name) and contact (email, address) information.
+ * <p>
+ * The trigram index on the full name serves the search of the detailed orders by client name.
  */
-@Table(name = "clients")
+@Table(name = "clients", extensions = "pg_trgm", indexes = {
+        @Index(name = "clients_full_name_trgm_idx", method = "gin",
+                expression = "(first_name || ' ' || last_name) gin_trgm_ops")
+})
 public class Client {
 
     /**
@@ -1,6 +1,7 @@
 package app.model;
 
 import app.annotations.Column;
+import app.annotations.Index;
 import app.annotations.Table;
 
 import java.sql.Timestamp;
@@ -8,8 +9,14 @@ import java.util.Objects;
 
 /**
  * Represents an order in the system, storing details about the client, product, quantity, total price, and order date.
+ * <p>
+ * The indexes serve the joins on, and the foreign key checks of, the client and product IDs, and the
+ * date range filters of the detailed orders.
  */
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(columns = {"client_id", "order_date"}),
+        @Index(columns = {"product_id", "order_date"})
+})
 public class Order {
 
     /**
@@ -45,6 +52,7 @@ public class Order {
     /**
      * Date and time when the order was placed.
      */
+    @Index
     @Column(name = "order_date", type = "TIMESTAMP", nullable = false)
     private Timestamp orderDate;
 
@@ -107,6 +115,33 @@ public class Order {
         this.id = id;
     }
 
+    /**
+     * Gets the ID of the client who placed the order.
+     *
+     * @return the client ID
+     */
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Gets the ID of the ordered product.
+     *
+     * @return the product ID
+     */
+    public int getProductId() {
+        return productId;
+    }
+
+    /**
+     * Gets the quantity of the product ordered.
+     *
+     * @return the ordered quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
     /**
      * Gets the total price of the order.
      *
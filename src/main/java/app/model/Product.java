@@ -1,14 +1,17 @@
 package app.model;
 
 import app.annotations.Column;
+import app.annotations.Index;
 import app.annotations.Table;
 
 import java.util.Objects;
 
 /**
  * Represents a product entity in the system, containing information about its name, price and available stock.
+ * <p>
+ * The trigram index on the name serves the search of the detailed orders by product name.
  */
-@Table(name = "products")
+@Table(name = "products", extensions = "pg_trgm")
 public class Product {
 
     /**
@@ -21,6 +24,7 @@ public class Product {
      * Name of the product.
      */
     @Column(name = "name", type = "VARCHAR(300)", nullable = false)
+    @Index(name = "products_name_trgm_idx", method = "gin", expression = "name gin_trgm_ops")
     private String name;
 
     /**
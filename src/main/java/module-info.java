@@ -3,6 +3,10 @@ module app {
     requires javafx.fxml;
 
     requires java.sql;
+    requires org.postgresql.jdbc;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires java.management;
 
     opens app.gui to javafx.fxml;
 
@@ -0,0 +1,89 @@
+package app.cache;
+
+import app.model.Client;
+import app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the parsing of change notification payloads and the matching of changes to tables by {@link TableChange}.
+ */
+class TableChangeTest {
+
+    /**
+     * Checks a payload naming the changed row.
+     */
+    @Test
+    void parsesRowChange() {
+        TableChange change = TableChange.parse("products:UPDATE:42");
+
+        assertEquals(new TableChange("products", TableChange.Operation.UPDATE, "42", null), change);
+        assertTrue(change.isRowChange());
+        assertEquals(42, change.intId());
+    }
+
+    /**
+     * Checks a payload without a row, such as a multi-row insert or a truncate.
+     */
+    @Test
+    void parsesTableChange() {
+        TableChange change = TableChange.parse("orders:TRUNCATE");
+
+        assertEquals(new TableChange("orders", TableChange.Operation.TRUNCATE, null, null), change);
+        assertFalse(change.isRowChange());
+    }
+
+    /**
+     * Checks that everything after the second colon is the row key, even if it contains colons itself.
+     */
+    @Test
+    void keepsColonsInRowKey() {
+        assertEquals("a:b", TableChange.parse("log:INSERT:a:b").id());
+    }
+
+    /**
+     * Checks that payloads without an operation or with an unknown one are rejected.
+     */
+    @Test
+    void rejectsMalformedPayloads() {
+        assertThrows(IllegalArgumentException.class, () -> TableChange.parse("products"));
+        assertThrows(IllegalArgumentException.class, () -> TableChange.parse("products:MERGE:1"));
+        assertThrows(IllegalArgumentException.class, () -> TableChange.parse(""));
+    }
+
+    /**
+     * Checks that a change affects its table, whatever the case of the name, and that a resync affects every table.
+     */
+    @Test
+    void matchesTables() {
+        TableChange change = TableChange.parse("Products:DELETE:1");
+
+        assertTrue(change.affects("products"));
+        assertTrue(change.affects(Product.class));
+        assertFalse(change.affects(Client.class));
+        assertTrue(TableChange.resync().affects(Client.class));
+        assertTrue(TableChange.resync().affects("orders"));
+    }
+
+    /**
+     * Checks a change made by this process, which carries the new state of its row.
+     */
+    @Test
+    void carriesRowOfLocalChange() {
+        Product product = new Product(7, "Chair", 20.0, 3);
+
+        TableChange change = TableChange.of(Product.class, TableChange.Operation.INSERT, 7, product);
+
+        assertEquals("products", change.table());
+        assertEquals("7", change.id());
+        assertSame(product, change.rowAs(Product.class));
+        assertNull(change.rowAs(Client.class));
+        assertNull(TableChange.of(Product.class, TableChange.Operation.INSERT, null, null).id());
+    }
+}
@@ -0,0 +1,146 @@
+package app.connection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the LRU behaviour and the counters of {@link StatementCache}.
+ */
+class StatementCacheTest {
+
+    /**
+     * Pool-wide hit counter.
+     */
+    private LongAdder hits;
+
+    /**
+     * Pool-wide miss counter.
+     */
+    private LongAdder misses;
+
+    /**
+     * Pool-wide eviction counter.
+     */
+    private LongAdder evictions;
+
+    /**
+     * Statements closed so far.
+     */
+    private Set<PreparedStatement> closed;
+
+    /**
+     * Resets the counters and the closed statements.
+     */
+    @BeforeEach
+    void setUp() {
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+        closed = new HashSet<>();
+    }
+
+    /**
+     * Checks that an offered statement is taken again under its key, and counted as a hit.
+     */
+    @Test
+    void offeredStatementIsTakenAgain() {
+        StatementCache cache = new StatementCache(2, hits, misses, evictions);
+        PreparedStatement statement = statement();
+
+        assertNull(cache.take("a"));
+        cache.offer("a", statement);
+
+        assertSame(statement, cache.take("a"));
+        assertNull(cache.take("a"));
+        assertEquals(1, hits.sum());
+        assertEquals(2, misses.sum());
+    }
+
+    /**
+     * Checks that the least recently used idle statement is evicted and closed when the cache is full.
+     */
+    @Test
+    void evictsLeastRecentlyUsedStatement() {
+        StatementCache cache = new StatementCache(2, hits, misses, evictions);
+        PreparedStatement a = statement();
+        PreparedStatement b = statement();
+        PreparedStatement c = statement();
+        cache.offer("a", a);
+        cache.offer("b", b);
+        cache.offer("a", cache.take("a"));
+
+        cache.offer("c", c);
+
+        assertEquals(Set.of(b), closed);
+        assertEquals(1, evictions.sum());
+        assertNull(cache.take("b"));
+        assertSame(a, cache.take("a"));
+        assertSame(c, cache.take("c"));
+    }
+
+    /**
+     * Checks that a second statement offered under a cached key is closed instead of replacing the first.
+     */
+    @Test
+    void closesDuplicateStatement() {
+        StatementCache cache = new StatementCache(2, hits, misses, evictions);
+        PreparedStatement first = statement();
+        PreparedStatement second = statement();
+
+        cache.offer("a", first);
+        cache.offer("a", second);
+
+        assertEquals(Set.of(second), closed);
+        assertSame(first, cache.take("a"));
+        assertEquals(0, evictions.sum());
+    }
+
+    /**
+     * Checks that closing the cache closes the idle statements and the ones offered back later.
+     */
+    @Test
+    void closeAllClosesIdleAndLaterOfferedStatements() {
+        StatementCache cache = new StatementCache(4, hits, misses, evictions);
+        PreparedStatement idle = statement();
+        PreparedStatement inUse = statement();
+        cache.offer("a", idle);
+
+        cache.closeAll();
+        assertEquals(Set.of(idle), closed);
+        cache.offer("b", inUse);
+
+        assertEquals(Set.of(idle, inUse), closed);
+        assertNull(cache.take("a"));
+        assertNull(cache.take("b"));
+        assertEquals(0, evictions.sum());
+    }
+
+    /**
+     * Creates a statement recording when it is closed.
+     *
+     * @return the statement
+     */
+    private PreparedStatement statement() {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        closed.add((PreparedStatement) proxy);
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,177 @@
+package app.dao;
+
+import app.dao.paging.Page;
+import app.dao.paging.PageCursor;
+import app.dao.paging.SortKey;
+import app.dao.utils.EntityMetadata;
+import app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the keyset pagination of {@link AbstractDAO}: the generated queries and the pages and cursors
+ * read from their results, without a database.
+ */
+class KeysetPagingTest {
+
+    /**
+     * Ordering of the simulated {@code ORDER BY name, id} query.
+     */
+    private static final Comparator<Row> BY_NAME_THEN_ID = Comparator.comparing(Row::name).thenComparingInt(Row::id);
+
+    /**
+     * Checks the query of a first page sorted by primary key.
+     */
+    @Test
+    void firstPageByPrimaryKeyHasNoSeekPredicate() {
+        ProductDAO dao = new ProductDAO();
+        EntityMetadata<Product> metadata = EntityMetadata.of(Product.class);
+
+        String sql = dao.pageSql(metadata.getPrimaryKey(), false, false);
+
+        assertEquals("SELECT " + metadata.getColumnList() + " FROM products ORDER BY id LIMIT ?", sql);
+    }
+
+    /**
+     * Checks the query resuming after a cursor, sorted by a column and then by primary key.
+     */
+    @Test
+    void nextPageByColumnSeeksPastSortKeyAndId() {
+        ProductDAO dao = new ProductDAO();
+        EntityMetadata<Product> metadata = EntityMetadata.of(Product.class);
+
+        assertEquals("SELECT " + metadata.getColumnList() + " FROM products WHERE (name, id) > (?, ?) ORDER BY name, id LIMIT ?",
+                dao.pageSql(metadata.getColumn("name"), false, true));
+        assertEquals("SELECT " + metadata.getColumnList() + " FROM products WHERE (price, id) < (?, ?) ORDER BY price DESC, id DESC LIMIT ?",
+                dao.pageSql(metadata.getColumn("price"), true, true));
+        assertEquals("SELECT " + metadata.getColumnList() + " FROM products WHERE id < ? ORDER BY id DESC LIMIT ?",
+                dao.pageSql(metadata.getPrimaryKey(), true, true));
+    }
+
+    /**
+     * Checks that invalid page sizes are rejected before any query runs.
+     */
+    @Test
+    void rejectsNonPositiveLimit() {
+        ProductDAO dao = new ProductDAO();
+
+        assertThrows(IllegalArgumentException.class, () -> dao.findPage(null, 0, SortKey.ascending("name")));
+    }
+
+    /**
+     * Checks that the extra row fetched past the limit is dropped and yields a cursor on the last kept row.
+     *
+     * @throws Exception if the result cannot be read
+     */
+    @Test
+    void extraRowIsDroppedAndCursorPointsAtLastKeptRow() throws Exception {
+        List<Row> rows = List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, "c"));
+
+        Page<Row> page = AbstractDAO.readPage(resultSet(rows), this::mapRow, 2, 2, 1);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertTrue(page.hasNext());
+        assertEquals(new PageCursor("b", 2), page.next());
+    }
+
+    /**
+     * Checks that a result with at most {@code limit} rows is the last page.
+     *
+     * @throws Exception if the result cannot be read
+     */
+    @Test
+    void resultWithinLimitIsLastPage() throws Exception {
+        List<Row> rows = List.of(new Row(1, "a"), new Row(2, "b"));
+
+        Page<Row> full = AbstractDAO.readPage(resultSet(rows), this::mapRow, 2, 2, 1);
+        Page<Row> empty = AbstractDAO.readPage(resultSet(List.of()), this::mapRow, 2, 2, 1);
+
+        assertEquals(rows, full.items());
+        assertFalse(full.hasNext());
+        assertNull(full.next());
+        assertTrue(empty.items().isEmpty());
+        assertFalse(empty.hasNext());
+    }
+
+    /**
+     * Walks a table whose sort column has many duplicate values page by page, applying the seek predicate
+     * of the cursors, and checks that every row is returned exactly once and in order.
+     *
+     * @throws Exception if a result cannot be read
+     */
+    @Test
+    void walkingPagesReturnsEveryRowOnceDespiteDuplicateSortValues() throws Exception {
+        List<Row> table = new ArrayList<>();
+        for (int id = 1; id <= 23; id++) {
+            table.add(new Row(id, "name" + (id * 7 % 4)));
+        }
+        List<Row> expected = table.stream().sorted(BY_NAME_THEN_ID).toList();
+
+        List<Row> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        int pages = 0;
+        do {
+            PageCursor after = cursor;
+            List<Row> result = table.stream()
+                    .filter(row -> after == null || BY_NAME_THEN_ID.compare(row, new Row((Integer) after.id(), (String) after.sortValue())) > 0)
+                    .sorted(BY_NAME_THEN_ID)
+                    .limit(5 + 1)
+                    .toList();
+            Page<Row> page = AbstractDAO.readPage(resultSet(result), this::mapRow, 5, 2, 1);
+            walked.addAll(page.items());
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        assertEquals(5, pages);
+    }
+
+    /**
+     * Maps the current row of a result set created by {@link #resultSet(List)}.
+     *
+     * @param rs the result set
+     * @return the row
+     * @throws java.sql.SQLException never
+     */
+    private Row mapRow(ResultSet rs) throws java.sql.SQLException {
+        return new Row(rs.getInt(1), rs.getString(2));
+    }
+
+    /**
+     * Creates a forward-only result set over rows whose column 1 is the id and column 2 the name.
+     *
+     * @param rows the rows
+     * @return the result set, positioned before the first row
+     */
+    private static ResultSet resultSet(List<Row> rows) {
+        int[] position = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++position[0] < rows.size();
+                    case "getInt" -> rows.get(position[0]).id();
+                    case "getString" -> rows.get(position[0]).name();
+                    case "getObject" -> (Integer) args[0] == 1 ? (Object) rows.get(position[0]).id() : rows.get(position[0]).name();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * A row of the simulated table.
+     *
+     * @param id the primary key
+     * @param name the sort column
+     */
+    private record Row(int id, String name) {}
+}
@@ -0,0 +1,195 @@
+package app.dao.mapping;
+
+import app.dao.utils.ColumnMetadata;
+import app.dao.utils.EntityMetadata;
+import app.model.Bill;
+import app.model.Client;
+import app.model.Order;
+import app.model.OrderDetails;
+import app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the binders generated by the {@code app-processor} annotation processor behave exactly like
+ * the {@link ReflectiveEntityBinder}. The tests only run when the generated binders are on the class path,
+ * i.e. when building with the {@code codegen} profile.
+ */
+class EntityBinderParityTest {
+
+    /**
+     * Timestamp used for every timestamp column.
+     */
+    private static final Timestamp TIMESTAMP = Timestamp.valueOf("2024-05-17 10:15:30");
+
+    /**
+     * Maps the same row through both binders of every entity and compares the values they bind for the
+     * resulting entities.
+     *
+     * @throws Exception if a binder fails
+     */
+    @Test
+    void generatedBindersMapAndBindLikeReflectiveBinders() throws Exception {
+        assumeTrue(EntityBinders.isGenerated(Client.class), "generated binders require the codegen profile");
+        for (Class<?> type : List.of(Client.class, Product.class, Order.class, Bill.class, OrderDetails.class)) {
+            assertTrue(EntityBinders.isGenerated(type), type.getName());
+            assertParity(type);
+        }
+    }
+
+    /**
+     * Checks the primary key round trip of a mutable entity.
+     */
+    @Test
+    void generatedBinderAssignsPrimaryKeyOfMutableEntity() {
+        assumeTrue(EntityBinders.isGenerated(Client.class), "generated binders require the codegen profile");
+        EntityBinder<Client> binder = EntityBinders.of(Client.class);
+
+        Client client = binder.withPrimaryKey(new Client("Ana", "Pop", "ana@example.com", "Main street 1"), 42L);
+
+        assertEquals(42, binder.getPrimaryKey(client));
+    }
+
+    /**
+     * Checks the primary key round trip of a record, which is copied into a new instance.
+     */
+    @Test
+    void generatedBinderCopiesRecordWithPrimaryKey() {
+        assumeTrue(EntityBinders.isGenerated(Bill.class), "generated binders require the codegen profile");
+        Bill bill = new Bill(null, 7, 12.5, TIMESTAMP);
+
+        Bill withKey = EntityBinders.of(Bill.class).withPrimaryKey(bill, 3L);
+
+        assertEquals(new Bill(3, 7, 12.5, TIMESTAMP), withKey);
+        assertEquals(EntityBinders.reflective(Bill.class).withPrimaryKey(bill, 3L), withKey);
+    }
+
+    /**
+     * Checks that an entity without a primary key fails the same way through both binders.
+     */
+    @Test
+    void generatedBinderRejectsMissingPrimaryKeyLikeReflectiveBinder() {
+        assumeTrue(EntityBinders.isGenerated(OrderDetails.class), "generated binders require the codegen profile");
+        OrderDetails details = new OrderDetails(1, "Ana Pop", "Chair", 2, 40.0, TIMESTAMP);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> EntityBinders.reflective(OrderDetails.class).getPrimaryKey(details));
+        assertThrows(UnsupportedOperationException.class,
+                () -> EntityBinders.of(OrderDetails.class).getPrimaryKey(details));
+    }
+
+    /**
+     * Checks that without a generated binder, the reflective binder is used.
+     */
+    @Test
+    void fallsBackToReflectiveBinder() {
+        assumeTrue(!EntityBinders.isGenerated(Product.class), "only without the codegen profile");
+        assertTrue(EntityBinders.of(Product.class) instanceof ReflectiveEntityBinder);
+        assertTrue(EntityBinders.of(Order.class) instanceof ReflectiveEntityBinder);
+    }
+
+    /**
+     * Maps a synthetic row through both binders of an entity and compares the bound insert parameters.
+     *
+     * @param type the entity class
+     * @param <T> the entity type
+     * @throws Exception if a binder fails
+     */
+    private static <T> void assertParity(Class<T> type) throws Exception {
+        EntityBinder<T> generated = EntityBinders.of(type);
+        EntityBinder<T> reflective = EntityBinders.reflective(type);
+        List<ColumnMetadata> columns = EntityMetadata.of(type).getColumns();
+        Object[] row = new Object[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = sampleValue(columns.get(i).field().getType(), i);
+        }
+
+        T fromGenerated = generated.mapRow(resultSet(row));
+        T fromReflective = reflective.mapRow(resultSet(row));
+
+        Map<Integer, Object> generatedParameters = new TreeMap<>();
+        Map<Integer, Object> reflectiveParameters = new TreeMap<>();
+        int generatedNext = generated.bindInsert(statement(generatedParameters), 1, fromGenerated);
+        int reflectiveNext = reflective.bindInsert(statement(reflectiveParameters), 1, fromReflective);
+
+        assertEquals(reflectiveNext, generatedNext);
+        assertEquals(reflectiveParameters, generatedParameters);
+        assertEquals(EntityMetadata.of(type).getInsertColumns().size(), generatedParameters.size());
+        if (EntityMetadata.of(type).hasPrimaryKey()) {
+            assertEquals(reflective.getPrimaryKey(fromReflective), generated.getPrimaryKey(fromGenerated));
+        }
+    }
+
+    /**
+     * Creates a distinct value of the given column type.
+     *
+     * @param javaType the type of the column field
+     * @param index the index of the column, used to make values distinct
+     * @return the value
+     */
+    private static Object sampleValue(Class<?> javaType, int index) {
+        if (javaType == int.class || javaType == Integer.class) {
+            return 10 + index;
+        }
+        if (javaType == double.class) {
+            return 2.5 * (index + 1);
+        }
+        if (javaType == String.class) {
+            return "value " + index;
+        }
+        if (javaType == Timestamp.class) {
+            return TIMESTAMP;
+        }
+        throw new IllegalArgumentException("No sample value for " + javaType);
+    }
+
+    /**
+     * Creates a result set positioned on a single row, supporting the getters used by the binders.
+     *
+     * @param row the column values, in column order
+     * @return the result set
+     */
+    private static ResultSet resultSet(Object[] row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object value = row[(Integer) args[0] - 1];
+                    return switch (method.getName()) {
+                        case "getInt" -> ((Number) value).intValue();
+                        case "getDouble" -> ((Number) value).doubleValue();
+                        case "getString", "getTimestamp" -> value;
+                        case "getObject" -> args.length == 2 ? ((Class<?>) args[1]).cast(value) : value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    /**
+     * Creates a statement recording the value of each parameter it is given.
+     *
+     * @param parameters receives the parameter values by index
+     * @return the statement
+     */
+    private static PreparedStatement statement(Map<Integer, Object> parameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("set") || args.length != 2) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    parameters.put((Integer) args[0], args[1]);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package app.dao.mapping;
+
+import app.model.Bill;
+import app.model.Client;
+import app.model.OrderDetails;
+import app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link EntityBinder#copy(Object)}, used to keep cached entities apart from the ones handed out,
+ * for the binder in use and for the reflective one.
+ */
+class EntityCopyTest {
+
+    /**
+     * Checks that a mutable entity is copied into an equal, independent instance.
+     */
+    @Test
+    void copiesMutableEntities() {
+        for (EntityBinder<Product> binder : List.of(EntityBinders.of(Product.class),
+                EntityBinders.reflective(Product.class))) {
+            Product product = new Product(4, "Chair", 20.0, 3);
+
+            Product copy = binder.copy(product);
+            product.setName("Table");
+
+            assertNotSame(product, copy);
+            assertEquals(new Product(4, "Chair", 20.0, 3), copy);
+        }
+    }
+
+    /**
+     * Checks that an entity with a no-argument constructor and one with only an all-columns constructor
+     * are both copied.
+     */
+    @Test
+    void copiesThroughEitherConstructor() {
+        Client client = new Client(1, "Ana", "Pop", "ana@example.com", "Main street 1");
+        OrderDetails details = new OrderDetails(2, "Ana Pop", "Chair", 1, 20.0, Timestamp.valueOf("2024-05-17 10:15:30"));
+
+        assertEquals(client, EntityBinders.reflective(Client.class).copy(client));
+        assertEquals(client, EntityBinders.of(Client.class).copy(client));
+        assertEquals(details.getOrderId(), EntityBinders.of(OrderDetails.class).copy(details).getOrderId());
+        assertNotSame(details, EntityBinders.of(OrderDetails.class).copy(details));
+    }
+
+    /**
+     * Checks that records, being immutable, are not copied.
+     */
+    @Test
+    void returnsRecordsAsIs() {
+        Bill bill = new Bill(1, 2, 20.0, Timestamp.valueOf("2024-05-17 10:15:30"));
+
+        assertSame(bill, EntityBinders.of(Bill.class).copy(bill));
+        assertSame(bill, EntityBinders.reflective(Bill.class).copy(bill));
+    }
+}
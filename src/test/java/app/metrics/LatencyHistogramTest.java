@@ -0,0 +1,105 @@
+package app.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the buckets and the percentile estimates of {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Checks that every latency falls in a bucket whose bounds contain it, that buckets follow each other
+     * without gaps, and that a bucket's upper bound is at most 25% above any latency it counts.
+     */
+    @Test
+    void bucketsCoverLatenciesWithBoundedError() {
+        int previous = LatencyHistogram.bucketOf(0);
+        assertEquals(0, previous);
+        for (long micros = 1; micros <= 1_000_000; micros++) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            assertTrue(bucket == previous || bucket == previous + 1, "bucket of " + micros);
+            assertTrue(micros <= LatencyHistogram.upperBoundMicros(bucket), "upper bound of " + micros);
+            if (bucket > 0) {
+                assertTrue(micros > LatencyHistogram.upperBoundMicros(bucket - 1), "lower bound of " + micros);
+            }
+            assertTrue(LatencyHistogram.upperBoundMicros(bucket) <= micros * 1.25, "error of " + micros);
+            previous = bucket;
+        }
+    }
+
+    /**
+     * Checks that negative latencies count as zero and that very long ones are counted in the last bucket.
+     */
+    @Test
+    void clampsOutOfRangeLatencies() {
+        int last = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+
+        assertEquals(0, LatencyHistogram.bucketOf(-5));
+        assertEquals(last, LatencyHistogram.bucketOf(1L << 40));
+        assertTrue(LatencyHistogram.bucketOf((1L << 30) - 1) < last);
+    }
+
+    /**
+     * Checks the counters and the percentiles of a snapshot against the exact values of the recorded latencies.
+     */
+    @Test
+    void snapshotEstimatesPercentilesFromAbove() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 10_000L, 2, i % 100 == 0);
+        }
+
+        QueryStats stats = histogram.snapshot("Product", "findById");
+
+        assertEquals(1000, stats.count());
+        assertEquals(10, stats.errorCount());
+        assertEquals(2000, stats.rowCount());
+        assertEquals(10_000L * 1000 * 1001 / 2, stats.totalNanos());
+        assertEquals(10_000_000, stats.maxNanos());
+        assertBetween(5_000_000, stats.p50Nanos());
+        assertBetween(9_500_000, stats.p95Nanos());
+        assertBetween(9_900_000, stats.p99Nanos());
+        assertEquals(10_000_000, stats.p999Nanos());
+    }
+
+    /**
+     * Checks that no percentile exceeds the largest recorded latency.
+     */
+    @Test
+    void percentilesNeverExceedMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000_000, 0, false);
+
+        QueryStats stats = histogram.snapshot("Product", "findById");
+
+        assertEquals(5_000_000, stats.p50Nanos());
+        assertEquals(5_000_000, stats.p999Nanos());
+    }
+
+    /**
+     * Checks that an empty histogram reports zeros.
+     */
+    @Test
+    void emptySnapshotIsZero() {
+        QueryStats stats = new LatencyHistogram().snapshot("Product", "findById");
+
+        assertEquals(0, stats.count());
+        assertEquals(0, stats.maxNanos());
+        assertEquals(0, stats.p50Nanos());
+        assertEquals(0, stats.p999Nanos());
+    }
+
+    /**
+     * Asserts that an estimate is at least the exact value and at most 25% above it.
+     *
+     * @param exactNanos the exact percentile
+     * @param estimateNanos the estimate
+     */
+    private static void assertBetween(long exactNanos, long estimateNanos) {
+        assertTrue(estimateNanos >= exactNanos && estimateNanos <= exactNanos * 1.25,
+                estimateNanos + " for " + exactNanos);
+    }
+}
@@ -0,0 +1,142 @@
+package app.metrics;
+
+import app.cache.CacheRegion;
+import app.cache.LruEntityCache;
+import app.connection.PoolStats;
+import app.model.Client;
+import app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the Prometheus text format rendered by {@link PrometheusWriter}.
+ */
+class PrometheusWriterTest {
+
+    /**
+     * A sample line: a metric name, optional labels with escaped values, and a number.
+     */
+    private static final Pattern SAMPLE = Pattern.compile(
+            "[a-zA-Z_:][a-zA-Z0-9_:]*(\\{[a-zA-Z_][a-zA-Z0-9_]*=\"(\\\\[\\\\\"n]|[^\"\\\\\\n])*\""
+                    + "(,[a-zA-Z_][a-zA-Z0-9_]*=\"(\\\\[\\\\\"n]|[^\"\\\\\\n])*\")*})? -?[0-9]+(\\.[0-9]+)?(E-?[0-9]+)?");
+
+    /**
+     * Checks that every line is a well-formed comment or sample, and that every family is declared once.
+     */
+    @Test
+    void rendersWellFormedLines() {
+        Set<String> families = new HashSet<>();
+        for (String line : render(stats("Product", "findById")).split("\n")) {
+            if (line.startsWith("# TYPE ")) {
+                assertTrue(families.add(line.split(" ")[2]), "family declared twice: " + line);
+            } else if (!line.startsWith("# HELP ")) {
+                assertTrue(SAMPLE.matcher(line).matches(), "malformed sample: " + line);
+            }
+        }
+        assertTrue(families.contains("app_db_operation_duration_seconds"));
+        assertTrue(families.contains("jvm_memory_used_bytes"));
+    }
+
+    /**
+     * Checks the samples of the pool, of an operation and of the orders, with counts rendered as integers
+     * and durations in seconds.
+     */
+    @Test
+    void rendersSamples() {
+        String text = render(stats("Product", "findById"));
+
+        assertTrue(text.contains("# TYPE app_db_pool_connections gauge\n"));
+        assertTrue(text.contains("app_db_pool_connections{state=\"idle\"} 3\n"));
+        assertTrue(text.contains("app_db_pool_max_connections 10\n"));
+        assertTrue(text.contains("# TYPE app_db_operation_duration_seconds summary\n"));
+        assertTrue(text.contains(
+                "app_db_operation_duration_seconds{entity=\"Product\",operation=\"findById\",quantile=\"0.5\"} 0.0015\n"));
+        assertTrue(text.contains(
+                "app_db_operation_duration_seconds_count{entity=\"Product\",operation=\"findById\"} 40\n"));
+        assertTrue(text.contains("app_db_operation_errors_total{entity=\"Product\",operation=\"findById\"} 2\n"));
+        assertTrue(text.contains("app_orders_placed_total 7\n"));
+        assertTrue(text.contains("app_orders_rejected_total{reason=\"insufficient_stock\"} 1\n"));
+    }
+
+    /**
+     * Checks that backslashes, double quotes and line feeds in label values are escaped.
+     */
+    @Test
+    void escapesLabelValues() {
+        String text = render(stats("Pro\"duct\\", "find\nById"));
+
+        assertTrue(text.contains("entity=\"Pro\\\"duct\\\\\",operation=\"find\\nById\""));
+        assertFalse(text.contains("find\nById"));
+    }
+
+    /**
+     * Checks that enabled cache regions are rendered and disabled ones skipped.
+     */
+    @Test
+    void rendersEnabledCachesOnly() {
+        LruEntityCache<Object, Product> entities = new LruEntityCache<>(100, Duration.ofMinutes(5));
+        entities.put(1, new Product(1, "Chair", 20.0, 3));
+        entities.getIfPresent(1);
+        entities.getIfPresent(2);
+        Map<Class<?>, CacheRegion<?>> regions = new LinkedHashMap<>();
+        regions.put(Product.class, new CacheRegion<>(entities, new LruEntityCache<>(10, Duration.ofMinutes(5))));
+        regions.put(Client.class, CacheRegion.disabled());
+
+        String text = PrometheusWriter.render(pool(), List.of(), regions, orders());
+
+        assertTrue(text.contains("app_cache_hits_total{entity=\"Product\",cache=\"entity\"} 1\n"));
+        assertTrue(text.contains("app_cache_hit_ratio{entity=\"Product\",cache=\"entity\"} 0.5\n"));
+        assertTrue(text.contains("app_cache_max_size{entity=\"Product\",cache=\"query\"} 10\n"));
+        assertFalse(text.contains("entity=\"Client\""));
+    }
+
+    /**
+     * Renders the metrics of one operation, with no cache.
+     *
+     * @param stats the operation's metrics
+     * @return the rendered text
+     */
+    private static String render(QueryStats stats) {
+        return PrometheusWriter.render(pool(), List.of(stats), Map.of(), orders());
+    }
+
+    /**
+     * Creates the metrics of an operation.
+     *
+     * @param entity the entity label
+     * @param operation the operation label
+     * @return the metrics
+     */
+    private static QueryStats stats(String entity, String operation) {
+        return new QueryStats(entity, operation, 40, 2, 80, 100_000_000, 9_000_000,
+                1_500_000, 4_000_000, 8_000_000, 9_000_000);
+    }
+
+    /**
+     * Creates the statistics of a pool.
+     *
+     * @return the statistics
+     */
+    private static PoolStats pool() {
+        return new PoolStats(5, 3, 2, 0, 10, 5, 0, 0, 120, 30, 4);
+    }
+
+    /**
+     * Creates the order counters.
+     *
+     * @return the counters
+     */
+    private static OrderStats orders() {
+        return new OrderStats(7, 1, 0, 0, 0);
+    }
+}